@@ -0,0 +1,91 @@
+package dao;
+
+import utils.DatabaseConfig;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Access Object for the change_log table.
+ * Rows are written by utils.ChangeLogTrigger; this class only reads and prunes them.
+ */
+public class ChangeLogDAO {
+    
+    /**
+     * Gets the changes recorded after a sequence number, oldest first.
+     * @param afterSeq The last sequence number already processed
+     * @param limit Maximum number of changes to return
+     * @return List of changes {seq, table_name, op, row_id}
+     * @throws SQLException if database error occurs
+     */
+    public static List<Object[]> getChangesSince(long afterSeq, int limit) throws SQLException {
+        String sql = "SELECT seq, table_name, op, row_id FROM change_log WHERE seq > ? ORDER BY seq LIMIT ?";
+        List<Object[]> changes = new ArrayList<>();
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setLong(1, afterSeq);
+            pstmt.setInt(2, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    changes.add(new Object[]{
+                        rs.getLong("seq"),
+                        LookupDAO.intern(rs.getString("table_name")),
+                        LookupDAO.intern(rs.getString("op")),
+                        rs.getString("row_id")
+                    });
+                }
+            }
+        }
+        
+        return changes;
+    }
+    
+    /**
+     * Gets the highest sequence number in the change log.
+     * @return The latest sequence number, or 0 if the log is empty
+     * @throws SQLException if database error occurs
+     */
+    public static long getLatestSequence() throws SQLException {
+        return querySequence("SELECT COALESCE(MAX(seq), 0) FROM change_log");
+    }
+    
+    /**
+     * Gets the lowest sequence number still kept in the change log.
+     * @return The oldest sequence number, or 0 if the log is empty
+     * @throws SQLException if database error occurs
+     */
+    public static long getOldestSequence() throws SQLException {
+        return querySequence("SELECT COALESCE(MIN(seq), 0) FROM change_log");
+    }
+    
+    /**
+     * Deletes change log entries older than the given number of hours.
+     * @param hours Retention in hours
+     * @return Number of entries deleted
+     * @throws SQLException if database error occurs
+     */
+    public static int pruneOlderThan(int hours) throws SQLException {
+        String sql = "DELETE FROM change_log WHERE changed_at < DATEADD('HOUR', ?, CURRENT_TIMESTAMP)";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, -hours);
+            return pstmt.executeUpdate();
+        }
+    }
+    
+    private static long querySequence(String sql) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package dao;
+
+import utils.DatabaseConfig;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Access Object for the inbox_counters table.
+ * Rows are written by utils.InboxCounterTrigger; this class only reads them.
+ */
+public class InboxCounterDAO {
+
+    /**
+     * Gets every non-zero request count, with one query over the counter table
+     * (one row per target role, barangay and status, not per request). Final statuses
+     * are included; callers filter out the statuses that are not in a queue.
+     * @return List of counts {target_role (null if none), barangay, status, count}
+     * @throws SQLException if database error occurs
+     */
+    public static List<Object[]> getCounts() throws SQLException {
+        String sql = "SELECT target_role, barangay, status, request_count FROM inbox_counters WHERE request_count > 0";
+        List<Object[]> counts = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                String targetRole = rs.getString("target_role");
+                counts.add(new Object[]{
+                    targetRole.isEmpty() ? null : LookupDAO.intern(targetRole),
+                    LookupDAO.intern(rs.getString("barangay")),
+                    LookupDAO.intern(rs.getString("status")),
+                    rs.getInt("request_count")
+                });
+            }
+        }
+
+        return counts;
+    }
+}
@@ -0,0 +1,98 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Data Access Object for the lookup_values reference table.
+ * Maps repeated values (roles, waste types, barangays, statuses) to small integer keys
+ * and keeps a shared in-memory dictionary so loaded rows share one String per value.
+ * New values are registered, and the key columns filled, by utils.LookupKeyTrigger
+ * whenever a row is written; this class only reads the keys.
+ */
+public class LookupDAO {
+    // Lookup domains (target_role uses the role domain)
+    public static final String DOMAIN_ROLE = "role";
+    public static final String DOMAIN_WASTE_TYPE = "waste_type";
+    public static final String DOMAIN_BARANGAY = "barangay";
+    public static final String DOMAIN_STATUS = "status";
+
+    // Shared dictionary: one canonical String instance per distinct value. The lookup
+    // columns only have a few hundred values; past this size values are returned as is,
+    // so a caller passing free text cannot grow it without bound
+    private static final int MAX_INTERNED = 2048;
+    private static final Map<String, String> INTERNED = new ConcurrentHashMap<>();
+    // Cache of resolved keys: {domain + '\0' + value -> id}; bounded like the dictionary,
+    // since imports and console writes can register any number of values
+    private static final Map<String, Integer> ID_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the shared instance of a value so rows loaded from the database
+     * do not each hold their own copy of the same string.
+     * Only meant for the small closed sets of the lookup columns (roles, statuses,
+     * waste types, barangays, request types, event names), not for free text.
+     * @param value The value to intern (can be null)
+     * @return The canonical instance, or null if value is null
+     */
+    public static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = INTERNED.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (INTERNED.size() >= MAX_INTERNED) {
+            return value; // Dictionary full
+        }
+        existing = INTERNED.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    /**
+     * Finds the key of a lookup value without creating it.
+     * @param conn The connection to use
+     * @param domain The lookup domain
+     * @param value The value
+     * @return The key, or null if the value is null or not registered yet
+     * @throws SQLException if database error occurs
+     */
+    public static Integer findId(Connection conn, String domain, String value) throws SQLException {
+        if (value == null) {
+            return null;
+        }
+        String cacheKey = domain + '\0' + value;
+        Integer cached = ID_CACHE.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        String sql = "SELECT id FROM lookup_values WHERE domain = ? AND name = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, domain);
+            pstmt.setString(2, value);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    int id = rs.getInt(1);
+                    if (ID_CACHE.size() < MAX_INTERNED) {
+                        ID_CACHE.put(cacheKey, id);
+                    }
+                    return id;
+                }
+            }
+        }
+
+        return null; // Not registered yet
+    }
+
+    /**
+     * Clears the cached keys (e.g. after the database file was reset).
+     */
+    public static void clearCache() {
+        ID_CACHE.clear();
+    }
+}
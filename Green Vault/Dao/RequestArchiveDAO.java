@@ -0,0 +1,59 @@
+package dao;
+
+import utils.DatabaseConfig;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Data Access Object for the requests_archive table: finished requests moved out
+ * of requests, so the queue queries only touch live work. Completed requests are
+ * moved in batches once they are old enough (see services.RequestArchiver);
+ * rejected requests are moved right away by RequestDAO.applyTransitions.
+ * Archived rows are read together with live ones by the includeArchived
+ * variants of RequestDAO.getRequestSummaries and RequestDAO.getAllRequests.
+ */
+public class RequestArchiveDAO {
+
+    // Status of a rejected request in the archive; live requests never have it
+    public static final String REJECTED_STATUS = "Rejected";
+
+    // Columns copied from requests, in order; status_since is when the request reached its final status
+    static final String COLUMNS =
+        "id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role, weight, status_since";
+
+    /**
+     * Moves the requests that have had a status since before a cutoff into the
+     * archive, longest in that status first. Copy and delete are one statement, so a
+     * request is never in both tables or in neither. Uses idx_requests_stage_age, so
+     * the cost follows the batch size, not the table size.
+     * @param status A final status (requests with it never change again)
+     * @param cutoff Only requests with the status since before this are moved
+     * @param batchSize Maximum number of requests to move
+     * @return Number of requests moved
+     * @throws SQLException if database error occurs (nothing is moved)
+     */
+    public static int archiveBatch(String status, Timestamp cutoff, int batchSize) throws SQLException {
+        // escalated_at is cleared on every status change, so it is NULL for final statuses
+        String sql = "INSERT INTO requests_archive (" + COLUMNS + ") " +
+                     "SELECT " + COLUMNS + " FROM OLD TABLE (" +
+                     "DELETE FROM requests WHERE id IN (" +
+                     "SELECT id FROM requests WHERE status_id = ? AND escalated_at IS NULL AND status_since < ? " +
+                     "ORDER BY status_since, id FETCH FIRST ? ROWS ONLY))";
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            Integer statusKey = LookupDAO.findId(conn, LookupDAO.DOMAIN_STATUS, status);
+            if (statusKey == null) {
+                return 0; // Status was never used
+            }
+
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, statusKey);
+                pstmt.setTimestamp(2, cutoff);
+                pstmt.setInt(3, batchSize);
+                return pstmt.executeUpdate();
+            }
+        }
+    }
+}
@@ -5,8 +5,13 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Data Access Object for Request operations.
@@ -14,6 +19,10 @@ import java.util.List;
  */
 public class RequestDAO {
     
+    // Columns of queue listings: everything but the description, which is loaded on selection
+    private static final String LIST_COLUMNS =
+        "id, timestamp, requester, barangay, request_type, location, num_sacks, waste_type, status, target_role, weight, escalated_at";
+    
     /**
      * Creates a new request.
      * @param timestamp The request timestamp
@@ -32,46 +41,164 @@ public class RequestDAO {
     public static int createRequest(String timestamp, String requester, String barangay, 
                                     String requestType, String location, String description,
                                     int numSacks, String wasteType, String status, String targetRole) throws SQLException {
-        String sql = "INSERT INTO requests (timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        return createRequest(timestamp, requester, barangay, requestType, location, description,
+                             numSacks, wasteType, status, targetRole, null);
+    }
+    
+    /**
+     * Creates a new request with its weight.
+     * @param timestamp The request timestamp
+     * @param requester The requester username
+     * @param barangay The barangay
+     * @param requestType The type of request
+     * @param location The location
+     * @param description The description
+     * @param numSacks Number of sacks
+     * @param wasteType Type of waste
+     * @param status The status
+     * @param targetRole The target role
+     * @param weight The weight in kg, or null if not given
+     * @return The generated ID of the new request, or -1 if failed
+     * @throws SQLException if database error occurs
+     */
+    public static int createRequest(String timestamp, String requester, String barangay, 
+                                    String requestType, String location, String description,
+                                    int numSacks, String wasteType, String status, String targetRole,
+                                    Double weight) throws SQLException {
+        List<Object[]> requests = new ArrayList<>();
+        requests.add(new Object[]{null, timestamp, requester, barangay, requestType, location, description,
+                                  numSacks, wasteType, status, targetRole, weight});
         
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
-            
-            pstmt.setString(1, timestamp);
-            pstmt.setString(2, requester);
-            pstmt.setString(3, barangay);
-            pstmt.setString(4, requestType);
-            pstmt.setString(5, location);
-            pstmt.setString(6, description);
-            pstmt.setInt(7, numSacks);
-            pstmt.setString(8, wasteType);
-            pstmt.setString(9, status);
-            pstmt.setString(10, targetRole);
-            
-            int rows = pstmt.executeUpdate();
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int id = insertRequests(conn, requests)[0];
+                conn.commit();
+                return id;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+    
+    /**
+     * Inserts requests with one batched statement on an existing connection (inside the
+     * caller's transaction), and starts the history of each in request_events.
+     * @param conn The connection to use
+     * @param requests The requests {id (ignored), timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role, weight}
+     * @return The generated IDs, in order
+     * @throws SQLException if database error occurs, or an ID was not generated
+     */
+    static int[] insertRequests(Connection conn, List<Object[]> requests) throws SQLException {
+        // The key columns (barangay_id, status_id, ...) are filled by utils.LookupKeyTrigger
+        String sql = "INSERT INTO requests (timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role, " +
+                     "weight, intake_key) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        int[] ids = new int[requests.size()];
+        if (requests.isEmpty()) {
+            return ids;
+        }
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
+            for (Object[] request : requests) {
+                String barangay = (String) request[3];
+                String location = (String) request[5];
+                String wasteType = (String) request[8];
+                
+                pstmt.setString(1, (String) request[1]);
+                pstmt.setString(2, (String) request[2]);
+                pstmt.setString(3, barangay);
+                pstmt.setString(4, (String) request[4]);
+                pstmt.setString(5, location);
+                pstmt.setString(6, (String) request[6]);
+                pstmt.setInt(7, (Integer) request[7]);
+                pstmt.setString(8, wasteType);
+                pstmt.setString(9, (String) request[9]);
+                pstmt.setString(10, (String) request[10]);
+                pstmt.setObject(11, request[11], Types.DOUBLE);
+                pstmt.setInt(12, intakeKey(barangay, location, wasteType));
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
             
-            if (rows > 0) {
-                try (ResultSet rs = pstmt.getGeneratedKeys()) {
-                    if (rs.next()) {
-                        return rs.getInt(1); // Return generated ID
+            try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                for (int i = 0; i < ids.length; i++) {
+                    if (!rs.next()) {
+                        throw new SQLException("Request ID was not generated");
                     }
+                    ids[i] = rs.getInt(1);
                 }
             }
         }
         
-        return -1; // Failed
+        // The history starts in the same transaction as the request
+        List<Object[]> events = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            Object[] request = requests.get(i);
+            events.add(new Object[]{ids[i], request[3], null, RequestEventDAO.EVENT_CREATE, null, request[9]});
+        }
+        RequestEventDAO.recordEvents(conn, events);
+        return ids;
     }
     
     /**
-     * Gets all requests.
-     * @return List of requests {id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role}
+     * Gets all live requests (not the archived ones).
+     * @return List of requests {id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role, weight, overdue}
      * @throws SQLException if database error occurs
      */
     public static List<Object[]> getAllRequests() throws SQLException {
+        return getAllRequests(false);
+    }
+    
+    /**
+     * Gets all requests, optionally with the archived ones (see RequestArchiveDAO).
+     * @param includeArchived true to include archived requests, which are never overdue
+     * @return List of requests {id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role, weight, overdue}
+     * @throws SQLException if database error occurs
+     */
+    public static List<Object[]> getAllRequests(boolean includeArchived) throws SQLException {
         List<Object[]> requests = new ArrayList<>();
-        String sql = "SELECT id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role " +
-                     "FROM requests ORDER BY id DESC";
+        String columns = "id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role, weight";
+        String sql = "SELECT " + columns + ", escalated_at FROM requests " +
+                     (includeArchived ? "UNION ALL SELECT " + columns + ", CAST(NULL AS TIMESTAMP) FROM requests_archive " : "") +
+                     "ORDER BY id DESC";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            while (rs.next()) {
+                requests.add(readRequest(rs, true));
+            }
+        }
+        
+        return requests;
+    }
+    
+    /**
+     * Gets a summary of all live requests, without the location, description and other detail columns.
+     * @return List of requests {id, timestamp, requester, barangay, request_type, status}
+     * @throws SQLException if database error occurs
+     */
+    public static List<Object[]> getRequestSummaries() throws SQLException {
+        return getRequestSummaries(false);
+    }
+    
+    /**
+     * Gets a summary of all requests, optionally with the archived ones (see RequestArchiveDAO).
+     * @param includeArchived true to include archived requests
+     * @return List of requests {id, timestamp, requester, barangay, request_type, status}
+     * @throws SQLException if database error occurs
+     */
+    public static List<Object[]> getRequestSummaries(boolean includeArchived) throws SQLException {
+        List<Object[]> requests = new ArrayList<>();
+        String columns = "id, timestamp, requester, barangay, request_type, status";
+        String sql = "SELECT " + columns + " FROM requests " +
+                     (includeArchived ? "UNION ALL SELECT " + columns + " FROM requests_archive " : "") +
+                     "ORDER BY id DESC";
         
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql);
@@ -82,14 +209,9 @@ public class RequestDAO {
                     rs.getInt("id"),
                     rs.getString("timestamp"),
                     rs.getString("requester"),
-                    rs.getString("barangay"),
-                    rs.getString("request_type"),
-                    rs.getString("location"),
-                    rs.getString("description"),
-                    rs.getInt("num_sacks"),
-                    rs.getString("waste_type"),
-                    rs.getString("status"),
-                    rs.getString("target_role")
+                    LookupDAO.intern(rs.getString("barangay")),
+                    LookupDAO.intern(rs.getString("request_type")),
+                    LookupDAO.intern(rs.getString("status"))
                 });
             }
         }
@@ -98,36 +220,89 @@ public class RequestDAO {
     }
     
     /**
-     * Gets requests by barangay.
-     * @param barangay The barangay to filter by
-     * @return List of requests
+     * Gets a barangay's work queue: pending requests targeted at the Barangay Captain
+     * (or at no role yet), without their descriptions.
+     * Uses idx_requests_barangay_queue, so the cost follows the queue length
+     * rather than the barangay's request history.
+     * @param barangay The barangay
+     * @return List of requests (description is null, see getRequestDescription)
      * @throws SQLException if database error occurs
      */
-    public static List<Object[]> getRequestsByBarangay(String barangay) throws SQLException {
+    public static List<Object[]> getBarangayQueue(String barangay) throws SQLException {
         List<Object[]> requests = new ArrayList<>();
-        String sql = "SELECT id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role " +
-                     "FROM requests WHERE barangay = ? ORDER BY id DESC";
+        String sql = "SELECT " + LIST_COLUMNS + " " +
+                     "FROM requests WHERE barangay_id = ? AND status_id = ? " +
+                     "AND (target_role_id = ? OR target_role_id IS NULL) ORDER BY id DESC";
         
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            Integer barangayKey = LookupDAO.findId(conn, LookupDAO.DOMAIN_BARANGAY, barangay);
+            Integer pendingKey = LookupDAO.findId(conn, LookupDAO.DOMAIN_STATUS, "Pending");
+            if (barangayKey == null || pendingKey == null) {
+                return requests; // Nothing was ever queued
+            }
+            Integer roleKey = LookupDAO.findId(conn, LookupDAO.DOMAIN_ROLE, "Barangay Captain");
             
-            pstmt.setString(1, barangay);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, barangayKey);
+                pstmt.setInt(2, pendingKey);
+                pstmt.setObject(3, roleKey, Types.INTEGER);
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        requests.add(readRequest(rs, false));
+                    }
+                }
+            }
+        }
+        
+        return requests;
+    }
+    
+    /**
+     * Gets a role's work queue: requests targeted at the role in one of its waiting
+     * statuses, without their descriptions. Role and status are both matched by key,
+     * so idx_requests_role_queue covers the whole filter and the cost follows the
+     * queue length rather than the role's request history.
+     * @param targetRole The target role
+     * @param statuses The statuses of requests waiting in the queue
+     * @return List of requests (description is null, see getRequestDescription)
+     * @throws SQLException if database error occurs
+     */
+    public static List<Object[]> getTargetRoleQueue(String targetRole, List<String> statuses) throws SQLException {
+        List<Object[]> requests = new ArrayList<>();
+        
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            Integer roleKey = LookupDAO.findId(conn, LookupDAO.DOMAIN_ROLE, targetRole);
+            if (roleKey == null) {
+                return requests; // Value was never used
+            }
+            List<Integer> statusKeys = new ArrayList<>();
+            for (String status : statuses) {
+                Integer key = LookupDAO.findId(conn, LookupDAO.DOMAIN_STATUS, status);
+                if (key != null) {
+                    statusKeys.add(key); // Statuses never used cannot match
+                }
+            }
+            if (statusKeys.isEmpty()) {
+                return requests;
+            }
             
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    requests.add(new Object[]{
-                        rs.getInt("id"),
-                        rs.getString("timestamp"),
-                        rs.getString("requester"),
-                        rs.getString("barangay"),
-                        rs.getString("request_type"),
-                        rs.getString("location"),
-                        rs.getString("description"),
-                        rs.getInt("num_sacks"),
-                        rs.getString("waste_type"),
-                        rs.getString("status"),
-                        rs.getString("target_role")
-                    });
+            StringBuilder placeholders = new StringBuilder();
+            for (int i = 0; i < statusKeys.size(); i++) {
+                placeholders.append(i == 0 ? "?" : ", ?");
+            }
+            String sql = "SELECT " + LIST_COLUMNS + " " +
+                         "FROM requests WHERE target_role_id = ? AND status_id IN (" + placeholders + ") ORDER BY id DESC";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, roleKey);
+                for (int i = 0; i < statusKeys.size(); i++) {
+                    pstmt.setInt(i + 2, statusKeys.get(i));
+                }
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        requests.add(readRequest(rs, false));
+                    }
                 }
             }
         }
@@ -143,29 +318,23 @@ public class RequestDAO {
      */
     public static List<Object[]> getRequestsByStatus(String status) throws SQLException {
         List<Object[]> requests = new ArrayList<>();
-        String sql = "SELECT id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role " +
-                     "FROM requests WHERE status = ? ORDER BY id DESC";
+        String sql = "SELECT id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role, weight, escalated_at " +
+                     "FROM requests WHERE status_id = ? ORDER BY id DESC";
         
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, status);
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            // Filter on the indexed integer key
+            Integer key = LookupDAO.findId(conn, LookupDAO.DOMAIN_STATUS, status);
+            if (key == null) {
+                return requests; // Value was never used
+            }
             
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    requests.add(new Object[]{
-                        rs.getInt("id"),
-                        rs.getString("timestamp"),
-                        rs.getString("requester"),
-                        rs.getString("barangay"),
-                        rs.getString("request_type"),
-                        rs.getString("location"),
-                        rs.getString("description"),
-                        rs.getInt("num_sacks"),
-                        rs.getString("waste_type"),
-                        rs.getString("status"),
-                        rs.getString("target_role")
-                    });
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, key);
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        requests.add(readRequest(rs, true));
+                    }
                 }
             }
         }
@@ -174,36 +343,80 @@ public class RequestDAO {
     }
     
     /**
-     * Gets requests by target role.
+     * Gets requests by target role, without their descriptions.
      * @param targetRole The target role to filter by
-     * @return List of requests
+     * @return List of requests (description is null, see getRequestDescription)
      * @throws SQLException if database error occurs
      */
     public static List<Object[]> getRequestsByTargetRole(String targetRole) throws SQLException {
         List<Object[]> requests = new ArrayList<>();
-        String sql = "SELECT id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role " +
-                     "FROM requests WHERE target_role = ? ORDER BY id DESC";
+        String sql = "SELECT " + LIST_COLUMNS + " " +
+                     "FROM requests WHERE target_role_id = ? ORDER BY id DESC";
+        
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            // Filter on the indexed integer key
+            Integer key = LookupDAO.findId(conn, LookupDAO.DOMAIN_ROLE, targetRole);
+            if (key == null) {
+                return requests; // Value was never used
+            }
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, key);
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        requests.add(readRequest(rs, false));
+                    }
+                }
+            }
+        }
+        
+        return requests;
+    }
+    
+    /**
+     * Gets the requests with the given IDs (e.g. rows reported by the change log).
+     * IDs that no longer exist are skipped. Descriptions are not read.
+     * @param ids The request IDs
+     * @return List of requests {id, timestamp, requester, barangay, request_type, location, null, num_sacks, waste_type, status, target_role, weight, overdue}
+     * @throws SQLException if database error occurs
+     */
+    public static List<Object[]> getRequestsByIds(List<Integer> ids) throws SQLException {
+        return getRequestsByIds(ids, false);
+    }
+    
+    /**
+     * Gets the requests with the given IDs, optionally with their descriptions.
+     * IDs that no longer exist are skipped.
+     * @param ids The request IDs
+     * @param withDescription true to read the descriptions too
+     * @return List of requests (description is null unless withDescription)
+     * @throws SQLException if database error occurs
+     */
+    public static List<Object[]> getRequestsByIds(List<Integer> ids, boolean withDescription) throws SQLException {
+        List<Object[]> requests = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return requests;
+        }
+        
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < ids.size(); i++) {
+            placeholders.append(i == 0 ? "?" : ", ?");
+        }
+        String columns = withDescription ? LIST_COLUMNS + ", description" : LIST_COLUMNS;
+        String sql = "SELECT " + columns + " " +
+                     "FROM requests WHERE id IN (" + placeholders + ") ORDER BY id DESC";
         
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setString(1, targetRole);
+            for (int i = 0; i < ids.size(); i++) {
+                pstmt.setInt(i + 1, ids.get(i));
+            }
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    requests.add(new Object[]{
-                        rs.getInt("id"),
-                        rs.getString("timestamp"),
-                        rs.getString("requester"),
-                        rs.getString("barangay"),
-                        rs.getString("request_type"),
-                        rs.getString("location"),
-                        rs.getString("description"),
-                        rs.getInt("num_sacks"),
-                        rs.getString("waste_type"),
-                        rs.getString("status"),
-                        rs.getString("target_role")
-                    });
+                    requests.add(readRequest(rs, withDescription));
                 }
             }
         }
@@ -218,7 +431,7 @@ public class RequestDAO {
      * @throws SQLException if database error occurs
      */
     public static Object[] getRequestById(int id) throws SQLException {
-        String sql = "SELECT id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role " +
+        String sql = "SELECT id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role, weight, escalated_at " +
                      "FROM requests WHERE id = ?";
         
         try (Connection conn = DatabaseConfig.getConnection();
@@ -228,19 +441,7 @@ public class RequestDAO {
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return new Object[]{
-                        rs.getInt("id"),
-                        rs.getString("timestamp"),
-                        rs.getString("requester"),
-                        rs.getString("barangay"),
-                        rs.getString("request_type"),
-                        rs.getString("location"),
-                        rs.getString("description"),
-                        rs.getInt("num_sacks"),
-                        rs.getString("waste_type"),
-                        rs.getString("status"),
-                        rs.getString("target_role")
-                    };
+                    return readRequest(rs, true);
                 }
             }
         }
@@ -249,64 +450,393 @@ public class RequestDAO {
     }
     
     /**
-     * Updates a request's status.
+     * Gets the description of a request (left out of the queue listings).
      * @param id The request ID
-     * @param status The new status
-     * @return true if successful, false if request not found
+     * @return The description, or null if the request was not found
      * @throws SQLException if database error occurs
      */
-    public static boolean updateRequestStatus(int id, String status) throws SQLException {
-        String sql = "UPDATE requests SET status = ? WHERE id = ?";
+    public static String getRequestDescription(int id) throws SQLException {
+        String sql = "SELECT description FROM requests WHERE id = ?";
         
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setString(1, status);
-            pstmt.setInt(2, id);
+            pstmt.setInt(1, id);
             
-            int rows = pstmt.executeUpdate();
-            return rows > 0;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getString("description");
+                }
+            }
         }
+        
+        return null; // Request not found
     }
     
     /**
-     * Updates a request's target role.
+     * Applies a workflow step to a request in one transaction (see applyTransitions).
      * @param id The request ID
-     * @param targetRole The new target role
-     * @return true if successful, false if request not found
+     * @param timestamp The request timestamp
+     * @param fromStatus The status the request was read with
+     * @param barangay The request's barangay (for its history)
+     * @param stage The role taking the step
+     * @param event The step, recorded in request_events (e.g. "APPROVE")
+     * @param toStatus The new status, or null to reject the request (see applyTransitions)
+     * @param toTargetRole The new target role, or null to keep the current one
+     * @param wasteRecord Waste record to create {role, date, area, weight, type, barangay}, or null
+     * @return The ID of the created waste record (0 if none), or -1 if the request
+     *         was not found or no longer had fromStatus
+     * @throws SQLException if database error occurs (nothing is changed)
+     */
+    public static int applyTransition(int id, String timestamp, String fromStatus, String barangay,
+                                      String stage, String event, String toStatus,
+                                      String toTargetRole, Object[] wasteRecord) throws SQLException {
+        List<Object[]> requests = new ArrayList<>();
+        requests.add(new Object[]{id, timestamp, fromStatus, barangay});
+        List<Object[]> wasteRecords = new ArrayList<>();
+        wasteRecords.add(wasteRecord);
+        return applyTransitions(requests, stage, event, toStatus, toTargetRole, wasteRecords)[0];
+    }
+    
+    /**
+     * Applies the same workflow step to many requests in one transaction: moves
+     * them to a new status and target role (or, when rejected, into requests_archive
+     * with status Rejected) with one batched statement and, for completed
+     * collections, creates their waste records.
+     * A request is only changed if it still has the timestamp and status it was
+     * read with; the others are skipped. Each changed request gets a row in
+     * request_events, in the same transaction.
+     * @param requests The requests {id, timestamp, fromStatus, barangay}
+     * @param stage The role taking the step
+     * @param event The step, recorded in request_events (e.g. "APPROVE")
+     * @param toStatus The new status, or null to reject the requests
+     * @param toTargetRole The new target role, or null to keep the current one
+     * @param wasteRecords Per request, the waste record to create {role, date, area, weight, type, barangay}
+     *                     or null; the list itself may be null if there are none
+     * @return Per request, the ID of the created waste record (0 if none),
+     *         or -1 if the request was skipped
+     * @throws SQLException if database error occurs (nothing is changed)
+     */
+    public static int[] applyTransitions(List<Object[]> requests, String stage, String event, String toStatus,
+                                         String toTargetRole, List<Object[]> wasteRecords) throws SQLException {
+        int[] results = new int[requests.size()];
+        Arrays.fill(results, -1);
+        if (requests.isEmpty()) {
+            return results;
+        }
+        
+        String sql;
+        if (toStatus == null) {
+            // Copy and delete in one statement, so the rejected request keeps its record
+            sql = "INSERT INTO requests_archive (" + RequestArchiveDAO.COLUMNS + ") " +
+                  "SELECT id, timestamp, requester, barangay, request_type, location, description, num_sacks, " +
+                  "waste_type, ?, target_role, weight, CURRENT_TIMESTAMP " +
+                  "FROM OLD TABLE (DELETE FROM requests WHERE id = ? AND timestamp = ? AND status_id = ?)";
+        } else {
+            // Entering a new stage restarts its SLA clock; the key columns follow through utils.LookupKeyTrigger
+            sql = "UPDATE requests SET status = ?, status_since = CURRENT_TIMESTAMP, escalated_at = NULL" +
+                  (toTargetRole != null ? ", target_role = ?" : "") +
+                  " WHERE id = ? AND timestamp = ? AND status_id = ?";
+        }
+        
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // One batched statement for all requests; remember which batch entry is which request
+                List<Integer> batched = new ArrayList<>();
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < requests.size(); i++) {
+                        Object[] request = requests.get(i);
+                        Integer fromKey = LookupDAO.findId(conn, LookupDAO.DOMAIN_STATUS, (String) request[2]);
+                        if (fromKey == null) {
+                            continue; // Status was never used, so the request cannot have it
+                        }
+                        
+                        int index = 1;
+                        if (toStatus != null) {
+                            pstmt.setString(index++, toStatus);
+                            if (toTargetRole != null) {
+                                pstmt.setString(index++, toTargetRole);
+                            }
+                        } else {
+                            pstmt.setString(index++, RequestArchiveDAO.REJECTED_STATUS);
+                        }
+                        pstmt.setInt(index++, (Integer) request[0]);
+                        pstmt.setString(index++, (String) request[1]);
+                        pstmt.setInt(index, fromKey);
+                        pstmt.addBatch();
+                        batched.add(i);
+                    }
+                    
+                    if (!batched.isEmpty()) {
+                        int[] counts = pstmt.executeBatch();
+                        for (int b = 0; b < counts.length; b++) {
+                            if (counts[b] > 0) {
+                                results[batched.get(b)] = 0; // Moved on by someone else otherwise
+                            }
+                        }
+                    }
+                }
+                
+                List<Object[]> events = new ArrayList<>();
+                for (int i = 0; i < results.length; i++) {
+                    if (results[i] == 0) {
+                        Object[] request = requests.get(i);
+                        events.add(new Object[]{request[0], request[3], stage, event, request[2],
+                                                toStatus != null ? toStatus : RequestArchiveDAO.REJECTED_STATUS});
+                    }
+                }
+                RequestEventDAO.recordEvents(conn, events);
+                
+                for (int i = 0; i < results.length; i++) {
+                    Object[] wasteRecord = wasteRecords != null ? wasteRecords.get(i) : null;
+                    if (results[i] == 0 && wasteRecord != null) {
+                        results[i] = WasteRecordDAO.createWasteRecord(conn, (String) wasteRecord[0], (String) wasteRecord[1],
+                            (String) wasteRecord[2], (Double) wasteRecord[3], (String) wasteRecord[4], (String) wasteRecord[5]);
+                        if (results[i] <= 0) {
+                            throw new SQLException("Waste record was not created");
+                        }
+                    }
+                }
+                
+                conn.commit();
+                return results;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+    
+    /**
+     * Finds the newest pending collection request in a Barangay Captain's queue with
+     * the same barangay, location and waste type, submitted at or after a given time.
+     * Locations match ignoring case, spacing and punctuation (see intakeKey).
+     * @param barangay The barangay
+     * @param location The location
+     * @param wasteType The waste type
+     * @param since Earliest timestamp (yyyy-MM-dd HH:mm:ss) to consider
+     * @return The request {id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role, weight, overdue},
+     *         or null if there is none
      * @throws SQLException if database error occurs
      */
-    public static boolean updateRequestTargetRole(int id, String targetRole) throws SQLException {
-        String sql = "UPDATE requests SET target_role = ? WHERE id = ?";
+    public static Object[] findDuplicateRequest(String barangay, String location, String wasteType, String since) throws SQLException {
+        String sql = "SELECT id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role, weight, escalated_at " +
+                     "FROM requests WHERE intake_key = ? AND barangay_id = ? AND status_id = ? " +
+                     "AND (target_role_id = ? OR target_role_id IS NULL) AND request_type = 'Waste Collection' " +
+                     "AND timestamp >= ? ORDER BY id DESC";
         
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            Integer barangayKey = LookupDAO.findId(conn, LookupDAO.DOMAIN_BARANGAY, barangay);
+            Integer pendingKey = LookupDAO.findId(conn, LookupDAO.DOMAIN_STATUS, "Pending");
+            if (barangayKey == null || pendingKey == null) {
+                return null; // Never used, so no request can match
+            }
             
-            pstmt.setString(1, targetRole);
-            pstmt.setInt(2, id);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, intakeKey(barangay, location, wasteType));
+                pstmt.setInt(2, barangayKey);
+                pstmt.setInt(3, pendingKey);
+                pstmt.setObject(4, LookupDAO.findId(conn, LookupDAO.DOMAIN_ROLE, "Barangay Captain"), Types.INTEGER);
+                pstmt.setString(5, since);
+                
+                String normalizedLocation = normalizeIntakeField(location);
+                String normalizedWasteType = normalizeIntakeField(wasteType);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        // The key is a hash; make sure it is not a collision
+                        if (normalizedLocation.equals(normalizeIntakeField(rs.getString("location")))
+                                && normalizedWasteType.equals(normalizeIntakeField(rs.getString("waste_type")))) {
+                            return readRequest(rs, true);
+                        }
+                    }
+                }
+            }
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Merges a duplicate submission into a pending request: stores its new sack count,
+     * weight and description, and records the merge in request_events, in one transaction.
+     * The request is only changed if it still has the timestamp and status it was read with.
+     * @param request The request as read {id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role, weight}
+     * @param numSacks The new number of sacks
+     * @param weight The new weight in kg, or null if unknown
+     * @param description The new description
+     * @return true if merged, false if the request has left the queue meanwhile
+     * @throws SQLException if database error occurs (nothing is changed)
+     */
+    public static boolean mergeIntoRequest(Object[] request, int numSacks, Double weight, String description) throws SQLException {
+        String sql = "UPDATE requests SET num_sacks = ?, weight = ?, description = ? WHERE id = ? AND timestamp = ? AND status_id = ?";
+        
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            Integer statusKey = LookupDAO.findId(conn, LookupDAO.DOMAIN_STATUS, (String) request[9]);
+            if (statusKey == null) {
+                return false;
+            }
             
-            int rows = pstmt.executeUpdate();
-            return rows > 0;
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, numSacks);
+                pstmt.setObject(2, weight, Types.DOUBLE);
+                pstmt.setString(3, description);
+                pstmt.setInt(4, (Integer) request[0]);
+                pstmt.setString(5, (String) request[1]);
+                pstmt.setInt(6, statusKey);
+                
+                if (pstmt.executeUpdate() == 0) {
+                    conn.rollback();
+                    return false;
+                }
+                
+                List<Object[]> events = new ArrayList<>();
+                events.add(new Object[]{request[0], request[3], null, RequestEventDAO.EVENT_MERGE, request[9], request[9]});
+                RequestEventDAO.recordEvents(conn, events);
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         }
     }
     
     /**
-     * Deletes a request.
-     * @param id The request ID to delete
-     * @return true if successful, false if request not found
-     * @throws SQLException if database error occurs
+     * Hash of the fields that make two collection requests duplicates, stored in the
+     * indexed intake_key column so duplicates are found without scanning the queue.
      */
-    public static boolean deleteRequest(int id) throws SQLException {
-        String sql = "DELETE FROM requests WHERE id = ?";
+    static int intakeKey(String barangay, String location, String wasteType) {
+        return (normalizeIntakeField(barangay) + "|" + normalizeIntakeField(location) + "|"
+                + normalizeIntakeField(wasteType)).hashCode();
+    }
+    
+    /**
+     * Lower case, letters and digits only, single spaces: "Purok 1, Madang " and
+     * "purok 1 madang" are the same location.
+     */
+    private static String normalizeIntakeField(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.toLowerCase().replaceAll("[^a-z0-9]+", " ").trim();
+    }
+    
+    /**
+     * Flags requests that have been in a stage longer than allowed, and records the
+     * escalation in request_events, in one transaction. The overdue requests of all
+     * stages are found with one query; each stage reads at most limitPerStage rows,
+     * oldest first, from the (status_id, escalated_at, status_since) index, so a scan
+     * takes bounded time however many requests there are. Later scans pick up the rest.
+     * @param stages The stages to check {status, role whose queue it is, entered before (Timestamp)}
+     * @param limitPerStage Maximum number of requests flagged per stage
+     * @return The flagged requests {id, timestamp, requester, barangay, request_type, location, description (null), num_sacks, waste_type, status, target_role, weight, overdue}
+     * @throws SQLException if database error occurs (nothing is changed)
+     */
+    public static List<Object[]> escalateOverdue(List<Object[]> stages, int limitPerStage) throws SQLException {
+        List<Object[]> escalated = new ArrayList<>();
         
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            // One indexed branch per stage that was ever used
+            List<Object[]> used = new ArrayList<>();
+            Map<String, String> stageRoles = new HashMap<>();
+            Map<String, Integer> statusKeys = new HashMap<>();
+            StringBuilder sql = new StringBuilder();
+            for (Object[] stage : stages) {
+                Integer statusKey = LookupDAO.findId(conn, LookupDAO.DOMAIN_STATUS, (String) stage[0]);
+                if (statusKey == null) {
+                    continue; // Status was never used, so no request can have it
+                }
+                if (!used.isEmpty()) {
+                    sql.append(" UNION ALL ");
+                }
+                sql.append("(SELECT ").append(LIST_COLUMNS).append(" FROM requests ")
+                   .append("WHERE status_id = ? AND escalated_at IS NULL AND status_since < ? ")
+                   .append("ORDER BY status_since LIMIT ?)");
+                used.add(new Object[]{statusKey, stage[2]});
+                stageRoles.put((String) stage[0], (String) stage[1]);
+                statusKeys.put((String) stage[0], statusKey);
+            }
+            if (used.isEmpty()) {
+                return escalated;
+            }
             
-            pstmt.setInt(1, id);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+                int index = 1;
+                for (Object[] stage : used) {
+                    pstmt.setInt(index++, (Integer) stage[0]);
+                    pstmt.setTimestamp(index++, (Timestamp) stage[1]);
+                    pstmt.setInt(index++, limitPerStage);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        escalated.add(readRequest(rs, false));
+                    }
+                }
+            }
+            if (escalated.isEmpty()) {
+                return escalated;
+            }
             
-            int rows = pstmt.executeUpdate();
-            return rows > 0;
+            conn.setAutoCommit(false);
+            try {
+                List<Object[]> flagged = new ArrayList<>();
+                List<Object[]> events = new ArrayList<>();
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        "UPDATE requests SET escalated_at = CURRENT_TIMESTAMP WHERE id = ? AND escalated_at IS NULL AND status_id = ?")) {
+                    for (Object[] request : escalated) {
+                        pstmt.setInt(1, (Integer) request[0]);
+                        pstmt.setInt(2, statusKeys.get((String) request[9]));
+                        pstmt.addBatch();
+                    }
+                    int[] counts = pstmt.executeBatch();
+                    for (int i = 0; i < counts.length; i++) {
+                        if (counts[i] > 0) { // Moved on meanwhile otherwise
+                            Object[] request = escalated.get(i);
+                            request[12] = true;
+                            flagged.add(request);
+                            events.add(new Object[]{request[0], request[3], stageRoles.get((String) request[9]),
+                                RequestEventDAO.EVENT_ESCALATE, request[9], request[9]});
+                        }
+                    }
+                }
+                RequestEventDAO.recordEvents(conn, events);
+                conn.commit();
+                return flagged;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         }
     }
+    
+    /**
+     * Reads the current row as {id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role, weight, overdue}.
+     * Repeated values are interned through LookupDAO.
+     * @param withDescription false for LIST_COLUMNS rows, which leave the description null
+     */
+    private static Object[] readRequest(ResultSet rs, boolean withDescription) throws SQLException {
+        return new Object[]{
+            rs.getInt("id"),
+            rs.getString("timestamp"),
+            rs.getString("requester"),
+            LookupDAO.intern(rs.getString("barangay")),
+            LookupDAO.intern(rs.getString("request_type")),
+            rs.getString("location"),
+            withDescription ? rs.getString("description") : null,
+            rs.getInt("num_sacks"),
+            LookupDAO.intern(rs.getString("waste_type")),
+            LookupDAO.intern(rs.getString("status")),
+            LookupDAO.intern(rs.getString("target_role")),
+            rs.getObject("weight", Double.class), // null when unknown
+            rs.getTimestamp("escalated_at") != null // Flagged as overdue in its stage
+        };
+    }
 }
-
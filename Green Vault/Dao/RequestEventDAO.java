@@ -0,0 +1,131 @@
+package dao;
+
+import utils.DatabaseConfig;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Access Object for the request_events table: the append-only history of
+ * every request, one row per step (created, approved, rejected, completed), per
+ * duplicate submission merged into it and per SLA escalation.
+ * Rows are written by RequestDAO in the same transaction as the step itself;
+ * they are never updated, and they stay when a request is moved to requests_archive.
+ */
+public class RequestEventDAO {
+
+    public static final String EVENT_CREATE = "CREATE";
+    // A duplicate submission merged into the request; not a step between stages
+    public static final String EVENT_MERGE = "MERGE";
+    // Flagged as overdue in its stage (see services.SlaScanner); not a step between stages
+    public static final String EVENT_ESCALATE = "ESCALATE";
+
+    /**
+     * Appends events on an existing connection (inside the caller's transaction).
+     * @param conn The connection to use
+     * @param events The events {request_id, barangay, stage, event, from_status, to_status};
+     *               stage is the role whose queue the request leaves (null on creation),
+     *               to_status is null for requests deleted before rejections were archived
+     * @throws SQLException if database error occurs
+     */
+    static void recordEvents(Connection conn, List<Object[]> events) throws SQLException {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        String sql = "INSERT INTO request_events (request_id, barangay, stage, event, from_status, to_status) " +
+                     "VALUES (?, ?, ?, ?, ?, ?)";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (Object[] event : events) {
+                pstmt.setInt(1, (Integer) event[0]);
+                pstmt.setString(2, (String) event[1]);
+                pstmt.setString(3, (String) event[2]);
+                pstmt.setString(4, (String) event[3]);
+                pstmt.setString(5, (String) event[4]);
+                pstmt.setString(6, (String) event[5]);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    /**
+     * Gets the history of a request, oldest first.
+     * @param requestId The request ID
+     * @return List of events {event_at, stage, event, from_status, to_status}
+     * @throws SQLException if database error occurs
+     */
+    public static List<Object[]> getRequestHistory(int requestId) throws SQLException {
+        String sql = "SELECT event_at, stage, event, from_status, to_status FROM request_events " +
+                     "WHERE request_id = ? ORDER BY id";
+        List<Object[]> events = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, requestId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    events.add(new Object[]{
+                        rs.getTimestamp("event_at"),
+                        LookupDAO.intern(rs.getString("stage")),
+                        LookupDAO.intern(rs.getString("event")),
+                        LookupDAO.intern(rs.getString("from_status")),
+                        LookupDAO.intern(rs.getString("to_status"))
+                    });
+                }
+            }
+        }
+
+        return events;
+    }
+
+    /**
+     * Computes how long requests sat in each stage, per barangay. The dwell time of a
+     * step is the time since the request's previous event; it is counted for the stage
+     * (role) that took the step. Merges and escalations are not steps, and requests
+     * still waiting in a stage are not counted.
+     * @return List of rows {barangay, stage, steps, p50 seconds, p90 seconds, max seconds},
+     *         ordered by barangay and stage
+     * @throws SQLException if database error occurs
+     */
+    public static List<Object[]> getStageDwellPercentiles() throws SQLException {
+        String sql = """
+            SELECT barangay, stage, COUNT(*) AS steps,
+                   PERCENTILE_CONT(0.5) WITHIN GROUP (ORDER BY dwell) AS p50,
+                   PERCENTILE_CONT(0.9) WITHIN GROUP (ORDER BY dwell) AS p90,
+                   MAX(dwell) AS max_dwell
+            FROM (
+                SELECT barangay, stage,
+                       DATEDIFF('SECOND', LAG(event_at) OVER (PARTITION BY request_id ORDER BY id), event_at) AS dwell
+                FROM request_events
+                WHERE event NOT IN ('MERGE', 'ESCALATE')
+            ) steps
+            WHERE stage IS NOT NULL AND dwell IS NOT NULL
+            GROUP BY barangay, stage
+            ORDER BY barangay, stage
+            """;
+        List<Object[]> rows = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                rows.add(new Object[]{
+                    LookupDAO.intern(rs.getString("barangay")),
+                    LookupDAO.intern(rs.getString("stage")),
+                    rs.getInt("steps"),
+                    rs.getDouble("p50"),
+                    rs.getDouble("p90"),
+                    rs.getLong("max_dwell")
+                });
+            }
+        }
+
+        return rows;
+    }
+}
@@ -0,0 +1,199 @@
+package dao;
+
+import utils.DatabaseConfig;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Data Access Object for the collection_schedules table: standing weekly pickups
+ * of an area, turned into requests once per period (see services.CollectionScheduleService).
+ */
+public class ScheduleDAO {
+
+    private static final String COLUMNS = "id, barangay, area, day_of_week, waste_type, num_sacks, created_by, last_period";
+
+    /**
+     * Creates a schedule.
+     * @param barangay The barangay
+     * @param area The area collected
+     * @param dayOfWeek Pickup day, 1 (Monday) to 7 (Sunday)
+     * @param wasteType Type of waste
+     * @param numSacks Usual number of sacks
+     * @param createdBy Username of the creator
+     * @param lastPeriod Start of the last period already covered, or null to cover the current one
+     * @return The generated ID of the new schedule, or -1 if failed
+     * @throws SQLException if database error occurs
+     */
+    public static int createSchedule(String barangay, String area, int dayOfWeek, String wasteType, int numSacks,
+                                     String createdBy, LocalDate lastPeriod) throws SQLException {
+        String sql = "INSERT INTO collection_schedules (barangay, area, day_of_week, waste_type, num_sacks, created_by, last_period) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
+
+            pstmt.setString(1, barangay);
+            pstmt.setString(2, area);
+            pstmt.setInt(3, dayOfWeek);
+            pstmt.setString(4, wasteType);
+            pstmt.setInt(5, numSacks);
+            pstmt.setString(6, createdBy);
+            pstmt.setDate(7, lastPeriod != null ? Date.valueOf(lastPeriod) : null);
+
+            if (pstmt.executeUpdate() > 0) {
+                try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        return rs.getInt(1); // Return generated ID
+                    }
+                }
+            }
+        }
+
+        return -1; // Failed
+    }
+
+    /**
+     * Gets the schedules of a barangay.
+     * @param barangay The barangay
+     * @return List of schedules {id, barangay, area, day_of_week, waste_type, num_sacks, created_by, last_period}
+     * @throws SQLException if database error occurs
+     */
+    public static List<Object[]> getSchedulesByBarangay(String barangay) throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM collection_schedules WHERE barangay = ? ORDER BY area, day_of_week";
+        List<Object[]> schedules = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, barangay);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    schedules.add(readSchedule(rs));
+                }
+            }
+        }
+
+        return schedules;
+    }
+
+    /**
+     * Gets the schedules that have not been turned into requests for a period yet.
+     * @param periodStart First day of the period
+     * @return List of schedules {id, barangay, area, day_of_week, waste_type, num_sacks, created_by, last_period}
+     * @throws SQLException if database error occurs
+     */
+    public static List<Object[]> getDueSchedules(LocalDate periodStart) throws SQLException {
+        String sql = "SELECT " + COLUMNS + " FROM collection_schedules " +
+                     "WHERE last_period IS NULL OR last_period < ? ORDER BY id";
+        List<Object[]> schedules = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setDate(1, Date.valueOf(periodStart));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    schedules.add(readSchedule(rs));
+                }
+            }
+        }
+
+        return schedules;
+    }
+
+    /**
+     * Turns due schedules into requests for a period, in one transaction: each schedule
+     * is marked as covered for the period and its request inserted (one batched statement
+     * each). A schedule another instance already covered is skipped, so no period gets
+     * two requests from the same schedule.
+     * @param periodStart First day of the period
+     * @param scheduleIds The schedules to cover
+     * @param requests Per schedule, the request to insert {id (ignored), timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role, weight}
+     * @return Per schedule, the ID of the inserted request, or -1 if it was skipped
+     * @throws SQLException if database error occurs (nothing is changed)
+     */
+    public static int[] materialize(LocalDate periodStart, List<Integer> scheduleIds, List<Object[]> requests) throws SQLException {
+        String sql = "UPDATE collection_schedules SET last_period = ? WHERE id = ? AND (last_period IS NULL OR last_period < ?)";
+        int[] results = new int[scheduleIds.size()];
+        Arrays.fill(results, -1);
+        if (scheduleIds.isEmpty()) {
+            return results;
+        }
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<Integer> claimed = new ArrayList<>();
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (Integer scheduleId : scheduleIds) {
+                        pstmt.setDate(1, Date.valueOf(periodStart));
+                        pstmt.setInt(2, scheduleId);
+                        pstmt.setDate(3, Date.valueOf(periodStart));
+                        pstmt.addBatch();
+                    }
+                    int[] counts = pstmt.executeBatch();
+                    for (int i = 0; i < counts.length; i++) {
+                        if (counts[i] > 0) {
+                            claimed.add(i); // Covered by someone else otherwise
+                        }
+                    }
+                }
+
+                List<Object[]> toInsert = new ArrayList<>();
+                for (int i : claimed) {
+                    toInsert.add(requests.get(i));
+                }
+                int[] ids = RequestDAO.insertRequests(conn, toInsert);
+                for (int c = 0; c < ids.length; c++) {
+                    results[claimed.get(c)] = ids[c];
+                }
+
+                conn.commit();
+                return results;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Deletes a schedule. Requests it already created are kept.
+     * @param id The schedule ID
+     * @return true if successful, false if schedule not found
+     * @throws SQLException if database error occurs
+     */
+    public static boolean deleteSchedule(int id) throws SQLException {
+        String sql = "DELETE FROM collection_schedules WHERE id = ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, id);
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    private static Object[] readSchedule(ResultSet rs) throws SQLException {
+        Date lastPeriod = rs.getDate("last_period");
+        return new Object[]{
+            rs.getInt("id"),
+            LookupDAO.intern(rs.getString("barangay")),
+            rs.getString("area"),
+            rs.getInt("day_of_week"),
+            LookupDAO.intern(rs.getString("waste_type")),
+            rs.getInt("num_sacks"),
+            rs.getString("created_by"),
+            lastPeriod != null ? lastPeriod.toLocalDate() : null
+        };
+    }
+}
@@ -104,8 +104,8 @@ public class UserDAO {
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
                     return new Object[]{
-                        rs.getString("role"),
-                        rs.getString("barangay")
+                        LookupDAO.intern(rs.getString("role")),
+                        LookupDAO.intern(rs.getString("barangay"))
                     };
                 }
             }
@@ -115,25 +115,89 @@ public class UserDAO {
     }
     
     /**
-     * Gets all users.
-     * @return List of user data {username, password, role, barangay}
+     * Counts all users.
+     * @return The number of users
+     * @throws SQLException if database error occurs
+     */
+    public static int countUsers() throws SQLException {
+        return countUsers(null);
+    }
+    
+    /**
+     * Counts the users matching a search (see getUserDirectoryPage).
+     * @param search Text to look for in username, role or barangay (case-insensitive), or null/empty for all users
+     * @return The number of matching users
+     * @throws SQLException if database error occurs
+     */
+    public static int countUsers(String search) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM users" + searchClause(search);
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            setSearchParameters(pstmt, search, 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+    
+    /**
+     * Gets the user directory: all users without their passwords.
+     * @return List of user data {username, role, barangay}
      * @throws SQLException if database error occurs
      */
-    public static List<Object[]> getAllUsers() throws SQLException {
+    public static List<Object[]> getUserDirectory() throws SQLException {
         List<Object[]> users = new ArrayList<>();
-        String sql = "SELECT username, password, role, barangay FROM users";
+        String sql = "SELECT username, role, barangay FROM users";
         
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql);
              ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
-                users.add(new Object[]{
-                    rs.getString("username"),
-                    rs.getString("password"),
-                    rs.getString("role"),
-                    rs.getString("barangay")
-                });
+                users.add(readDirectoryRow(rs));
+            }
+        }
+        
+        return users;
+    }
+    
+    /**
+     * Gets one page of the user directory ordered by username.
+     * @param offset Index of the first row to return
+     * @param limit Maximum number of rows to return
+     * @return List of user data {username, role, barangay}
+     * @throws SQLException if database error occurs
+     */
+    public static List<Object[]> getUserDirectoryPage(int offset, int limit) throws SQLException {
+        return getUserDirectoryPage(null, offset, limit);
+    }
+    
+    /**
+     * Gets one page of the users matching a search, ordered by username.
+     * @param search Text to look for in username, role or barangay (case-insensitive), or null/empty for all users
+     * @param offset Index of the first row to return
+     * @param limit Maximum number of rows to return
+     * @return List of user data {username, role, barangay}
+     * @throws SQLException if database error occurs
+     */
+    public static List<Object[]> getUserDirectoryPage(String search, int offset, int limit) throws SQLException {
+        List<Object[]> users = new ArrayList<>();
+        String sql = "SELECT username, role, barangay FROM users" + searchClause(search) +
+                     " ORDER BY username OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            int index = setSearchParameters(pstmt, search, 1);
+            pstmt.setInt(index++, offset);
+            pstmt.setInt(index, limit);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    users.add(readDirectoryRow(rs));
+                }
             }
         }
         
@@ -160,8 +224,8 @@ public class UserDAO {
                     users.add(new Object[]{
                         rs.getString("username"),
                         rs.getString("password"),
-                        rs.getString("role"),
-                        rs.getString("barangay")
+                        LookupDAO.intern(rs.getString("role")),
+                        LookupDAO.intern(rs.getString("barangay"))
                     });
                 }
             }
@@ -260,5 +324,39 @@ public class UserDAO {
         
         return false;
     }
+    
+    /**
+     * Reads the current row as {username, role, barangay}.
+     */
+    private static String searchClause(String search) {
+        if (search == null || search.isEmpty()) {
+            return "";
+        }
+        return " WHERE LOWER(username) LIKE ? ESCAPE '\\' OR LOWER(role) LIKE ? ESCAPE '\\'" +
+               " OR LOWER(COALESCE(barangay, '')) LIKE ? ESCAPE '\\'";
+    }
+    
+    /**
+     * Binds the parameters of searchClause.
+     * @return The next parameter index
+     */
+    private static int setSearchParameters(PreparedStatement pstmt, String search, int index) throws SQLException {
+        if (search == null || search.isEmpty()) {
+            return index;
+        }
+        String pattern = "%" + search.toLowerCase()
+            .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        for (int i = 0; i < 3; i++) {
+            pstmt.setString(index++, pattern);
+        }
+        return index;
+    }
+    
+    private static Object[] readDirectoryRow(ResultSet rs) throws SQLException {
+        return new Object[]{
+            rs.getString("username"),
+            LookupDAO.intern(rs.getString("role")),
+            LookupDAO.intern(rs.getString("barangay"))
+        };
+    }
 }
-
@@ -26,10 +26,21 @@ public class WasteRecordDAO {
      * @throws SQLException if database error occurs
      */
     public static int createWasteRecord(String role, String date, String area, double weight, String type, String barangay) throws SQLException {
-        String sql = "INSERT INTO waste_records (role, date, area, weight, type, barangay) VALUES (?, ?, ?, ?, ?, ?)";
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            return createWasteRecord(conn, role, date, area, weight, type, barangay);
+        }
+    }
+    
+    /**
+     * Creates a new waste record on an existing connection (e.g. inside a caller's transaction).
+     * @return The generated ID of the new record, or -1 if failed
+     */
+    static int createWasteRecord(Connection conn, String role, String date, String area, double weight, String type, String barangay) throws SQLException {
+        // The key columns (role_id, type_id, barangay_id) are filled by utils.LookupKeyTrigger
+        String sql = "INSERT INTO waste_records (role, date, area, weight, type, barangay) " +
+                     "VALUES (?, ?, ?, ?, ?, ?)";
         
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
             
             pstmt.setString(1, role);
             pstmt.setString(2, date);
@@ -80,15 +91,7 @@ public class WasteRecordDAO {
              ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
-                records.add(new Object[]{
-                    rs.getInt("id"),
-                    rs.getString("role"),
-                    rs.getString("date"),
-                    rs.getString("area"),
-                    rs.getDouble("weight"),
-                    rs.getString("type"),
-                    rs.getString("barangay")
-                });
+                records.add(readWasteRecord(rs));
             }
         }
         
@@ -96,31 +99,73 @@ public class WasteRecordDAO {
     }
     
     /**
-     * Gets waste records by role.
-     * @param role The role to filter by
+     * Counts all waste records.
+     * @return The number of waste records
+     * @throws SQLException if database error occurs
+     */
+    public static int countWasteRecords() throws SQLException {
+        String sql = "SELECT COUNT(*) FROM waste_records";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+    
+    /**
+     * Gets one page of waste records in the same order as getAllWasteRecords().
+     * @param offset Index of the first row to return
+     * @param limit Maximum number of rows to return
      * @return List of waste records {id, role, date, area, weight, type, barangay}
      * @throws SQLException if database error occurs
      */
-    public static List<Object[]> getWasteRecordsByRole(String role) throws SQLException {
+    public static List<Object[]> getWasteRecordsPage(int offset, int limit) throws SQLException {
         List<Object[]> records = new ArrayList<>();
-        String sql = "SELECT id, role, date, area, weight, type, barangay FROM waste_records WHERE role = ? ORDER BY id DESC";
+        String sql = "SELECT id, role, date, area, weight, type, barangay FROM waste_records " +
+                     "ORDER BY id DESC OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
         
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setString(1, role);
+            pstmt.setInt(1, offset);
+            pstmt.setInt(2, limit);
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    records.add(new Object[]{
-                        rs.getInt("id"),
-                        rs.getString("role"),
-                        rs.getString("date"),
-                        rs.getString("area"),
-                        rs.getDouble("weight"),
-                        rs.getString("type"),
-                        rs.getString("barangay")
-                    });
+                    records.add(readWasteRecord(rs));
+                }
+            }
+        }
+        
+        return records;
+    }
+    
+    /**
+     * Gets waste records by role.
+     * @param role The role to filter by
+     * @return List of waste records {id, role, date, area, weight, type, barangay}
+     * @throws SQLException if database error occurs
+     */
+    public static List<Object[]> getWasteRecordsByRole(String role) throws SQLException {
+        List<Object[]> records = new ArrayList<>();
+        String sql = "SELECT id, role, date, area, weight, type, barangay FROM waste_records WHERE role_id = ? ORDER BY id DESC";
+        
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            // Filter on the indexed integer key
+            Integer roleId = LookupDAO.findId(conn, LookupDAO.DOMAIN_ROLE, role);
+            if (roleId == null) {
+                return records; // No records were ever saved for this role
+            }
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, roleId);
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        records.add(readWasteRecord(rs));
+                    }
                 }
             }
         }
@@ -144,15 +189,7 @@ public class WasteRecordDAO {
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return new Object[]{
-                        rs.getInt("id"),
-                        rs.getString("role"),
-                        rs.getString("date"),
-                        rs.getString("area"),
-                        rs.getDouble("weight"),
-                        rs.getString("type"),
-                        rs.getString("barangay")
-                    };
+                    return readWasteRecord(rs);
                 }
             }
         }
@@ -160,6 +197,43 @@ public class WasteRecordDAO {
         return null; // Record not found
     }
     
+    /**
+     * Gets several waste records by ID in one query.
+     * IDs that no longer exist are simply missing from the result.
+     * @param ids The record IDs
+     * @return List of waste records {id, role, date, area, weight, type, barangay}
+     * @throws SQLException if database error occurs
+     */
+    public static List<Object[]> getWasteRecordsByIds(List<Integer> ids) throws SQLException {
+        List<Object[]> records = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return records;
+        }
+        
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < ids.size(); i++) {
+            placeholders.append(i == 0 ? "?" : ", ?");
+        }
+        String sql = "SELECT id, role, date, area, weight, type, barangay FROM waste_records " +
+                     "WHERE id IN (" + placeholders + ") ORDER BY id DESC";
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            for (int i = 0; i < ids.size(); i++) {
+                pstmt.setInt(i + 1, ids.get(i));
+            }
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    records.add(readWasteRecord(rs));
+                }
+            }
+        }
+        
+        return records;
+    }
+    
     /**
      * Updates a waste record.
      * @param id The record ID
@@ -172,6 +246,69 @@ public class WasteRecordDAO {
      * @throws SQLException if database error occurs
      */
     public static boolean updateWasteRecord(int id, String date, String area, Double weight, String type, String barangay) throws SQLException {
+        if (date == null && area == null && weight == null && type == null && barangay == null) {
+            return false; // Nothing to update
+        }
+        
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            return updateWasteRecord(conn, id, date, area, weight, type, barangay);
+        }
+    }
+    
+    /**
+     * Saves a set of edits and deletions in one transaction: either all of them
+     * are applied or none are.
+     * @param updates Edited records {id, date, area, weight, type, barangay}; null fields are left unchanged
+     * @param deletedIds IDs of records to delete
+     * @return Number of records updated or deleted
+     * @throws SQLException if database error occurs (nothing is saved)
+     */
+    public static int saveChanges(List<Object[]> updates, List<Integer> deletedIds) throws SQLException {
+        int changed = 0;
+        
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                for (Object[] update : updates) {
+                    if (updateWasteRecord(conn, (Integer) update[0], (String) update[1], (String) update[2],
+                                          (Double) update[3], (String) update[4], (String) update[5])) {
+                        changed++;
+                    }
+                }
+                
+                if (!deletedIds.isEmpty()) {
+                    try (PreparedStatement pstmt = conn.prepareStatement("DELETE FROM waste_records WHERE id = ?")) {
+                        for (int id : deletedIds) {
+                            pstmt.setInt(1, id);
+                            pstmt.addBatch();
+                        }
+                        for (int rows : pstmt.executeBatch()) {
+                            changed += rows > 0 ? 1 : 0;
+                        }
+                    }
+                }
+                
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        
+        return changed;
+    }
+    
+    /**
+     * Updates the given fields of a waste record on an existing connection.
+     * Null fields are left unchanged.
+     */
+    private static boolean updateWasteRecord(Connection conn, int id, String date, String area, Double weight, String type, String barangay) throws SQLException {
+        if (date == null && area == null && weight == null && type == null && barangay == null) {
+            return false; // Nothing to update
+        }
+        
         // Build dynamic SQL based on what fields to update
         StringBuilder sql = new StringBuilder("UPDATE waste_records SET ");
         List<String> updates = new ArrayList<>();
@@ -191,24 +328,18 @@ public class WasteRecordDAO {
         }
         if (type != null) {
             updates.add("type = ?");
-            params.add(type);
+            params.add(type); // type_id follows through utils.LookupKeyTrigger
         }
         if (barangay != null) {
             updates.add("barangay = ?");
-            params.add(barangay);
-        }
-        
-        if (updates.isEmpty()) {
-            return false; // Nothing to update
+            params.add(barangay); // barangay_id follows through utils.LookupKeyTrigger
         }
         
         sql.append(String.join(", ", updates));
         sql.append(" WHERE id = ?");
         params.add(id);
         
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
-            
+        try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
             for (int i = 0; i < params.size(); i++) {
                 pstmt.setObject(i + 1, params.get(i));
             }
@@ -250,5 +381,57 @@ public class WasteRecordDAO {
             return rows > 0;
         }
     }
+    
+    /**
+     * Gets total weight and record count per waste type for a role.
+     * Groups on the integer type key instead of the VARCHAR type column.
+     * @param role The role to filter by
+     * @return List of totals {type, record_count, total_weight}
+     * @throws SQLException if database error occurs
+     */
+    public static List<Object[]> getWeightTotalsByType(String role) throws SQLException {
+        List<Object[]> totals = new ArrayList<>();
+        String sql = "SELECT l.name AS type, COUNT(*) AS record_count, SUM(w.weight) AS total_weight " +
+                     "FROM waste_records w JOIN lookup_values l ON l.id = w.type_id " +
+                     "WHERE w.role_id = ? GROUP BY w.type_id, l.name";
+        
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            Integer roleId = LookupDAO.findId(conn, LookupDAO.DOMAIN_ROLE, role);
+            if (roleId == null) {
+                return totals; // No records were ever saved for this role
+            }
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, roleId);
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        totals.add(new Object[]{
+                            LookupDAO.intern(rs.getString("type")),
+                            rs.getInt("record_count"),
+                            rs.getDouble("total_weight")
+                        });
+                    }
+                }
+            }
+        }
+        
+        return totals;
+    }
+    
+    /**
+     * Reads the current row as {id, role, date, area, weight, type, barangay}.
+     * Repeated values are interned through LookupDAO.
+     */
+    private static Object[] readWasteRecord(ResultSet rs) throws SQLException {
+        return new Object[]{
+            rs.getInt("id"),
+            LookupDAO.intern(rs.getString("role")),
+            rs.getString("date"),
+            rs.getString("area"),
+            rs.getDouble("weight"),
+            LookupDAO.intern(rs.getString("type")),
+            LookupDAO.intern(rs.getString("barangay"))
+        };
+    }
 }
-
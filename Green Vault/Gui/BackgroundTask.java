@@ -0,0 +1,151 @@
+package gui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs database and file work off the Swing event dispatch thread.
+ * Work runs on a shared executor; the result is handed back on the EDT.
+ * While a window has tasks running it shows a wait cursor, and the button
+ * that started a task stays disabled until it finishes.
+ * Tasks still running when their window is disposed are cancelled.
+ */
+public class BackgroundTask {
+    // Prevent instantiation - utility class
+    private BackgroundTask() {}
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(3, r -> {
+        Thread t = new Thread(r, "greenvault-worker-" + threadCount.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Running tasks per window (EDT only)
+    private static final Map<Window, Set<SwingWorker<?, ?>>> running = new WeakHashMap<>();
+
+    /**
+     * Runs work in the background and passes its result to onSuccess on the EDT.
+     * Errors are shown in a message dialog.
+     * @param owner Component whose window shows the busy cursor (and owns error dialogs)
+     * @param trigger Button to disable while running (can be null)
+     * @param work The work to run off the EDT
+     * @param onSuccess Called on the EDT with the result (can be null)
+     * @return The started worker
+     */
+    public static <T> SwingWorker<T, Void> run(Component owner, AbstractButton trigger,
+                                               Callable<T> work, Consumer<T> onSuccess) {
+        return run(owner, trigger, work, onSuccess, null);
+    }
+
+    /**
+     * Runs work in the background and passes its result to onSuccess on the EDT.
+     * Must be called on the EDT.
+     * @param owner Component whose window shows the busy cursor (and owns error dialogs)
+     * @param trigger Button to disable while running (can be null)
+     * @param work The work to run off the EDT
+     * @param onSuccess Called on the EDT with the result (can be null)
+     * @param onError Called on the EDT if the work throws (null shows a message dialog)
+     * @return The started worker
+     */
+    public static <T> SwingWorker<T, Void> run(Component owner, AbstractButton trigger,
+                                               Callable<T> work, Consumer<T> onSuccess,
+                                               Consumer<Exception> onError) {
+        Window window = owner instanceof Window ? (Window) owner : SwingUtilities.getWindowAncestor(owner);
+
+        SwingWorker<T, Void> worker = new SwingWorker<T, Void>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return work.call();
+            }
+
+            @Override
+            protected void done() {
+                finish(window, this, trigger);
+                if (isCancelled()) {
+                    return; // Window closed or result no longer wanted
+                }
+                T result;
+                try {
+                    result = get();
+                } catch (InterruptedException | CancellationException ex) {
+                    return;
+                } catch (ExecutionException ex) {
+                    Exception cause = ex.getCause() instanceof Exception ? (Exception) ex.getCause() : ex;
+                    if (onError != null) {
+                        onError.accept(cause);
+                    } else {
+                        cause.printStackTrace();
+                        JOptionPane.showMessageDialog(owner,
+                            "Error: " + cause.getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                    return;
+                }
+                if (onSuccess != null) {
+                    onSuccess.accept(result);
+                }
+            }
+        };
+
+        start(window, worker, trigger);
+        EXECUTOR.execute(worker);
+        return worker;
+    }
+
+    /**
+     * Cancels every task started for a window (e.g. when it is disposed).
+     * Their onSuccess/onError callbacks are not called.
+     * @param window The window
+     */
+    public static void cancelAll(Window window) {
+        Set<SwingWorker<?, ?>> tasks = running.remove(window);
+        if (tasks != null) {
+            for (SwingWorker<?, ?> task : tasks) {
+                task.cancel(true);
+            }
+        }
+        if (window != null) {
+            window.setCursor(Cursor.getDefaultCursor());
+        }
+    }
+
+    private static void start(Window window, SwingWorker<?, ?> worker, AbstractButton trigger) {
+        if (trigger != null) {
+            trigger.setEnabled(false);
+        }
+        if (window != null) {
+            running.computeIfAbsent(window, w -> new HashSet<>()).add(worker);
+            window.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        }
+    }
+
+    private static void finish(Window window, SwingWorker<?, ?> worker, AbstractButton trigger) {
+        if (trigger != null) {
+            trigger.setEnabled(true);
+        }
+        if (window != null) {
+            Set<SwingWorker<?, ?>> tasks = running.get(window);
+            if (tasks != null) {
+                tasks.remove(worker);
+                if (tasks.isEmpty()) {
+                    running.remove(window);
+                }
+            }
+            if (!running.containsKey(window)) {
+                window.setCursor(Cursor.getDefaultCursor());
+            }
+        }
+    }
+}
@@ -2,12 +2,26 @@ package gui;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
+import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.io.BufferedReader;
@@ -20,7 +34,12 @@ import services.UserAuthenticationService;
 import services.UserApprovalService;
 import services.WasteDataService;
 import services.RequestService;
+import services.RequestWorkflow;
+import services.CollectionPlanner;
+import services.DispatchQueue;
+import services.CollectionScheduleService;
 import services.RoleDataFileService;
+import services.ChangeNotifier;
 import utils.BarangayAreaMapper;
 import dao.UserDAO;
 import dao.WasteRecordDAO;
@@ -36,6 +55,25 @@ public class DashboardFrame extends JFrame {
     private final String barangay;
     private JPanel mainContentPanel;
     private CardLayout cardLayout;
+    // Change log subscriptions to cancel when the frame closes
+    private final List<Runnable> changeSubscriptions = new ArrayList<>();
+    // Sidebar buttons of the role's request queues, badged with the number of waiting requests
+    private final List<JButton> inboxButtons = new ArrayList<>();
+    private static final String NAV_TEXT = "navText";
+    
+    // Card panels are built on first use; set -Dgreenvault.prefetchPanels=true
+    // to build the rest in the background once the dashboard is idle
+    private static final boolean PREFETCH_PANELS = Boolean.getBoolean("greenvault.prefetchPanels");
+    private static final int PREFETCH_DELAY_MS = 1500;
+    private final Map<String, Supplier<JPanel>> panelFactories = new LinkedHashMap<>();
+    
+    // Larger change batches reload the request queue instead of patching it
+    private static final int MAX_PATCHED_REQUESTS = 200;
+    // Default order of the request queue tables, as loaded from the queue queries
+    private static final Comparator<RequestRow> NEWEST_FIRST = Comparator.comparingInt(RequestRow::id).reversed();
+    
+    // Pause in typing before the all-users search queries the database
+    private static final int USER_SEARCH_DELAY_MS = 300;
     
     public DashboardFrame(String username, String role, String barangay) {
         this.username = username;
@@ -65,59 +103,69 @@ public class DashboardFrame extends JFrame {
         mainContentPanel.setBorder(new EmptyBorder(20, 20, 20, 20));
         mainContentPanel.setBackground(Color.WHITE); 
         
-        // Add content panels based on role permissions (role-based access control)
-        mainContentPanel.add(createOverviewPanel(), "OVERVIEW");
+        // Register content panels based on role permissions (role-based access control).
+        // Each panel is built (and loads its data) the first time it is shown.
+        registerPanel("OVERVIEW", this::createOverviewPanel);
         
         // Data Entry - Only for Garbage Collector and Barangay Member
         if (role.equals("Garbage Collector") || role.equals("Barangay Member")) {
-        mainContentPanel.add(createDataEntryPanel(), "DATA_ENTRY"); 
+        registerPanel("DATA_ENTRY", this::createDataEntryPanel); 
         }
         
         // Records Management - For all roles except Barangay Member
         if (!role.equals("Barangay Member")) {
-        mainContentPanel.add(createRecordsPanel(), "RECORDS");           
+        registerPanel("RECORDS", this::createRecordsPanel);           
         }
         
         // Reporting - Only for City Officer and Barangay Captain
         if (role.equals("City Officer") || role.equals("Barangay Captain")) {
-        mainContentPanel.add(createReportingPanel(), "REPORTS");         
+        registerPanel("REPORTS", this::createReportingPanel);         
         }
         
         // Admin Panel - Admin only
         if (role.equals("Admin")) {
-        mainContentPanel.add(createAdminPanel(), "ADMIN");
+        registerPanel("ADMIN", this::createAdminPanel);
         }
         
         // Request Creation - Only for Barangay Member
         if (role.equals("Barangay Member")) {
-        mainContentPanel.add(createRequestPanel(), "CREATE_REQUEST");
+        registerPanel("CREATE_REQUEST", this::createRequestPanel);
         }
         
         // View Requests - Only for Barangay Captain
         if (role.equals("Barangay Captain")) {
-        mainContentPanel.add(createViewRequestsPanel(), "VIEW_REQUESTS");
-        mainContentPanel.add(createBarangayCaptainRequestsPanel(), "VIEW_CAPTAIN_REQUESTS");
+        registerPanel("VIEW_REQUESTS", this::createViewRequestsPanel);
+        registerPanel("VIEW_CAPTAIN_REQUESTS", this::createBarangayCaptainRequestsPanel);
+        registerPanel("COLLECTION_SCHEDULES", this::createCollectionSchedulesPanel);
         }
         
         // City Officer request panel - City Officer only
         if (role.equals("City Officer")) {
-        mainContentPanel.add(createCityOfficerRequestsPanel(), "VIEW_CITY_REQUESTS");
+        registerPanel("VIEW_CITY_REQUESTS", this::createCityOfficerRequestsPanel);
         }
         
         // Garbage Collector request panel - Garbage Collector only
         if (role.equals("Garbage Collector")) {
-        mainContentPanel.add(createGarbageCollectorRequestsPanel(), "VIEW_GARBAGE_REQUESTS");
+        registerPanel("VIEW_GARBAGE_REQUESTS", this::createGarbageCollectorRequestsPanel);
         }
         
         // Admin-only panels
         if (role.equals("Admin")) {
-            mainContentPanel.add(createAllUsersPanel(), "ALL_USERS");
-            mainContentPanel.add(createAllWasteRecordsPanel(), "ALL_RECORDS");
-            mainContentPanel.add(createSystemStatsPanel(), "SYSTEM_STATS");
+            registerPanel("ALL_USERS", this::createAllUsersPanel);
+            registerPanel("ALL_RECORDS", this::createAllWasteRecordsPanel);
+            registerPanel("SYSTEM_STATS", this::createSystemStatsPanel);
         }
 
         add(mainContentPanel, BorderLayout.CENTER);
-        cardLayout.show(mainContentPanel, "OVERVIEW");
+        showPanel("OVERVIEW");
+        
+        if (!inboxButtons.isEmpty()) {
+            trackInboxCount();
+        }
+        
+        if (PREFETCH_PANELS) {
+            startPanelPrefetch();
+        }
     }
 
     private JPanel createSidebar() {
@@ -163,18 +211,19 @@ public class DashboardFrame extends JFrame {
         // 1) View Requests  -> gikan sa Barangay Members (requestform.txt)
         // 2) View Requests for Approval -> mga na-forward na nga iyang i-approve para sa City Officer
         if (role.equals("Barangay Captain")) {
-            addNavButton(sidebar, "📋 View Requests", "VIEW_REQUESTS");
-            addNavButton(sidebar, "Approval for Request", "VIEW_CAPTAIN_REQUESTS");
+            inboxButtons.add(addNavButton(sidebar, "📋 View Requests", "VIEW_REQUESTS"));
+            inboxButtons.add(addNavButton(sidebar, "Approval for Request", "VIEW_CAPTAIN_REQUESTS"));
+            addNavButton(sidebar, "🗓️ Collection Schedules", "COLLECTION_SCHEDULES");
         }
         
         // City Officer request approval panel
         if (role.equals("City Officer")) {
-            addNavButton(sidebar, "📋 View Requests for City Officer", "VIEW_CITY_REQUESTS");
+            inboxButtons.add(addNavButton(sidebar, "📋 View Requests for City Officer", "VIEW_CITY_REQUESTS"));
         }
         
         // Garbage Collector final processing panel
         if (role.equals("Garbage Collector")) {
-            addNavButton(sidebar, "📋 View Requests for Garbage Collector", "VIEW_GARBAGE_REQUESTS");
+            inboxButtons.add(addNavButton(sidebar, "📋 View Requests for Garbage Collector", "VIEW_GARBAGE_REQUESTS"));
         }
         
         // 5. System Administration (Admin only)
@@ -202,17 +251,218 @@ public class DashboardFrame extends JFrame {
         return sidebar;
     }
 
-    private void addNavButton(JPanel sidebar, String text, String cardName) {
+    /**
+     * Re-runs a table refresh on the EDT whenever the change log reports writes
+     * to a database table, including writes from other app instances.
+     */
+    private void refreshOnChange(String table, Runnable refresh) {
+        ChangeNotifier.ChangeListener listener = changes -> SwingUtilities.invokeLater(refresh);
+        ChangeNotifier.addListener(table, listener);
+        changeSubscriptions.add(() -> ChangeNotifier.removeListener(table, listener));
+    }
+    
+    /**
+     * Keeps a request queue table live: when the change log reports changed requests,
+     * only those requests are fetched (on the notifier thread) and the table rows are
+     * inserted, updated or removed in place on the EDT. Falls back to the full refresh
+     * for large batches or if the requests cannot be read.
+     * @param tableModel Queue table, newest ID first
+     * @param inQueue Whether a request (database format) belongs in this queue
+     * @param fullRefresh Reloads the whole queue
+     */
+    private void patchOnRequestChange(RecordTableModel<RequestRow> tableModel, Predicate<Object[]> inQueue, Runnable fullRefresh) {
+        patchOnRequestChange(tableModel, inQueue, NEWEST_FIRST, fullRefresh);
+    }
+    
+    /**
+     * Keeps a request queue table up to date with the change log, inserting new rows in the given order.
+     * @param order Order of the table's rows
+     */
+    private void patchOnRequestChange(RecordTableModel<RequestRow> tableModel, Predicate<Object[]> inQueue,
+                                      Comparator<RequestRow> order, Runnable fullRefresh) {
+        ChangeNotifier.ChangeListener listener = changes -> {
+            Set<Integer> ids = new LinkedHashSet<>();
+            for (ChangeNotifier.Change change : changes) {
+                try {
+                    ids.add(Integer.parseInt(change.rowId()));
+                } catch (NumberFormatException e) {
+                    // Not a request ID; ignore
+                }
+            }
+            if (ids.size() > MAX_PATCHED_REQUESTS) {
+                SwingUtilities.invokeLater(fullRefresh);
+                return;
+            }
+            
+            List<Object[]> requests = RequestService.getRequestsByIds(new ArrayList<>(ids));
+            if (requests == null) {
+                SwingUtilities.invokeLater(fullRefresh);
+                return;
+            }
+            Map<Integer, RequestRow> queueRows = new HashMap<>();
+            for (Object[] req : requests) {
+                if (inQueue.test(req)) {
+                    queueRows.put((Integer) req[0], toRequestTableRow(RequestService.convertToServiceFormat(req)));
+                }
+            }
+            SwingUtilities.invokeLater(() -> patchRequestRows(tableModel, ids, queueRows, order));
+        };
+        ChangeNotifier.addListener("requests", listener);
+        changeSubscriptions.add(() -> ChangeNotifier.removeListener("requests", listener));
+    }
+    
+    /**
+     * Applies changed requests to a queue table without reloading it. Row positions
+     * are looked up once per batch; updates and removals are applied first, from the
+     * bottom up so the looked-up positions stay valid, then new rows are inserted.
+     * @param ids IDs of all changed requests
+     * @param queueRows New rows for the changed requests that are (still) in the queue
+     * @param order Order of the table's rows
+     */
+    private static void patchRequestRows(RecordTableModel<RequestRow> tableModel, Set<Integer> ids,
+                                         Map<Integer, RequestRow> queueRows, Comparator<RequestRow> order) {
+        Map<Integer, Integer> indexById = new HashMap<>();
+        for (int i = 0; i < tableModel.getRowCount(); i++) {
+            indexById.put(tableModel.getRow(i).id(), i);
+        }
+        
+        List<Integer> removed = new ArrayList<>();
+        List<RequestRow> added = new ArrayList<>();
+        for (Integer id : ids) {
+            Integer index = indexById.get(id);
+            RequestRow row = queueRows.get(id);
+            
+            if (row == null) {
+                // Deleted or moved to another queue
+                if (index != null) {
+                    removed.add(index);
+                }
+            } else if (index != null) {
+                // Replace in place, keeping the selection
+                if (!row.equals(tableModel.getRow(index))) {
+                    tableModel.setRow(index, row);
+                }
+            } else {
+                added.add(row); // New in this queue
+            }
+        }
+        
+        removed.sort(Comparator.reverseOrder());
+        for (int index : removed) {
+            tableModel.removeRow(index);
+        }
+        for (RequestRow row : added) {
+            tableModel.insertRow(insertionIndex(tableModel, row, order), row);
+        }
+    }
+    
+    /**
+     * Finds where a row goes in a table sorted by order (binary search).
+     */
+    private static int insertionIndex(RecordTableModel<RequestRow> tableModel, RequestRow row, Comparator<RequestRow> order) {
+        int low = 0;
+        int high = tableModel.getRowCount();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (order.compare(tableModel.getRow(middle), row) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+    
+    @Override
+    public void dispose() {
+        for (Runnable unsubscribe : changeSubscriptions) {
+            unsubscribe.run();
+        }
+        changeSubscriptions.clear();
+        BackgroundTask.cancelAll(this);
+        super.dispose();
+    }
+
+    /**
+     * Registers a card panel to be built the first time it is shown.
+     */
+    private void registerPanel(String cardName, Supplier<JPanel> factory) {
+        panelFactories.put(cardName, factory);
+    }
+    
+    /**
+     * Shows a card panel, building it first if needed.
+     */
+    private void showPanel(String cardName) {
+        buildPanel(cardName);
+        cardLayout.show(mainContentPanel, cardName);
+    }
+    
+    /**
+     * Builds a registered card panel and adds it to the card layout.
+     * Does nothing if it was already built.
+     */
+    private void buildPanel(String cardName) {
+        Supplier<JPanel> factory = panelFactories.remove(cardName);
+        if (factory != null) {
+            mainContentPanel.add(factory.get(), cardName);
+        }
+    }
+    
+    /**
+     * Builds the panels not opened yet, one per timer tick, so the EDT stays
+     * responsive between them. Their data loads run as background tasks.
+     */
+    private void startPanelPrefetch() {
+        Timer prefetch = new Timer(PREFETCH_DELAY_MS, null);
+        prefetch.addActionListener(e -> {
+            if (panelFactories.isEmpty() || !isDisplayable()) {
+                prefetch.stop();
+                return;
+            }
+            buildPanel(panelFactories.keySet().iterator().next());
+        });
+        prefetch.start();
+    }
+
+    private JButton addNavButton(JPanel sidebar, String text, String cardName) {
         JButton button = new JButton(text);
+        button.putClientProperty(NAV_TEXT, text);
         button.setMaximumSize(new Dimension(220, 40));
         button.setAlignmentX(Component.CENTER_ALIGNMENT);
         button.setBackground(new Color(60, 60, 60));
         button.setForeground(Color.WHITE);
         button.setFocusPainted(false);
         button.setBorderPainted(false);
-        button.addActionListener(e -> cardLayout.show(mainContentPanel, cardName));
+        button.addActionListener(e -> showPanel(cardName));
         sidebar.add(button);
         sidebar.add(Box.createVerticalStrut(10));
+        return button;
+    }
+    
+    /**
+     * Keeps the badges on the role's queue buttons current: the count is loaded now
+     * and re-read from the inbox counters (not the queue itself) whenever the
+     * change log reports changed requests.
+     */
+    private void trackInboxCount() {
+        BackgroundTask.run(this, null, () -> RequestService.getInboxCounts(barangay).getOrDefault(role, 0),
+            this::showInboxCount);
+        
+        ChangeNotifier.ChangeListener listener = changes -> {
+            int count = RequestService.getInboxCounts(barangay).getOrDefault(role, 0);
+            SwingUtilities.invokeLater(() -> showInboxCount(count));
+        };
+        ChangeNotifier.addListener("requests", listener);
+        changeSubscriptions.add(() -> ChangeNotifier.removeListener("requests", listener));
+    }
+    
+    private void showInboxCount(int count) {
+        for (JButton button : inboxButtons) {
+            String text = (String) button.getClientProperty(NAV_TEXT);
+            button.setText(count > 0 ? "<html>" + text + " <b style='color:#FF8A80'>(" + count + ")</b></html>" : text);
+            button.setToolTipText(count > 0 ? count + " request(s) waiting" : null);
+        }
     }
     
     private JPanel createOverviewPanel() {
@@ -317,13 +567,19 @@ public class DashboardFrame extends JFrame {
                 return;
             }
             
+            double w;
             try {
-                double w = Double.parseDouble(weight);
-                if (w <= 0) {
-                    JOptionPane.showMessageDialog(panel, "Weight must be greater than 0.", "Validation Error", JOptionPane.ERROR_MESSAGE);
-                    return;
-                }
-                
+                w = Double.parseDouble(weight);
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(panel, "Weight must be a valid number.", "Validation Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            if (w <= 0) {
+                JOptionPane.showMessageDialog(panel, "Weight must be greater than 0.", "Validation Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            BackgroundTask.run(panel, submitBtn, () -> {
                 // For Garbage Collector, save to managewasterecord.txt
                 // For other roles, save to their role-specific files
                 if (role.equals("Garbage Collector")) {
@@ -331,17 +587,16 @@ public class DashboardFrame extends JFrame {
                 } else {
                     WasteDataService.addRecord(role, date, location, w, type);
                 }
-                
+                return null;
+            }, ignored -> {
                 JOptionPane.showMessageDialog(panel, "Record added successfully!\nDate: " + date + "\nLocation: " + location + "\nWeight: " + w + " kg\nType: " + type, "Success", JOptionPane.INFORMATION_MESSAGE);
                 // Clear fields after successful submission
                 dateField.setText(new SimpleDateFormat("yyyy-MM-dd").format(new Date()));
                 weightField.setText("");
-            } catch (NumberFormatException ex) {
-                JOptionPane.showMessageDialog(panel, "Weight must be a valid number.", "Validation Error", JOptionPane.ERROR_MESSAGE);
-            } catch (Exception ex) {
+            }, ex -> {
                 JOptionPane.showMessageDialog(panel, "Error adding record: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
                 ex.printStackTrace();
-            }
+            });
         });
         formPanel.add(submitBtn);
         
@@ -357,15 +612,11 @@ public class DashboardFrame extends JFrame {
         title.setFont(new Font("Arial", Font.BOLD, 24));
         
         String[] columns = {"Num", "Date", "Barangay", "Location", "Weight (kg)", "Type", "Role"};
-        DefaultTableModel tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return column != 0; // ID not editable
-            }
-        };
+        // Tracks edited cells and deleted rows so Save only sends those
+        EditTrackingTableModel tableModel = new EditTrackingTableModel(columns, 0);
         
         // Load all records from all roles (except Barangay Member)
-        loadAllWasteRecords(tableModel);
+        BackgroundTask.run(this, null, this::loadVisibleWasteRecords, rows -> TableModels.setRows(tableModel, rows));
         
         JTable table = new JTable(tableModel);
         // Ensure only one request can be selected/processed at a time
@@ -376,6 +627,11 @@ public class DashboardFrame extends JFrame {
         table.setSelectionBackground(UIConstants.ACCENT_GREEN);
         table.setSelectionForeground(Color.WHITE);
         
+        // Search filters the loaded rows through an in-memory index
+        TableRowSorter<TableModel> sorter = new TableRowSorter<>(tableModel);
+        table.setRowSorter(sorter);
+        TableSearchIndex searchIndex = new TableSearchIndex(tableModel);
+        
         JPanel topPanel = new JPanel(new BorderLayout());
         topPanel.add(title, BorderLayout.NORTH);
         
@@ -385,36 +641,59 @@ public class DashboardFrame extends JFrame {
         editBtn.setBackground(new Color(70, 130, 180));
         editBtn.setForeground(Color.WHITE);
         editBtn.addActionListener(e -> {
-            try {
-                if (table.isEditing()) {
-                    table.getCellEditor().stopCellEditing();
+            if (table.isEditing()) {
+                table.getCellEditor().stopCellEditing();
+            }
+            // Only Garbage Collector records are edited here; other role records
+            // should be edited from their respective role panels.
+            // Column structure: {Num, Date, Barangay, Location, Weight, Type, Role}
+            // Send only edited fields: {id, date, location, weight, type, barangay}, null = unchanged
+            List<Object[]> updates = new ArrayList<>();
+            for (EditTrackingTableModel.Edit edit : tableModel.getEdits()) {
+                Object[] row = edit.row();
+                if (!"Garbage Collector".equals(row[6])) {
+                    continue;
                 }
-                // Save all Garbage Collector records to managewasterecord.txt
-                // Other role records should be edited from their respective role panels
-                // Column structure: {Num, Date, Barangay, Location, Weight, Type, Role}
-                List<Object[]> gcRecords = new ArrayList<>();
-                for (int i = 0; i < tableModel.getRowCount(); i++) {
-                    String recordRole = (String) tableModel.getValueAt(i, 6); // Role is at index 6
-                    if (recordRole != null && recordRole.equals("Garbage Collector")) {
-                        gcRecords.add(new Object[]{
-                            tableModel.getValueAt(i, 0), // id
-                            tableModel.getValueAt(i, 1), // date
-                            tableModel.getValueAt(i, 3), // location (index 3)
-                            tableModel.getValueAt(i, 4), // weight (index 4)
-                            tableModel.getValueAt(i, 5), // type (index 5)
-                            tableModel.getValueAt(i, 2)  // barangay (index 2)
-                        });
+                Double weight = null;
+                if (edit.columns().contains(4)) {
+                    try {
+                        weight = Double.parseDouble(row[4].toString().trim());
+                    } catch (NumberFormatException ex) {
+                        JOptionPane.showMessageDialog(panel, 
+                            "Invalid weight for record " + edit.id() + ": " + row[4], 
+                            "Save Error", JOptionPane.ERROR_MESSAGE);
+                        return;
                     }
                 }
-                if (!gcRecords.isEmpty()) {
-                    RequestService.saveManageWasteRecordsWithBarangay(gcRecords);
-                }
-                JOptionPane.showMessageDialog(panel, "Changes saved! (Note: Only Garbage Collector records are saved here)", "Success", JOptionPane.INFORMATION_MESSAGE);
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(panel, 
-                    "Error saving changes: " + ex.getMessage(), 
-                    "Save Error", JOptionPane.ERROR_MESSAGE);
+                updates.add(new Object[]{
+                    edit.id(),
+                    edit.columns().contains(1) ? String.valueOf(row[1]) : null, // date
+                    edit.columns().contains(3) ? String.valueOf(row[3]) : null, // location
+                    weight,
+                    edit.columns().contains(5) ? String.valueOf(row[5]) : null, // type
+                    edit.columns().contains(2) ? String.valueOf(row[2]) : null  // barangay
+                });
+            }
+            List<Integer> deletedIds = new ArrayList<>();
+            for (Object id : tableModel.getDeletedIds()) {
+                deletedIds.add((Integer) id);
+            }
+            if (updates.isEmpty() && deletedIds.isEmpty()) {
+                JOptionPane.showMessageDialog(panel, "No changes to save.", "Save Changes", JOptionPane.INFORMATION_MESSAGE);
+                return;
             }
+            
+            BackgroundTask.run(panel, editBtn, () -> RequestService.saveWasteRecordChanges(updates, deletedIds), changed -> {
+                if (changed < 0) {
+                    JOptionPane.showMessageDialog(panel, 
+                        "Error saving changes. Nothing was saved; please check console for details.", 
+                        "Save Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                tableModel.clearChanges();
+                JOptionPane.showMessageDialog(panel, "Changes saved! " + changed + " record(s) updated or deleted.\n" +
+                    "(Note: Only Garbage Collector record edits are saved here)", "Success", JOptionPane.INFORMATION_MESSAGE);
+            });
         });
         
         JButton deleteBtn = new JButton("🗑️ Delete Selected");
@@ -423,25 +702,12 @@ public class DashboardFrame extends JFrame {
         deleteBtn.addActionListener(e -> {
             int row = table.getSelectedRow();
             if (row >= 0) {
+                row = table.convertRowIndexToModel(row); // Table may be filtered or sorted
                 int confirm = JOptionPane.showConfirmDialog(panel, "Delete this record?", "Confirm Delete", JOptionPane.YES_NO_OPTION);
                 if (confirm == JOptionPane.YES_OPTION) {
-                    try {
-                        int id = (int) tableModel.getValueAt(row, 0);
-                        String recordRole = (String) tableModel.getValueAt(row, 6); // Role is in column 6
-                        
-                        // Delete based on the record's role
-                        if (recordRole != null && recordRole.equals("Garbage Collector")) {
-                            RequestService.deleteManageWasteRecord(id);
-                        } else if (recordRole != null) {
-                            WasteDataService.deleteRecord(recordRole, id);
-                        }
-                        tableModel.removeRow(row);
-                        JOptionPane.showMessageDialog(panel, "Record deleted successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                    } catch (Exception ex) {
-                        JOptionPane.showMessageDialog(panel, 
-                            "Error deleting record: " + ex.getMessage(), 
-                            "Delete Error", JOptionPane.ERROR_MESSAGE);
-                    }
+                    // Deleted together with the other changes on Save
+                    tableModel.markDeleted(row);
+                    JOptionPane.showMessageDialog(panel, "Record removed. Click Save Changes to delete it permanently.", "Success", JOptionPane.INFORMATION_MESSAGE);
                 }
             } else {
                 JOptionPane.showMessageDialog(panel, "Please select a row to delete.", "No Selection", JOptionPane.WARNING_MESSAGE);
@@ -452,64 +718,24 @@ public class DashboardFrame extends JFrame {
         refreshBtn.setBackground(UIConstants.ACCENT_GREEN);
         refreshBtn.setForeground(Color.WHITE);
         refreshBtn.addActionListener(e -> {
-            try {
-                tableModel.setRowCount(0);
-                loadAllWasteRecords(tableModel);
-                JOptionPane.showMessageDialog(panel, "Records refreshed successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(panel, 
-                    "Error refreshing records: " + ex.getMessage(), 
-                    "Refresh Error", JOptionPane.ERROR_MESSAGE);
+            if (tableModel.hasChanges() && JOptionPane.showConfirmDialog(panel, 
+                    "Discard unsaved changes and reload?", "Unsaved Changes", 
+                    JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) {
+                return;
             }
+            BackgroundTask.run(panel, refreshBtn, this::loadVisibleWasteRecords, rows -> {
+                TableModels.setRows(tableModel, rows);
+                JOptionPane.showMessageDialog(panel, "Records refreshed successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+            }, ex -> JOptionPane.showMessageDialog(panel, 
+                "Error refreshing records: " + ex.getMessage(), 
+                "Refresh Error", JOptionPane.ERROR_MESSAGE));
         });
         
         JTextField searchField = new JTextField(15);
         JButton searchBtn = new JButton("🔍 Search");
-        searchBtn.addActionListener(e -> {
-            String query = searchField.getText().trim().toLowerCase();
-            tableModel.setRowCount(0);
-            // Load all records and filter by search query (and barangay if Barangay Captain)
-            List<Object[]> allRecords = new ArrayList<>();
-            loadAllWasteRecordsToList(allRecords);
-            String userBarangay = (barangay != null) ? barangay.trim() : "";
-            for (Object[] row : allRecords) {
-                // For Barangay Captain: filter by barangay first (case-insensitive)
-                if (role.equals("Barangay Captain")) {
-                    String recordBarangay = (String) row[2]; // Barangay is at index 2
-                    String recordLocation = (String) row[3]; // Location is at index 3
-                    
-                    boolean matches = recordBarangay != null && 
-                                     recordBarangay.trim().equalsIgnoreCase(userBarangay);
-                    
-                    // If barangay is "N/A" or empty, try to match by location
-                    if (!matches && (recordBarangay == null || recordBarangay.trim().isEmpty() || 
-                        recordBarangay.trim().equalsIgnoreCase("N/A"))) {
-                        if (recordLocation != null) {
-                            String barangayFromLocation = getBarangayFromLocation(recordLocation);
-                            matches = barangayFromLocation.trim().equalsIgnoreCase(userBarangay);
-                        }
-                    }
-                    
-                    if (!matches) {
-                        continue; // Skip records not from this barangay
-                    }
-                }
-                
-                // Then filter by search query
-                boolean matchesQuery = query.isEmpty(); // If query is empty, show all
-                if (!matchesQuery) {
-                    for (Object cell : row) {
-                        if (cell != null && cell.toString().toLowerCase().contains(query)) {
-                            matchesQuery = true;
-                            break;
-                        }
-                    }
-                }
-                if (matchesQuery) {
-                    tableModel.addRow(row);
-                }
-            }
-        });
+        // Filter the rows already loaded (already filtered by barangay if Barangay Captain);
+        // an empty query shows all. Refresh reloads from the database.
+        searchBtn.addActionListener(e -> sorter.setRowFilter(searchIndex.filter(searchField.getText())));
 
         // Export button for flat-file (CSV) export of waste records
         JButton exportWasteBtn = new JButton("📄 Export Waste Records (CSV)");
@@ -521,18 +747,19 @@ public class DashboardFrame extends JFrame {
             int result = chooser.showSaveDialog(panel);
             if (result == JFileChooser.APPROVE_OPTION) {
                 File file = chooser.getSelectedFile();
-                boolean ok = WasteDataService.exportWasteRecordsToCsv(file);
-                if (ok) {
-                    JOptionPane.showMessageDialog(panel,
-                        "Waste records exported to:\n" + file.getAbsolutePath(),
-                        "Export Successful",
-                        JOptionPane.INFORMATION_MESSAGE);
-                } else {
-                    JOptionPane.showMessageDialog(panel,
-                        "Error exporting waste records. Please check console for details.",
-                        "Export Error",
-                        JOptionPane.ERROR_MESSAGE);
-                }
+                BackgroundTask.run(panel, exportWasteBtn, () -> WasteDataService.exportWasteRecordsToCsv(file), ok -> {
+                    if (ok) {
+                        JOptionPane.showMessageDialog(panel,
+                            "Waste records exported to:\n" + file.getAbsolutePath(),
+                            "Export Successful",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    } else {
+                        JOptionPane.showMessageDialog(panel,
+                            "Error exporting waste records. Please check console for details.",
+                            "Export Error",
+                            JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             }
         });
 
@@ -583,44 +810,16 @@ public class DashboardFrame extends JFrame {
         JButton summaryBtn = new JButton("📊 Generate Summary Report");
         summaryBtn.setBackground(UIConstants.PRIMARY_GREEN);
         summaryBtn.setForeground(Color.WHITE);
-        summaryBtn.addActionListener(e -> {
+        summaryBtn.addActionListener(e -> BackgroundTask.run(panel, summaryBtn, () -> {
             StringBuilder sb = new StringBuilder();
             sb.append("========================================\n");
             sb.append("   GREENVAULT WASTE MANAGEMENT REPORT\n");
             sb.append("   Generated: ").append(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date())).append("\n");
             sb.append("========================================\n\n");
             
-            // Load all records from all roles (except Barangay Member)
-            List<Object[]> allRecords = new ArrayList<>();
-            loadAllWasteRecordsToList(allRecords);
-            
-            // Filter by barangay only if user is Barangay Captain
-            List<Object[]> filteredRecords = new ArrayList<>();
-            String userBarangay = (barangay != null) ? barangay.trim() : "";
-            for (Object[] row : allRecords) {
-                if (role.equals("Barangay Captain")) {
-                    String recordBarangay = (String) row[2]; // Barangay is at index 2
-                    String recordLocation = (String) row[3]; // Location is at index 3
-                    
-                    boolean matches = recordBarangay != null && 
-                                     recordBarangay.trim().equalsIgnoreCase(userBarangay);
-                    
-                    // If barangay is "N/A" or empty, try to match by location
-                    if (!matches && (recordBarangay == null || recordBarangay.trim().isEmpty() || 
-                        recordBarangay.trim().equalsIgnoreCase("N/A"))) {
-                        if (recordLocation != null) {
-                            String barangayFromLocation = getBarangayFromLocation(recordLocation);
-                            matches = barangayFromLocation.trim().equalsIgnoreCase(userBarangay);
-                        }
-                    }
-                    
-                    if (matches) {
-                        filteredRecords.add(row);
-                    }
-                } else {
-                    filteredRecords.add(row);
-                }
-            }
+            // Load all records from all roles (except Barangay Member),
+            // filtered by barangay only if user is Barangay Captain
+            List<Object[]> filteredRecords = loadVisibleWasteRecords();
             
             double totalWeight = 0;
             Map<String, Double> byType = new HashMap<>();
@@ -660,8 +859,8 @@ public class DashboardFrame extends JFrame {
                 sb.append("  - ").append(entry.getKey()).append(": ").append(entry.getValue()).append(" records\n");
             }
             
-            reportArea.setText(sb.toString());
-        });
+            return sb.toString();
+        }, reportArea::setText));
         
         JButton exportCsvBtn = new JButton("⬇️ Export to CSV");
         exportCsvBtn.setBackground(UIConstants.ACCENT_GREEN);
@@ -670,46 +869,26 @@ public class DashboardFrame extends JFrame {
             JFileChooser chooser = new JFileChooser();
             chooser.setSelectedFile(new java.io.File("waste_records_report.csv"));
             if (chooser.showSaveDialog(panel) == JFileChooser.APPROVE_OPTION) {
-                try (FileWriter writer = new FileWriter(chooser.getSelectedFile())) {
-                    writer.write("ID,Date,Barangay,Location,Weight(kg),Type,Role\n");
-                    // Load all records from all roles (except Barangay Member)
-                    List<Object[]> allRecords = new ArrayList<>();
-                    loadAllWasteRecordsToList(allRecords);
-                    int count = 0;
-                    String userBarangay = (barangay != null) ? barangay.trim() : "";
-                    for (Object[] row : allRecords) {
-                        // Filter by barangay only if user is Barangay Captain (case-insensitive)
-                        if (role.equals("Barangay Captain")) {
-                            String recordBarangay = (String) row[2]; // Barangay is at index 2
-                            String recordLocation = (String) row[3]; // Location is at index 3
-                            
-                            boolean matches = recordBarangay != null && 
-                                             recordBarangay.trim().equalsIgnoreCase(userBarangay);
-                            
-                            // If barangay is "N/A" or empty, try to match by location
-                            if (!matches && (recordBarangay == null || recordBarangay.trim().isEmpty() || 
-                                recordBarangay.trim().equalsIgnoreCase("N/A"))) {
-                                if (recordLocation != null) {
-                                    String barangayFromLocation = getBarangayFromLocation(recordLocation);
-                                    matches = barangayFromLocation.trim().equalsIgnoreCase(userBarangay);
-                                }
-                            }
-                            
-                            if (!matches) {
-                                continue; // Skip records not from this barangay
-                            }
+                File file = chooser.getSelectedFile();
+                BackgroundTask.run(panel, exportCsvBtn, () -> {
+                    try (FileWriter writer = new FileWriter(file)) {
+                        writer.write("ID,Date,Barangay,Location,Weight(kg),Type,Role\n");
+                        // Load all records from all roles (except Barangay Member),
+                        // filtered by barangay only if user is Barangay Captain
+                        int count = 0;
+                        for (Object[] row : loadVisibleWasteRecords()) {
+                            // Format: {id, date, barangay, location, weight, type, role}
+                            writer.write(row[0] + "," + row[1] + "," + row[2] + "," + row[3] + "," + row[4] + "," + row[5] + "," + (row.length > 6 ? row[6] : "N/A") + "\n");
+                            count++;
                         }
-                        // Format: {id, date, barangay, location, weight, type, role}
-                        writer.write(row[0] + "," + row[1] + "," + row[2] + "," + row[3] + "," + row[4] + "," + row[5] + "," + (row.length > 6 ? row[6] : "N/A") + "\n");
-                        count++;
+                        return count;
                     }
+                }, count -> {
                     String message = role.equals("Barangay Captain")
                         ? "CSV exported successfully! Total records from " + barangay + ": " + count
                         : "CSV exported successfully! Total records: " + count;
                     JOptionPane.showMessageDialog(panel, message, "Export Complete", JOptionPane.INFORMATION_MESSAGE);
-                } catch (IOException ex) {
-                    JOptionPane.showMessageDialog(panel, "Error exporting: " + ex.getMessage(), "Export Error", JOptionPane.ERROR_MESSAGE);
-                }
+                }, ex -> JOptionPane.showMessageDialog(panel, "Error exporting: " + ex.getMessage(), "Export Error", JOptionPane.ERROR_MESSAGE));
             }
         });
         
@@ -720,7 +899,11 @@ public class DashboardFrame extends JFrame {
             JFileChooser chooser = new JFileChooser();
             chooser.setSelectedFile(new java.io.File("waste_records_report.txt"));
             if (chooser.showSaveDialog(panel) == JFileChooser.APPROVE_OPTION) {
-                exportToTextFile(chooser.getSelectedFile(), panel, role, barangay);
+                File file = chooser.getSelectedFile();
+                BackgroundTask.run(panel, exportTxtBtn, () -> exportToTextFile(file, role, barangay),
+                    message -> JOptionPane.showMessageDialog(panel, message, "Export Complete", JOptionPane.INFORMATION_MESSAGE),
+                    ex -> JOptionPane.showMessageDialog(panel, "Error exporting to text file: " + ex.getMessage(), 
+                        "Export Error", JOptionPane.ERROR_MESSAGE));
             }
         });
         
@@ -731,7 +914,7 @@ public class DashboardFrame extends JFrame {
             JFileChooser chooser = new JFileChooser();
             chooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("CSV Files", "csv"));
             if (chooser.showOpenDialog(panel) == JFileChooser.APPROVE_OPTION) {
-                importFromCSV(chooser.getSelectedFile(), panel);
+                runCsvImport(panel, importCsvBtn, chooser.getSelectedFile(), null);
             }
         });
         
@@ -795,27 +978,26 @@ public class DashboardFrame extends JFrame {
         approveBtn.addActionListener(e -> {
             int row = table.getSelectedRow();
             if (row >= 0) {
+                row = table.convertRowIndexToModel(row); // Table may be filtered
                 String username = (String) tableModel.getValueAt(row, 0);
                 
-                // Get user data from pending (try both Pending and Approved status)
-                Object[] userData = UserApprovalService.getPendingUserData(username);
-                if (userData == null) {
-                    // If not found in Pending, try to get from any status (for already approved users)
-                    userData = UserApprovalService.getUserDataByUsername(username);
-                }
-                
-                if (userData != null) {
+                BackgroundTask.run(panel, approveBtn, () -> {
+                    // Get user data from pending (try both Pending and Approved status)
+                    Object[] userData = UserApprovalService.getPendingUserData(username);
+                    if (userData == null) {
+                        // If not found in Pending, try to get from any status (for already approved users)
+                        userData = UserApprovalService.getUserDataByUsername(username);
+                    }
+                    if (userData == null) {
+                        return new ApprovalResult(ApprovalResult.NOT_FOUND, null);
+                    }
+                    
                     // userData format: {password, role, id}
                     String role = (String) userData[1];
                     
                     // Check if user already exists in the system (safety check)
-                    Object[] existingUser = UserAuthenticationService.getUserInfo(username);
-                    if (existingUser != null) {
-                        JOptionPane.showMessageDialog(panel, 
-                            "User " + username + " already exists in the system!", 
-                            "User Already Exists", JOptionPane.WARNING_MESSAGE);
-                        refreshPendingTable(tableModel);
-                        return;
+                    if (UserAuthenticationService.getUserInfo(username) != null) {
+                        return new ApprovalResult(ApprovalResult.ALREADY_EXISTS, role);
                     }
                     
                     // Approve AND register the user in one service call.
@@ -823,21 +1005,30 @@ public class DashboardFrame extends JFrame {
                     //  1) Update status to 'Approved' in pending_registrations
                     //  2) Register user to the correct role .txt file
                     //  3) Create the user in the main users table
-                    if (UserApprovalService.approveAndRegister(username)) {
+                    boolean approved = UserApprovalService.approveAndRegister(username);
+                    return new ApprovalResult(approved ? ApprovalResult.APPROVED : ApprovalResult.FAILED, role);
+                }, result -> {
+                    switch (result.outcome()) {
+                        case ApprovalResult.APPROVED -> {
                             refreshPendingTable(tableModel);
                             JOptionPane.showMessageDialog(panel, 
-                                "User " + username + " (" + role + ") has been approved and registered to " + 
-                                RoleDataFileService.getDataFilePath(role) + "!", 
+                                "User " + username + " (" + result.role() + ") has been approved and registered to " + 
+                                RoleDataFileService.getDataFilePath(result.role()) + "!", 
                                 "Approval Successful", JOptionPane.INFORMATION_MESSAGE);
-                    } else {
-                        JOptionPane.showMessageDialog(panel, "Error approving registration.", 
+                        }
+                        case ApprovalResult.ALREADY_EXISTS -> {
+                            JOptionPane.showMessageDialog(panel, 
+                                "User " + username + " already exists in the system!", 
+                                "User Already Exists", JOptionPane.WARNING_MESSAGE);
+                            refreshPendingTable(tableModel);
+                        }
+                        case ApprovalResult.NOT_FOUND -> JOptionPane.showMessageDialog(panel, 
+                            "User data not found in pending registrations.", 
+                            "Data Not Found", JOptionPane.WARNING_MESSAGE);
+                        default -> JOptionPane.showMessageDialog(panel, "Error approving registration.", 
                             "Approval Error", JOptionPane.ERROR_MESSAGE);
                     }
-                } else {
-                    JOptionPane.showMessageDialog(panel, 
-                        "User data not found in pending registrations.", 
-                        "Data Not Found", JOptionPane.WARNING_MESSAGE);
-                }
+                });
             } else {
                 JOptionPane.showMessageDialog(panel, "Please select a registration to approve.", 
                     "No Selection", JOptionPane.WARNING_MESSAGE);
@@ -850,20 +1041,23 @@ public class DashboardFrame extends JFrame {
         rejectBtn.addActionListener(e -> {
             int row = table.getSelectedRow();
             if (row >= 0) {
+                row = table.convertRowIndexToModel(row); // Table may be filtered
                 String username = (String) tableModel.getValueAt(row, 0);
                 int confirm = JOptionPane.showConfirmDialog(panel, 
                     "Reject registration for " + username + "?", 
                     "Confirm Rejection", JOptionPane.YES_NO_OPTION);
                 
                 if (confirm == JOptionPane.YES_OPTION) {
-                    if (UserApprovalService.rejectRegistration(username)) {
-                        refreshPendingTable(tableModel);
-                        JOptionPane.showMessageDialog(panel, "Registration rejected.", 
-                            "Rejection Successful", JOptionPane.INFORMATION_MESSAGE);
-                    } else {
-                        JOptionPane.showMessageDialog(panel, "Error rejecting registration.", 
-                            "Rejection Error", JOptionPane.ERROR_MESSAGE);
-                    }
+                    BackgroundTask.run(panel, rejectBtn, () -> UserApprovalService.rejectRegistration(username), rejected -> {
+                        if (rejected) {
+                            refreshPendingTable(tableModel);
+                            JOptionPane.showMessageDialog(panel, "Registration rejected.", 
+                                "Rejection Successful", JOptionPane.INFORMATION_MESSAGE);
+                        } else {
+                            JOptionPane.showMessageDialog(panel, "Error rejecting registration.", 
+                                "Rejection Error", JOptionPane.ERROR_MESSAGE);
+                        }
+                    });
                 }
             } else {
                 JOptionPane.showMessageDialog(panel, "Please select a registration to reject.", 
@@ -887,18 +1081,28 @@ public class DashboardFrame extends JFrame {
         return panel;
     }
     
+    /**
+     * Outcome of approving a pending registration in the background.
+     */
+    private record ApprovalResult(String outcome, String role) {
+        static final String APPROVED = "APPROVED";
+        static final String ALREADY_EXISTS = "ALREADY_EXISTS";
+        static final String NOT_FOUND = "NOT_FOUND";
+        static final String FAILED = "FAILED";
+    }
+    
     private void refreshPendingTable(DefaultTableModel tableModel) {
-        try {
-            tableModel.setRowCount(0);
+        // Load off the EDT, then swap the rows in
+        BackgroundTask.run(this, null, () -> {
+            List<Object[]> rows = new ArrayList<>();
             for (Object[] row : UserApprovalService.getPendingRegistrations()) {
                 // row format: {username, password, role, id, status}
-                tableModel.addRow(new Object[]{row[0], row[2], row[3], row[4]});
+                rows.add(new Object[]{row[0], row[2], row[3], row[4]});
             }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(null, 
-                "Error refreshing pending registrations: " + e.getMessage(), 
-                "Refresh Error", JOptionPane.ERROR_MESSAGE);
-        }
+            return rows;
+        }, rows -> TableModels.setRows(tableModel, rows), e -> JOptionPane.showMessageDialog(this, 
+            "Error refreshing pending registrations: " + e.getMessage(), 
+            "Refresh Error", JOptionPane.ERROR_MESSAGE));
     }
     
     private JPanel createRequestPanel() {
@@ -1064,19 +1268,21 @@ public class DashboardFrame extends JFrame {
                 return;
             }
             
-            // Include weight in the description
-            String fullDescription = String.format("Weight: %.2f kg | %s", weight, description);
-            
-            boolean success = RequestService.createRequest(username, barangay, "Waste Collection", location, fullDescription, numSacks, wasteType);
-            if (success) {
-                JOptionPane.showMessageDialog(panel, "Request submitted successfully! The Barangay Captain will review it.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                wasteLocationField.setText("");
-                wasteDescArea.setText("");
-                sacksField.setText("");
-                weightField.setText("");
-            } else {
-                JOptionPane.showMessageDialog(panel, "Error submitting request. Please try again.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            int sacks = numSacks;
+            double requestWeight = weight;
+            BackgroundTask.run(panel, wasteSubmitBtn,
+                () -> RequestService.createRequest(username, barangay, "Waste Collection", location, description, sacks, wasteType, requestWeight),
+                success -> {
+                    if (success) {
+                        JOptionPane.showMessageDialog(panel, "Request submitted successfully! The Barangay Captain will review it.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                        wasteLocationField.setText("");
+                        wasteDescArea.setText("");
+                        sacksField.setText("");
+                        weightField.setText("");
+                    } else {
+                        JOptionPane.showMessageDialog(panel, "Error submitting request. Please try again.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                });
         });
         
         equipmentSubmitBtn.addActionListener(e -> {
@@ -1107,15 +1313,18 @@ public class DashboardFrame extends JFrame {
             String description = String.format("Equipment: %s | Quantity: %d | Specs: %s | Purpose: %s", 
                 equipmentType, quantity, specs.isEmpty() ? "N/A" : specs, purpose);
             
-            boolean success = RequestService.createRequest(username, barangay, "Equipment Request", "N/A", description, 0, "N/A");
-            if (success) {
-                JOptionPane.showMessageDialog(panel, "Request submitted successfully! The Barangay Captain will review it.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                equipmentQtyField.setText("");
-                equipmentSpecArea.setText("");
-                equipmentDescArea.setText("");
-            } else {
-                JOptionPane.showMessageDialog(panel, "Error submitting request. Please try again.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            BackgroundTask.run(panel, equipmentSubmitBtn,
+                () -> RequestService.createRequest(username, barangay, "Equipment Request", "N/A", description, 0, "N/A"),
+                success -> {
+                    if (success) {
+                        JOptionPane.showMessageDialog(panel, "Request submitted successfully! The Barangay Captain will review it.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                        equipmentQtyField.setText("");
+                        equipmentSpecArea.setText("");
+                        equipmentDescArea.setText("");
+                    } else {
+                        JOptionPane.showMessageDialog(panel, "Error submitting request. Please try again.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                });
         });
         
         // Main container
@@ -1139,13 +1348,7 @@ public class DashboardFrame extends JFrame {
         title.setFont(new Font("Arial", Font.BOLD, 24));
         panel.add(title, BorderLayout.NORTH);
         
-        String[] columns = {"ID", "Date/Time", "Requester", "Barangay", "Type", "Location", "Description", "Sacks", "Weight (kg)", "Waste Type", "Status"};
-        DefaultTableModel tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Read-only table
-            }
-        };
+        RecordTableModel<RequestRow> tableModel = new RecordTableModel<>(RequestRow.columns());
         
         JTable table = new JTable(tableModel);
         table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -1156,46 +1359,27 @@ public class DashboardFrame extends JFrame {
         table.setSelectionForeground(Color.WHITE);
         
         // Load requests once when opening the view
-        refreshRequestsTable(tableModel);
+        Runnable refreshQueue = () -> refreshRequestQueue(tableModel, () -> RequestService.getBarangayRequests(barangay));
+        refreshQueue.run();
+        patchOnRequestChange(tableModel, req -> RequestService.isInBarangayQueue(req, barangay), refreshQueue);
+        
+        // View-only table; search filters as you type
+        JTextField searchField = new JTextField(15);
+        IncrementalSearch.attach(table, searchField);
+        JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
+        searchPanel.add(new JLabel("Search:"));
+        searchPanel.add(searchField);
         
-        // Pure view-only table (no action buttons)
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.add(title, BorderLayout.NORTH);
+        topPanel.add(searchPanel, BorderLayout.SOUTH);
+        panel.add(topPanel, BorderLayout.NORTH);
         panel.add(new JScrollPane(table), BorderLayout.CENTER);
+        panel.add(createRequestDetailPane(table, tableModel), BorderLayout.SOUTH);
         
         return panel;
     }
     
-    private void refreshRequestsTable(DefaultTableModel tableModel) {
-        try {
-            tableModel.setRowCount(0);
-            for (Object[] row : RequestService.getBarangayRequests(barangay)) {
-                // Row format: {id, timestamp, requester, barangay, type, location, description, numSacks, wasteType, status}
-                // Need to add weight column: {id, timestamp, requester, barangay, type, location, description, numSacks, weight, wasteType, status}
-                String description = (String) row[6];
-                String weight = extractWeightFromDescription(description);
-                String cleanDescription = removeWeightFromDescription(description);
-                
-                Object[] newRow = new Object[]{
-                    row[0],  // id
-                    row[1],  // timestamp
-                    row[2],  // requester
-                    row[3],  // barangay
-                    row[4],  // type
-                    row[5],  // location
-                    cleanDescription,  // description (without weight prefix)
-                    row[7],  // numSacks
-                    weight,  // weight (extracted)
-                    row[8],  // wasteType
-                    row[9]   // status
-                };
-                tableModel.addRow(newRow);
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(null, 
-                "Error refreshing requests: " + e.getMessage(), 
-                "Refresh Error", JOptionPane.ERROR_MESSAGE);
-        }
-    }
-    
     private JPanel createBarangayCaptainRequestsPanel() {
         JPanel panel = new JPanel(new BorderLayout(10, 10));
         panel.setBorder(new EmptyBorder(10, 10, 10, 10));
@@ -1204,16 +1388,10 @@ public class DashboardFrame extends JFrame {
         title.setFont(new Font("Arial", Font.BOLD, 24));
         panel.add(title, BorderLayout.NORTH);
         
-        String[] columns = {"ID", "Date/Time", "Requester", "Barangay", "Type", "Location", "Description", "Sacks", "Weight (kg)", "Waste Type", "Status"};
-        DefaultTableModel tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Read-only table
-            }
-        };
+        RecordTableModel<RequestRow> tableModel = new RecordTableModel<>(RequestRow.columns());
         
         JTable table = new JTable(tableModel);
-        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION); // Bulk actions
         table.setRowHeight(25);
         table.getTableHeader().setBackground(UIConstants.PRIMARY_GREEN);
         table.getTableHeader().setForeground(Color.BLACK);
@@ -1221,7 +1399,9 @@ public class DashboardFrame extends JFrame {
         table.setSelectionForeground(Color.WHITE);
         
         // Load requests (from Barangay Member request file for this captain's barangay)
-        refreshCaptainRequestsTable(tableModel);
+        Runnable refreshQueue = () -> refreshRequestQueue(tableModel, () -> RequestService.getBarangayRequests(barangay));
+        refreshQueue.run();
+        patchOnRequestChange(tableModel, req -> RequestService.isInBarangayQueue(req, barangay), refreshQueue);
         
         JPanel topPanel = new JPanel(new BorderLayout());
         
@@ -1231,52 +1411,13 @@ public class DashboardFrame extends JFrame {
         approveBtn.setBackground(new Color(34, 139, 34));
         approveBtn.setForeground(Color.WHITE);
         approveBtn.addActionListener(e -> {
-            int row = table.getSelectedRow();
-            if (row >= 0) {
-                // Get request data directly from the table row
-                int requestId = (Integer) tableModel.getValueAt(row, 0);
-                String timestamp = (String) tableModel.getValueAt(row, 1);
-                
-                // Get request data from the Barangay Member requests list using both ID and timestamp
-                List<Object[]> allRequests = RequestService.getBarangayRequests(barangay);
-                Object[] requestData = null;
-                for (Object[] req : allRequests) {
-                    if ((Integer) req[0] == requestId && req[1].equals(timestamp)) {
-                        requestData = req;
-                        break;
-                    }
-                }
-                
-                if (requestData != null) {
-                    // Update status in Barangay Member request file
-                    boolean success = RequestService.updateRequestStatus(barangay, requestId, timestamp, "Approved by Barangay Captain");
-                    
-                    if (success) {
-                        // Forward directly to City Officer and remove from Barangay Member file
-                        boolean forwarded = RequestService.forwardFromMemberToCityOfficer(barangay, requestData);
-                        if (forwarded) {
-                            refreshCaptainRequestsTable(tableModel);
-                            JOptionPane.showMessageDialog(panel, 
-                                "Request approved and forwarded to City Officer!", 
-                                "Success", JOptionPane.INFORMATION_MESSAGE);
-                        } else {
-                            refreshCaptainRequestsTable(tableModel);
-                            JOptionPane.showMessageDialog(panel, 
-                                "Request approved but error forwarding to City Officer.", 
-                                "Warning", JOptionPane.WARNING_MESSAGE);
-                        }
-                    } else {
-                        JOptionPane.showMessageDialog(panel, 
-                            "Error updating request status. Please try again.", 
-                            "Error", JOptionPane.ERROR_MESSAGE);
-                    }
-                } else {
-                    JOptionPane.showMessageDialog(panel, 
-                        "Request not found. Please refresh and try again.", 
-                        "Error", JOptionPane.ERROR_MESSAGE);
-                }
+            Map<Integer, String> selected = getSelectedRequests(table, tableModel);
+            if (!selected.isEmpty()) {
+                runWorkflowAction(panel, approveBtn, selected, "Barangay Captain", RequestWorkflow.Action.APPROVE,
+                    refreshQueue, "approved and forwarded to City Officer",
+                    "Error approving request. Please try again.");
             } else {
-                JOptionPane.showMessageDialog(panel, "Please select a request to approve.", "No Selection", JOptionPane.WARNING_MESSAGE);
+                JOptionPane.showMessageDialog(panel, "Please select one or more requests to approve.", "No Selection", JOptionPane.WARNING_MESSAGE);
             }
         });
         
@@ -1284,21 +1425,13 @@ public class DashboardFrame extends JFrame {
         rejectBtn.setBackground(new Color(200, 70, 70));
         rejectBtn.setForeground(Color.WHITE);
         rejectBtn.addActionListener(e -> {
-            int row = table.getSelectedRow();
-            if (row >= 0) {
-                int requestId = (Integer) tableModel.getValueAt(row, 0);
-                String timestamp = (String) tableModel.getValueAt(row, 1);
-                boolean success = RequestService.updateRequestStatus(barangay, requestId, timestamp, "Rejected by Barangay Captain");
-                if (success) {
-                    refreshCaptainRequestsTable(tableModel);
-                    JOptionPane.showMessageDialog(panel, "Request rejected.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                } else {
-                    JOptionPane.showMessageDialog(panel, 
-                        "Error rejecting request. Please try again.", 
-                        "Error", JOptionPane.ERROR_MESSAGE);
-                }
+            Map<Integer, String> selected = getSelectedRequests(table, tableModel);
+            if (!selected.isEmpty()) {
+                runWorkflowAction(panel, rejectBtn, selected, "Barangay Captain", RequestWorkflow.Action.REJECT,
+                    refreshQueue, "rejected",
+                    "Error rejecting request. Please try again.");
             } else {
-                JOptionPane.showMessageDialog(panel, "Please select a request to reject.", "No Selection", JOptionPane.WARNING_MESSAGE);
+                JOptionPane.showMessageDialog(panel, "Please select one or more requests to reject.", "No Selection", JOptionPane.WARNING_MESSAGE);
             }
         });
         
@@ -1306,120 +1439,130 @@ public class DashboardFrame extends JFrame {
         completeBtn.setBackground(new Color(70, 130, 180));
         completeBtn.setForeground(Color.WHITE);
         completeBtn.addActionListener(e -> {
-            int row = table.getSelectedRow();
-            if (row >= 0) {
-                int requestId = (Integer) tableModel.getValueAt(row, 0);
-                String timestamp = (String) tableModel.getValueAt(row, 1);
-                boolean success = RequestService.updateRequestStatus(barangay, requestId, timestamp, "Completed by Barangay Captain");
-                if (success) {
-                    refreshCaptainRequestsTable(tableModel);
-                    JOptionPane.showMessageDialog(panel, "Request marked as completed!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                } else {
-                    JOptionPane.showMessageDialog(panel, 
-                        "Error completing request. Please try again.", 
-                        "Error", JOptionPane.ERROR_MESSAGE);
-                }
+            Map<Integer, String> selected = getSelectedRequests(table, tableModel);
+            if (!selected.isEmpty()) {
+                runWorkflowAction(panel, completeBtn, selected, "Barangay Captain", RequestWorkflow.Action.COMPLETE,
+                    refreshQueue, "marked as completed",
+                    "Error completing request. Please try again.");
             } else {
-                JOptionPane.showMessageDialog(panel, "Please select a request to complete.", "No Selection", JOptionPane.WARNING_MESSAGE);
+                JOptionPane.showMessageDialog(panel, "Please select one or more requests to complete.", "No Selection", JOptionPane.WARNING_MESSAGE);
             }
         });
         
         JButton refreshBtn = new JButton("🔄 Refresh");
         refreshBtn.setBackground(UIConstants.ACCENT_GREEN);
         refreshBtn.setForeground(Color.WHITE);
-        refreshBtn.addActionListener(e -> refreshCaptainRequestsTable(tableModel));
+        refreshBtn.addActionListener(e -> refreshQueue.run());
+        
+        JTextField searchField = new JTextField(15);
+        IncrementalSearch.attach(table, searchField);
         
         tableControl.add(approveBtn);
         tableControl.add(rejectBtn);
         tableControl.add(completeBtn);
         tableControl.add(refreshBtn);
+        tableControl.add(new JLabel("  Search:"));
+        tableControl.add(searchField);
         
         topPanel.add(tableControl, BorderLayout.SOUTH);
         panel.add(topPanel, BorderLayout.NORTH);
         panel.add(new JScrollPane(table), BorderLayout.CENTER);
+        panel.add(createRequestDetailPane(table, tableModel), BorderLayout.SOUTH);
         
         return panel;
     }
     
     /**
-     * Helper method to extract weight from description.
-     * Description format: "Weight: X.XX kg | [rest of description]"
-     * @param description The description string
-     * @return Weight as string, or "N/A" if not found
+     * Creates the pane under a request queue table that shows the selected request's
+     * description and history. Both are loaded on selection, not with the listing.
      */
-    private String extractWeightFromDescription(String description) {
-        if (description == null || description.isEmpty()) {
-            return "N/A";
-        }
-        // Look for pattern "Weight: X.XX kg"
-        int weightIndex = description.indexOf("Weight:");
-        if (weightIndex != -1) {
-            int start = weightIndex + 7; // Skip "Weight:"
-            int end = description.indexOf(" kg", start);
-            if (end != -1) {
-                try {
-                    String weightStr = description.substring(start, end).trim();
-                    // Validate it's a number
-                    Double.parseDouble(weightStr);
-                    return weightStr;
-                } catch (Exception e) {
-                    return "N/A";
-                }
+    private JComponent createRequestDetailPane(JTable table, RecordTableModel<RequestRow> tableModel) {
+        JTextArea detailArea = new JTextArea(4, 40);
+        detailArea.setEditable(false);
+        detailArea.setLineWrap(true);
+        detailArea.setWrapStyleWord(true);
+        JTextArea historyArea = new JTextArea(4, 40);
+        historyArea.setEditable(false);
+        
+        JScrollPane detailScroll = new JScrollPane(detailArea);
+        detailScroll.setBorder(BorderFactory.createTitledBorder("Description"));
+        JScrollPane historyScroll = new JScrollPane(historyArea);
+        historyScroll.setBorder(BorderFactory.createTitledBorder("History"));
+        
+        table.getSelectionModel().addListSelectionListener(e -> {
+            if (e.getValueIsAdjusting()) {
+                return;
             }
-        }
-        return "N/A";
+            int row = table.getSelectedRow();
+            if (row < 0) {
+                detailArea.setText("");
+                historyArea.setText("");
+                return;
+            }
+            int requestId = tableModel.getRow(table.convertRowIndexToModel(row)).id(); // Table may be filtered
+            // Results are ignored if the selection moved on while loading
+            BooleanSupplier stillSelected = () -> {
+                int selected = table.getSelectedRow();
+                return selected >= 0 && tableModel.getRow(table.convertRowIndexToModel(selected)).id() == requestId;
+            };
+            detailArea.setText("Loading...");
+            historyArea.setText("Loading...");
+            BackgroundTask.run(table, null, () -> RequestService.getRequestDescription(requestId), description -> {
+                if (stillSelected.getAsBoolean()) {
+                    detailArea.setText(description != null ? description : "");
+                    detailArea.setCaretPosition(0);
+                }
+            });
+            BackgroundTask.run(table, null, () -> RequestService.getRequestHistory(requestId), history -> {
+                if (stillSelected.getAsBoolean()) {
+                    historyArea.setText(String.join("\n", history));
+                    historyArea.setCaretPosition(0);
+                }
+            });
+        });
+        
+        JPanel detailPane = new JPanel(new GridLayout(1, 2, 10, 0));
+        detailPane.add(detailScroll);
+        detailPane.add(historyScroll);
+        return detailPane;
     }
     
     /**
-     * Helper method to remove weight prefix from description.
-     * @param description The description string
-     * @return Description without weight prefix
+     * Reloads a request queue table: the rows are loaded off the EDT, then swapped in.
+     * @param tableModel The queue table's model
+     * @param loader Loads the queue's requests in service format
      */
-    private String removeWeightFromDescription(String description) {
-        if (description == null || description.isEmpty()) {
-            return description;
-        }
-        // Remove "Weight: X.XX kg | " prefix if present
-        int weightIndex = description.indexOf("Weight:");
-        if (weightIndex != -1) {
-            int pipeIndex = description.indexOf("|", weightIndex);
-            if (pipeIndex != -1 && pipeIndex + 1 < description.length()) {
-                return description.substring(pipeIndex + 1).trim();
-            }
-        }
-        return description;
+    private void refreshRequestQueue(RecordTableModel<RequestRow> tableModel, Supplier<List<Object[]>> loader) {
+        BackgroundTask.run(this, null, () -> {
+            List<RequestRow> rows = new ArrayList<>();
+            for (Object[] row : loader.get()) {
+                rows.add(toRequestTableRow(row));
+            }
+            return rows;
+        }, tableModel::setRows, e -> JOptionPane.showMessageDialog(this, 
+            "Error refreshing requests: " + e.getMessage(), 
+            "Refresh Error", JOptionPane.ERROR_MESSAGE));
     }
     
-    private void refreshCaptainRequestsTable(DefaultTableModel tableModel) {
-        try {
-            tableModel.setRowCount(0);
-            for (Object[] row : RequestService.getBarangayRequests(barangay)) {
-                // Row format: {id, timestamp, requester, barangay, type, location, description, numSacks, wasteType, status}
-                // Need to add weight column: {id, timestamp, requester, barangay, type, location, description, numSacks, weight, wasteType, status}
-                String description = (String) row[6];
-                String weight = extractWeightFromDescription(description);
-                String cleanDescription = removeWeightFromDescription(description);
-                
-                Object[] newRow = new Object[]{
-                    row[0],  // id
-                    row[1],  // timestamp
-                    row[2],  // requester
-                    row[3],  // barangay
-                    row[4],  // type
-                    row[5],  // location
-                    cleanDescription,  // description (without weight prefix)
-                    row[7],  // numSacks
-                    weight,  // weight (extracted)
-                    row[8],  // wasteType
-                    row[9]   // status
-                };
-                tableModel.addRow(newRow);
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(null, 
-                "Error refreshing requests: " + e.getMessage(), 
-                "Refresh Error", JOptionPane.ERROR_MESSAGE);
-        }
+    /**
+     * Converts a request in service format to a queue table row.
+     * Row format: {id, timestamp, requester, barangay, type, location, description, numSacks, wasteType, status, weight, overdue}
+     */
+    private RequestRow toRequestTableRow(Object[] row) {
+        Double weight = (Double) row[10];
+        return new RequestRow(
+            (Integer) row[0],  // id
+            (String) row[1],   // timestamp
+            (String) row[2],   // requester
+            (String) row[3],   // barangay
+            (String) row[4],   // type
+            (String) row[5],   // location
+            (Integer) row[7],  // numSacks
+            weight != null ? String.format("%.2f", weight) : "N/A",  // weight
+            (String) row[8],   // wasteType
+            (String) row[9],   // status
+            Boolean.TRUE.equals(row[11]) // overdue
+        );
     }
     
     private JPanel createCityOfficerRequestsPanel() {
@@ -1430,13 +1573,7 @@ public class DashboardFrame extends JFrame {
         title.setFont(new Font("Arial", Font.BOLD, 24));
         panel.add(title, BorderLayout.NORTH);
         
-        String[] columns = {"ID", "Date/Time", "Requester", "Barangay", "Type", "Location", "Description", "Sacks", "Weight (kg)", "Waste Type", "Status"};
-        DefaultTableModel tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        RecordTableModel<RequestRow> tableModel = new RecordTableModel<>(RequestRow.columns());
         
         JTable table = new JTable(tableModel);
         table.setRowHeight(25);
@@ -1445,7 +1582,9 @@ public class DashboardFrame extends JFrame {
         table.setSelectionBackground(UIConstants.ACCENT_GREEN);
         table.setSelectionForeground(Color.WHITE);
         
-        refreshCityOfficerRequestsTable(tableModel);
+        Runnable refreshQueue = () -> refreshRequestQueue(tableModel, RequestService::getCityOfficerRequests);
+        refreshQueue.run();
+        patchOnRequestChange(tableModel, req -> RequestService.isInTargetRoleQueue(req, "City Officer"), refreshQueue);
         
         JPanel topPanel = new JPanel(new BorderLayout());
         JPanel tableControl = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
@@ -1454,47 +1593,13 @@ public class DashboardFrame extends JFrame {
         approveBtn.setBackground(new Color(34, 139, 34));
         approveBtn.setForeground(Color.WHITE);
         approveBtn.addActionListener(e -> {
-            int row = table.getSelectedRow();
-            if (row >= 0) {
-                int requestId = (Integer) tableModel.getValueAt(row, 0);
-                String timestamp = (String) tableModel.getValueAt(row, 1);
-                
-                List<Object[]> allRequests = RequestService.getCityOfficerRequests();
-                Object[] requestData = null;
-                for (Object[] req : allRequests) {
-                    if ((Integer) req[0] == requestId && req[1].equals(timestamp)) {
-                        requestData = req;
-                        break;
-                    }
-                }
-                
-                if (requestData != null) {
-                    boolean success = RequestService.updateCityOfficerRequestStatus(requestId, timestamp, "Approved by City Officer");
-                    if (success) {
-                        boolean forwarded = RequestService.forwardToGarbageCollector(requestData);
-                        if (forwarded) {
-                            refreshCityOfficerRequestsTable(tableModel);
-                            JOptionPane.showMessageDialog(panel,
-                                "Request approved and forwarded to Garbage Collector!",
-                                "Success", JOptionPane.INFORMATION_MESSAGE);
-                        } else {
-                            refreshCityOfficerRequestsTable(tableModel);
-                            JOptionPane.showMessageDialog(panel,
-                                "Request approved but error forwarding to Garbage Collector.",
-                                "Warning", JOptionPane.WARNING_MESSAGE);
-                        }
-                    } else {
-                        JOptionPane.showMessageDialog(panel, 
-                            "Error updating request status. Please try again.", 
-                            "Error", JOptionPane.ERROR_MESSAGE);
-                    }
-                } else {
-                    JOptionPane.showMessageDialog(panel, 
-                        "Request not found. Please refresh and try again.", 
-                        "Error", JOptionPane.ERROR_MESSAGE);
-                }
+            Map<Integer, String> selected = getSelectedRequests(table, tableModel);
+            if (!selected.isEmpty()) {
+                runWorkflowAction(panel, approveBtn, selected, "City Officer", RequestWorkflow.Action.APPROVE,
+                    refreshQueue, "approved and forwarded to Garbage Collector",
+                    "Error approving request. Please try again.");
             } else {
-                JOptionPane.showMessageDialog(panel, "Please select a request to approve.", "No Selection", JOptionPane.WARNING_MESSAGE);
+                JOptionPane.showMessageDialog(panel, "Please select one or more requests to approve.", "No Selection", JOptionPane.WARNING_MESSAGE);
             }
         });
         
@@ -1502,21 +1607,13 @@ public class DashboardFrame extends JFrame {
         rejectBtn.setBackground(new Color(200, 70, 70));
         rejectBtn.setForeground(Color.WHITE);
         rejectBtn.addActionListener(e -> {
-            int row = table.getSelectedRow();
-            if (row >= 0) {
-                int requestId = (Integer) tableModel.getValueAt(row, 0);
-                String timestamp = (String) tableModel.getValueAt(row, 1);
-                boolean success = RequestService.updateCityOfficerRequestStatus(requestId, timestamp, "Rejected by City Officer");
-                if (success) {
-                    refreshCityOfficerRequestsTable(tableModel);
-                    JOptionPane.showMessageDialog(panel, "Request rejected.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                } else {
-                    JOptionPane.showMessageDialog(panel, 
-                        "Error rejecting request. Please try again.", 
-                        "Error", JOptionPane.ERROR_MESSAGE);
-                }
+            Map<Integer, String> selected = getSelectedRequests(table, tableModel);
+            if (!selected.isEmpty()) {
+                runWorkflowAction(panel, rejectBtn, selected, "City Officer", RequestWorkflow.Action.REJECT,
+                    refreshQueue, "rejected",
+                    "Error rejecting request. Please try again.");
             } else {
-                JOptionPane.showMessageDialog(panel, "Please select a request to reject.", "No Selection", JOptionPane.WARNING_MESSAGE);
+                JOptionPane.showMessageDialog(panel, "Please select one or more requests to reject.", "No Selection", JOptionPane.WARNING_MESSAGE);
             }
         });
         
@@ -1524,88 +1621,173 @@ public class DashboardFrame extends JFrame {
         completeBtn.setBackground(new Color(70, 130, 180));
         completeBtn.setForeground(Color.WHITE);
         completeBtn.addActionListener(e -> {
-            int row = table.getSelectedRow();
-            if (row >= 0) {
-                int requestId = (Integer) tableModel.getValueAt(row, 0);
-                String timestamp = (String) tableModel.getValueAt(row, 1);
-                boolean success = RequestService.updateCityOfficerRequestStatus(requestId, timestamp, "Completed");
-                if (success) {
-                    refreshCityOfficerRequestsTable(tableModel);
-                    JOptionPane.showMessageDialog(panel, "Request marked as completed!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                } else {
-                    JOptionPane.showMessageDialog(panel, 
-                        "Error completing request. Please try again.", 
-                        "Error", JOptionPane.ERROR_MESSAGE);
-                }
+            Map<Integer, String> selected = getSelectedRequests(table, tableModel);
+            if (!selected.isEmpty()) {
+                runWorkflowAction(panel, completeBtn, selected, "City Officer", RequestWorkflow.Action.COMPLETE,
+                    refreshQueue, "marked as completed",
+                    "Error completing request. Please try again.");
             } else {
-                JOptionPane.showMessageDialog(panel, "Please select a request to complete.", "No Selection", JOptionPane.WARNING_MESSAGE);
+                JOptionPane.showMessageDialog(panel, "Please select one or more requests to complete.", "No Selection", JOptionPane.WARNING_MESSAGE);
             }
         });
         
         JButton refreshBtn = new JButton("🔄 Refresh");
         refreshBtn.setBackground(UIConstants.ACCENT_GREEN);
         refreshBtn.setForeground(Color.WHITE);
-        refreshBtn.addActionListener(e -> refreshCityOfficerRequestsTable(tableModel));
+        refreshBtn.addActionListener(e -> refreshQueue.run());
+        
+        JTextField searchField = new JTextField(15);
+        IncrementalSearch.attach(table, searchField);
         
         tableControl.add(approveBtn);
         tableControl.add(rejectBtn);
         tableControl.add(completeBtn);
         tableControl.add(refreshBtn);
+        tableControl.add(new JLabel("  Search:"));
+        tableControl.add(searchField);
         
         topPanel.add(tableControl, BorderLayout.SOUTH);
         panel.add(topPanel, BorderLayout.NORTH);
         panel.add(new JScrollPane(table), BorderLayout.CENTER);
+        panel.add(createRequestDetailPane(table, tableModel), BorderLayout.SOUTH);
         
         return panel;
     }
     
-    private void refreshCityOfficerRequestsTable(DefaultTableModel tableModel) {
-        try {
-            tableModel.setRowCount(0);
-            for (Object[] row : RequestService.getCityOfficerRequests()) {
-                // Row format: {id, timestamp, requester, barangay, type, location, description, numSacks, wasteType, status}
-                // Need to add weight column: {id, timestamp, requester, barangay, type, location, description, numSacks, weight, wasteType, status}
-                String description = (String) row[6];
-                String weight = extractWeightFromDescription(description);
-                String cleanDescription = removeWeightFromDescription(description);
-                
-                Object[] newRow = new Object[]{
-                    row[0],  // id
-                    row[1],  // timestamp
-                    row[2],  // requester
-                    row[3],  // barangay
-                    row[4],  // type
-                    row[5],  // location
-                    cleanDescription,  // description (without weight prefix)
-                    row[7],  // numSacks
-                    weight,  // weight (extracted)
-                    row[8],  // wasteType
-                    row[9]   // status
-                };
-                tableModel.addRow(newRow);
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(null, 
-                "Error refreshing requests: " + e.getMessage(), 
-                "Refresh Error", JOptionPane.ERROR_MESSAGE);
-        }
-    }
-    
-    private JPanel createGarbageCollectorRequestsPanel() {
+    /**
+     * Panel for the Barangay Captain's weekly collection schedules. Each schedule
+     * becomes a Garbage Collector request at the start of every week.
+     */
+    private JPanel createCollectionSchedulesPanel() {
         JPanel panel = new JPanel(new BorderLayout(10, 10));
         panel.setBorder(new EmptyBorder(10, 10, 10, 10));
         
-        JLabel title = new JLabel("View Requests for Garbage Collector");
+        JLabel title = new JLabel("Weekly Collection Schedules - " + barangay);
         title.setFont(new Font("Arial", Font.BOLD, 24));
-        panel.add(title, BorderLayout.NORTH);
         
-        String[] columns = {"ID", "Date/Time", "Requester", "Barangay", "Type", "Location", "Description", "Sacks", "Weight (kg)", "Waste Type", "Status"};
+        String[] columns = {"ID", "Area", "Pickup Day", "Waste Type", "Sacks", "Last Week Scheduled"};
         DefaultTableModel tableModel = new DefaultTableModel(columns, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
                 return false;
             }
         };
+        JTable table = new JTable(tableModel);
+        table.setRowHeight(25);
+        table.getTableHeader().setBackground(UIConstants.PRIMARY_GREEN);
+        table.getTableHeader().setForeground(Color.BLACK);
+        table.setSelectionBackground(UIConstants.ACCENT_GREEN);
+        table.setSelectionForeground(Color.WHITE);
+        refreshSchedulesTable(tableModel);
+        
+        // New schedule form
+        JPanel formPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
+        List<String> areas = new ArrayList<>();
+        for (String area : BarangayAreaMapper.getAreas(barangay)) {
+            if (!area.equals("Select Area")) {
+                areas.add(area);
+            }
+        }
+        areas.add(barangay); // Whole barangay
+        JComboBox<String> areaCombo = new JComboBox<>(areas.toArray(new String[0]));
+        JComboBox<String> dayCombo = new JComboBox<>(new String[]{
+            "Monday", "Tuesday", "Wednesday", "Thursday", "Friday", "Saturday", "Sunday"
+        });
+        JComboBox<String> typeCombo = new JComboBox<>(new String[]{
+            "Malata (Biodegradable)",
+            "Di Malata (Non-Biodegradable)",
+            "Magagamit Pa (Recyclable)",
+            "Hazardous"
+        });
+        JTextField sacksField = new JTextField("1", 4);
+        
+        JButton addBtn = new JButton("➕ Add Schedule");
+        addBtn.setBackground(UIConstants.ACCENT_GREEN);
+        addBtn.setForeground(Color.WHITE);
+        addBtn.addActionListener(e -> {
+            int sacks;
+            try {
+                sacks = Integer.parseInt(sacksField.getText().trim());
+            } catch (NumberFormatException ex) {
+                sacks = 0;
+            }
+            if (sacks <= 0) {
+                JOptionPane.showMessageDialog(panel, "Number of sacks must be a whole number greater than 0.", "Validation Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            String area = (String) areaCombo.getSelectedItem();
+            int dayOfWeek = dayCombo.getSelectedIndex() + 1;
+            String wasteType = (String) typeCombo.getSelectedItem();
+            int numSacks = sacks;
+            BackgroundTask.run(panel, addBtn,
+                () -> CollectionScheduleService.createSchedule(barangay, area, dayOfWeek, wasteType, numSacks, username),
+                success -> {
+                    if (success) {
+                        refreshSchedulesTable(tableModel);
+                        JOptionPane.showMessageDialog(panel, "Schedule added. A collection request for " + area +
+                            " will be sent to the Garbage Collector every week.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    } else {
+                        JOptionPane.showMessageDialog(panel, "Error adding schedule. Please try again.", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                });
+        });
+        
+        JButton deleteBtn = new JButton("🗑️ Stop Schedule");
+        deleteBtn.setBackground(new Color(200, 70, 70));
+        deleteBtn.setForeground(Color.WHITE);
+        deleteBtn.addActionListener(e -> {
+            int row = table.getSelectedRow();
+            if (row < 0) {
+                JOptionPane.showMessageDialog(panel, "Please select a schedule to stop.", "No Selection", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+            int scheduleId = (Integer) tableModel.getValueAt(table.convertRowIndexToModel(row), 0);
+            int confirm = JOptionPane.showConfirmDialog(panel, "Stop this schedule? Requests already sent are kept.",
+                "Confirm", JOptionPane.YES_NO_OPTION);
+            if (confirm == JOptionPane.YES_OPTION) {
+                BackgroundTask.run(panel, deleteBtn, () -> CollectionScheduleService.deleteSchedule(scheduleId),
+                    success -> refreshSchedulesTable(tableModel));
+            }
+        });
+        
+        formPanel.add(new JLabel("Area:"));
+        formPanel.add(areaCombo);
+        formPanel.add(new JLabel("Every:"));
+        formPanel.add(dayCombo);
+        formPanel.add(new JLabel("Waste Type:"));
+        formPanel.add(typeCombo);
+        formPanel.add(new JLabel("Sacks:"));
+        formPanel.add(sacksField);
+        formPanel.add(addBtn);
+        formPanel.add(deleteBtn);
+        
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.add(title, BorderLayout.NORTH);
+        topPanel.add(formPanel, BorderLayout.SOUTH);
+        panel.add(topPanel, BorderLayout.NORTH);
+        panel.add(new JScrollPane(table), BorderLayout.CENTER);
+        
+        return panel;
+    }
+    
+    private void refreshSchedulesTable(DefaultTableModel tableModel) {
+        BackgroundTask.run(this, null, () -> CollectionScheduleService.getSchedules(barangay), schedules -> {
+            tableModel.setRowCount(0);
+            for (Object[] schedule : schedules) {
+                tableModel.addRow(schedule);
+            }
+        });
+    }
+    
+    private JPanel createGarbageCollectorRequestsPanel() {
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(new EmptyBorder(10, 10, 10, 10));
+        
+        JLabel title = new JLabel("View Requests for Garbage Collector (most urgent first)");
+        title.setFont(new Font("Arial", Font.BOLD, 24));
+        panel.add(title, BorderLayout.NORTH);
+        
+        RecordTableModel<RequestRow> tableModel = new RecordTableModel<>(RequestRow.columns());
         
         JTable table = new JTable(tableModel);
         table.setRowHeight(25);
@@ -1614,7 +1796,12 @@ public class DashboardFrame extends JFrame {
         table.setSelectionBackground(UIConstants.ACCENT_GREEN);
         table.setSelectionForeground(Color.WHITE);
         
-        refreshGarbageCollectorRequestsTable(tableModel);
+        // Most urgent first; completed requests appear in "Manage Waste Records" instead
+        Runnable refreshQueue = () -> refreshRequestQueue(tableModel, DispatchQueue::getWorkList);
+        refreshQueue.run();
+        patchOnRequestChange(tableModel, req -> RequestService.isInTargetRoleQueue(req, "Garbage Collector"),
+            Comparator.comparing(row -> DispatchQueue.priorityOf(row.id(), row.timestamp(), row.wasteType(), row.numSacks())),
+            refreshQueue);
         
         JPanel topPanel = new JPanel(new BorderLayout());
         JPanel tableControl = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
@@ -1623,73 +1810,89 @@ public class DashboardFrame extends JFrame {
         completeBtn.setBackground(new Color(34, 139, 34));
         completeBtn.setForeground(Color.WHITE);
         completeBtn.addActionListener(e -> {
-            int row = table.getSelectedRow();
-            if (row >= 0) {
-                int requestId = (Integer) tableModel.getValueAt(row, 0);
-                String timestamp = (String) tableModel.getValueAt(row, 1);
-                boolean success = RequestService.updateGarbageCollectorRequestStatus(requestId, timestamp, "Completed by Garbage Collector");
-                if (success) {
-                    refreshGarbageCollectorRequestsTable(tableModel);
-                    JOptionPane.showMessageDialog(panel, "Request marked as collected!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                } else {
-                    JOptionPane.showMessageDialog(panel, 
-                        "Error completing request. Please try again.", 
-                        "Error", JOptionPane.ERROR_MESSAGE);
-                }
+            Map<Integer, String> selected = getSelectedRequests(table, tableModel);
+            if (!selected.isEmpty()) {
+                runWorkflowAction(panel, completeBtn, selected, "Garbage Collector", RequestWorkflow.Action.COMPLETE,
+                    refreshQueue, "marked as collected",
+                    "Error completing request. Please try again.");
             } else {
-                JOptionPane.showMessageDialog(panel, "Please select a request to complete.", "No Selection", JOptionPane.WARNING_MESSAGE);
+                JOptionPane.showMessageDialog(panel, "Please select one or more requests to complete.", "No Selection", JOptionPane.WARNING_MESSAGE);
             }
         });
         
+        JButton planBtn = new JButton("🚚 Plan Trips");
+        planBtn.setBackground(new Color(70, 130, 180));
+        planBtn.setForeground(Color.WHITE);
+        planBtn.addActionListener(e -> BackgroundTask.run(panel, planBtn, CollectionPlanner::plan,
+            batches -> showCollectionPlan(panel, table, tableModel, batches)));
+        
         JButton refreshBtn = new JButton("🔄 Refresh");
         refreshBtn.setBackground(UIConstants.ACCENT_GREEN);
         refreshBtn.setForeground(Color.WHITE);
-        refreshBtn.addActionListener(e -> refreshGarbageCollectorRequestsTable(tableModel));
+        refreshBtn.addActionListener(e -> refreshQueue.run());
+        
+        JTextField searchField = new JTextField(15);
+        IncrementalSearch.attach(table, searchField);
         
         tableControl.add(completeBtn);
+        tableControl.add(planBtn);
         tableControl.add(refreshBtn);
+        tableControl.add(new JLabel("  Search:"));
+        tableControl.add(searchField);
         
         topPanel.add(tableControl, BorderLayout.SOUTH);
         panel.add(topPanel, BorderLayout.NORTH);
         panel.add(new JScrollPane(table), BorderLayout.CENTER);
+        panel.add(createRequestDetailPane(table, tableModel), BorderLayout.SOUTH);
         
         return panel;
     }
     
-    private void refreshGarbageCollectorRequestsTable(DefaultTableModel tableModel) {
-        try {
-            tableModel.setRowCount(0);
-            for (Object[] row : RequestService.getGarbageCollectorRequests()) {
-                // Only show pending requests (not completed ones)
-                // Completed requests should appear in "Manage Waste Records"
-                if (row.length >= 10 && row[9] != null && 
-                    !row[9].toString().equals("Completed by Garbage Collector")) {
-                    // Row format: {id, timestamp, requester, barangay, type, location, description, numSacks, wasteType, status}
-                    // Need to add weight column: {id, timestamp, requester, barangay, type, location, description, numSacks, weight, wasteType, status}
-                    String description = (String) row[6];
-                    String weight = extractWeightFromDescription(description);
-                    String cleanDescription = removeWeightFromDescription(description);
-                    
-                    Object[] newRow = new Object[]{
-                        row[0],  // id
-                        row[1],  // timestamp
-                        row[2],  // requester
-                        row[3],  // barangay
-                        row[4],  // type
-                        row[5],  // location
-                        cleanDescription,  // description (without weight prefix)
-                        row[7],  // numSacks
-                        weight,  // weight (extracted)
-                        row[8],  // wasteType
-                        row[9]   // status
-                    };
-                    tableModel.addRow(newRow);
-                }
+    /**
+     * Shows the planned collection trips; the collector can pick one to select
+     * its requests in the queue table, ready to be marked as collected together.
+     */
+    private void showCollectionPlan(JPanel panel, JTable table, RecordTableModel<RequestRow> tableModel,
+                                    List<CollectionPlanner.Batch> batches) {
+        if (batches.isEmpty()) {
+            JOptionPane.showMessageDialog(panel, "No collection requests are waiting.", "Plan Trips", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        
+        String[] columns = {"Trip", "Barangay", "Areas", "Requests", "Sacks", "Weight (kg)"};
+        DefaultTableModel planModel = new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        for (int i = 0; i < batches.size(); i++) {
+            CollectionPlanner.Batch batch = batches.get(i);
+            planModel.addRow(new Object[]{i + 1, batch.barangay(), String.join(", ", batch.areas()),
+                batch.stops().size(), batch.sacks(), String.format("%.2f", batch.weightKg())});
+        }
+        JTable planTable = new JTable(planModel);
+        planTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        planTable.setRowSelectionInterval(0, 0);
+        JScrollPane scroll = new JScrollPane(planTable);
+        scroll.setPreferredSize(new Dimension(650, 250));
+        
+        String[] options = {"Select Trip Requests", "Close"};
+        int choice = JOptionPane.showOptionDialog(panel, scroll, "Planned Collection Trips (" + batches.size() + ")",
+            JOptionPane.DEFAULT_OPTION, JOptionPane.PLAIN_MESSAGE, null, options, options[0]);
+        if (choice != 0 || planTable.getSelectedRow() < 0) {
+            return;
+        }
+        
+        Set<Integer> tripIds = new HashSet<>();
+        for (CollectionPlanner.Stop stop : batches.get(planTable.getSelectedRow()).stops()) {
+            tripIds.add(stop.requestId());
+        }
+        table.clearSelection();
+        for (int row = 0; row < table.getRowCount(); row++) {
+            if (tripIds.contains(tableModel.getRow(table.convertRowIndexToModel(row)).id())) {
+                table.addRowSelectionInterval(row, row);
             }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(null, 
-                "Error refreshing requests: " + e.getMessage(), 
-                "Refresh Error", JOptionPane.ERROR_MESSAGE);
         }
     }
     
@@ -1706,13 +1909,26 @@ public class DashboardFrame extends JFrame {
         title.setFont(new Font("Arial", Font.BOLD, 24));
         panel.add(title, BorderLayout.NORTH);
         
+        // Rows are fetched a page at a time as the table scrolls; the search runs in the query
+        AtomicReference<String> search = new AtomicReference<>("");
         String[] columns = {"Username", "Role", "Barangay"};
-        DefaultTableModel tableModel = new DefaultTableModel(columns, 0) {
+        PagedTableModel tableModel = new PagedTableModel(this, columns, new PagedTableModel.PageSource() {
             @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Read-only
+            public int count() throws SQLException {
+                return UserDAO.countUsers(search.get());
             }
-        };
+            
+            @Override
+            public List<Object[]> loadPage(int offset, int limit) throws SQLException {
+                List<Object[]> rows = UserDAO.getUserDirectoryPage(search.get(), offset, limit);
+                for (Object[] row : rows) {
+                    if (row[2] == null) {
+                        row[2] = "N/A"; // {username, role, barangay}
+                    }
+                }
+                return rows;
+            }
+        });
         
         JTable table = new JTable(tableModel);
         table.setRowHeight(25);
@@ -1721,8 +1937,9 @@ public class DashboardFrame extends JFrame {
         table.setSelectionBackground(UIConstants.ACCENT_GREEN);
         table.setSelectionForeground(Color.WHITE);
         
-        // Load all users from all role files
-        refreshAllUsersTable(tableModel);
+        // Load all users from the database
+        tableModel.refresh();
+        refreshOnChange("users", tableModel::refresh);
         
         JPanel topPanel = new JPanel(new BorderLayout());
         JPanel tableControl = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
@@ -1732,8 +1949,8 @@ public class DashboardFrame extends JFrame {
         deleteBtn.setForeground(Color.WHITE);
         deleteBtn.addActionListener(e -> {
             int row = table.getSelectedRow();
-            if (row >= 0) {
-                String username = (String) tableModel.getValueAt(row, 0);
+            String username = row >= 0 ? (String) tableModel.getValueAt(row, 0) : null;
+            if (username != null) { // Null while the row's page is still loading
                 String userRole = (String) tableModel.getValueAt(row, 1);
                 
                 // Prevent deleting Admin users
@@ -1750,17 +1967,18 @@ public class DashboardFrame extends JFrame {
                     "Confirm Delete", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
                 
                 if (confirm == JOptionPane.YES_OPTION) {
-                    boolean success = UserAuthenticationService.deleteUserFromDB(username);
-                    if (success) {
-                        refreshAllUsersTable(tableModel);
-                        JOptionPane.showMessageDialog(panel, 
-                            "User " + username + " has been deleted successfully!", 
-                            "Delete Successful", JOptionPane.INFORMATION_MESSAGE);
-                    } else {
-                        JOptionPane.showMessageDialog(panel, 
-                            "Error deleting user. User may not exist in the system.", 
-                            "Delete Error", JOptionPane.ERROR_MESSAGE);
-                    }
+                    BackgroundTask.run(panel, deleteBtn, () -> UserAuthenticationService.deleteUserFromDB(username), success -> {
+                        if (success) {
+                            tableModel.refresh();
+                            JOptionPane.showMessageDialog(panel, 
+                                "User " + username + " has been deleted successfully!", 
+                                "Delete Successful", JOptionPane.INFORMATION_MESSAGE);
+                        } else {
+                            JOptionPane.showMessageDialog(panel, 
+                                "Error deleting user. User may not exist in the system.", 
+                                "Delete Error", JOptionPane.ERROR_MESSAGE);
+                        }
+                    });
                 }
             } else {
                 JOptionPane.showMessageDialog(panel, 
@@ -1772,20 +1990,29 @@ public class DashboardFrame extends JFrame {
         JButton refreshBtn = new JButton("🔄 Refresh");
         refreshBtn.setBackground(UIConstants.ACCENT_GREEN);
         refreshBtn.setForeground(Color.WHITE);
-        refreshBtn.addActionListener(e -> refreshAllUsersTable(tableModel));
+        refreshBtn.addActionListener(e -> tableModel.refresh());
         
+        // Searches the database once the user pauses typing (only some pages are loaded)
         JTextField searchField = new JTextField(15);
-        JButton searchBtn = new JButton("🔍 Search");
-        searchBtn.addActionListener(e -> {
-            String query = searchField.getText().trim().toLowerCase();
-            tableModel.setRowCount(0);
-            for (Object[] row : getAllUsersFromAllRoles()) {
-                for (Object cell : row) {
-                    if (cell.toString().toLowerCase().contains(query)) {
-                        tableModel.addRow(row);
-                        break;
-                    }
-                }
+        Timer searchTimer = new Timer(USER_SEARCH_DELAY_MS, e -> {
+            search.set(searchField.getText().trim());
+            tableModel.refresh();
+        });
+        searchTimer.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+            
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+            
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                searchTimer.restart();
             }
         });
         
@@ -1793,7 +2020,6 @@ public class DashboardFrame extends JFrame {
         tableControl.add(refreshBtn);
         tableControl.add(new JLabel("  Search:"));
         tableControl.add(searchField);
-        tableControl.add(searchBtn);
         
         topPanel.add(title, BorderLayout.NORTH);
         topPanel.add(tableControl, BorderLayout.SOUTH);
@@ -1815,12 +2041,18 @@ public class DashboardFrame extends JFrame {
         panel.add(title, BorderLayout.NORTH);
         
         String[] columns = {"ID", "Date", "Location", "Weight (kg)", "Type", "Role"};
-        DefaultTableModel tableModel = new DefaultTableModel(columns, 0) {
+        // Rows are fetched a page at a time as the table scrolls
+        PagedTableModel tableModel = new PagedTableModel(this, columns, new PagedTableModel.PageSource() {
             @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Read-only
+            public int count() throws SQLException {
+                return WasteRecordDAO.countWasteRecords();
             }
-        };
+            
+            @Override
+            public List<Object[]> loadPage(int offset, int limit) throws SQLException {
+                return toAdminWasteRows(WasteRecordDAO.getWasteRecordsPage(offset, limit));
+            }
+        });
         
         JTable table = new JTable(tableModel);
         table.setRowHeight(25);
@@ -1830,7 +2062,8 @@ public class DashboardFrame extends JFrame {
         table.setSelectionForeground(Color.WHITE);
         
         // Load all waste records from all roles
-        refreshAllWasteRecordsTable(tableModel);
+        tableModel.refresh();
+        refreshOnChange("waste_records", tableModel::refresh);
         
         JPanel topPanel = new JPanel(new BorderLayout());
         JPanel tableControl = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
@@ -1838,7 +2071,7 @@ public class DashboardFrame extends JFrame {
         JButton refreshBtn = new JButton("🔄 Refresh");
         refreshBtn.setBackground(UIConstants.ACCENT_GREEN);
         refreshBtn.setForeground(Color.WHITE);
-        refreshBtn.addActionListener(e -> refreshAllWasteRecordsTable(tableModel));
+        refreshBtn.addActionListener(e -> tableModel.refresh());
         
         JButton exportCsvBtn = new JButton("⬇️ Export to CSV");
         exportCsvBtn.setBackground(UIConstants.ACCENT_GREEN);
@@ -1847,19 +2080,23 @@ public class DashboardFrame extends JFrame {
             JFileChooser chooser = new JFileChooser();
             chooser.setSelectedFile(new java.io.File("all_waste_records.csv"));
             if (chooser.showSaveDialog(panel) == JFileChooser.APPROVE_OPTION) {
-                try (FileWriter writer = new FileWriter(chooser.getSelectedFile())) {
-                    writer.write("ID,Date,Location,Weight(kg),Type,Role\n");
-                    for (int i = 0; i < tableModel.getRowCount(); i++) {
-                        for (int j = 0; j < tableModel.getColumnCount(); j++) {
-                            writer.write(tableModel.getValueAt(i, j).toString());
-                            if (j < tableModel.getColumnCount() - 1) writer.write(",");
+                File file = chooser.getSelectedFile();
+                BackgroundTask.run(panel, exportCsvBtn, () -> {
+                    // The table only holds the pages on screen, so export from the database
+                    List<Object[]> rows = toAdminWasteRows(WasteRecordDAO.getAllWasteRecords());
+                    try (FileWriter writer = new FileWriter(file)) {
+                        writer.write("ID,Date,Location,Weight(kg),Type,Role\n");
+                        for (Object[] row : rows) {
+                            for (int j = 0; j < row.length; j++) {
+                                writer.write(row[j].toString());
+                                if (j < row.length - 1) writer.write(",");
+                            }
+                            writer.write("\n");
                         }
-                        writer.write("\n");
                     }
-                    JOptionPane.showMessageDialog(panel, "CSV exported successfully!", "Export Complete", JOptionPane.INFORMATION_MESSAGE);
-                } catch (IOException ex) {
-                    JOptionPane.showMessageDialog(panel, "Error exporting: " + ex.getMessage(), "Export Error", JOptionPane.ERROR_MESSAGE);
-                }
+                    return null;
+                }, ignored -> JOptionPane.showMessageDialog(panel, "CSV exported successfully!", "Export Complete", JOptionPane.INFORMATION_MESSAGE),
+                ex -> JOptionPane.showMessageDialog(panel, "Error exporting: " + ex.getMessage(), "Export Error", JOptionPane.ERROR_MESSAGE));
             }
         });
         
@@ -1870,7 +2107,15 @@ public class DashboardFrame extends JFrame {
             JFileChooser chooser = new JFileChooser();
             chooser.setSelectedFile(new java.io.File("all_waste_records.txt"));
             if (chooser.showSaveDialog(panel) == JFileChooser.APPROVE_OPTION) {
-                exportTableToTextFile(chooser.getSelectedFile(), tableModel, panel);
+                File file = chooser.getSelectedFile();
+                String[] columnNames = getColumnNames(tableModel);
+                BackgroundTask.run(panel, exportTxtBtn, () -> exportTableToTextFile(file, columnNames, 
+                        toAdminWasteRows(WasteRecordDAO.getAllWasteRecords())),
+                    count -> JOptionPane.showMessageDialog(panel, 
+                        "Text file exported successfully! Total records: " + count, 
+                        "Export Complete", JOptionPane.INFORMATION_MESSAGE),
+                    ex -> JOptionPane.showMessageDialog(panel, "Error exporting to text file: " + ex.getMessage(), 
+                        "Export Error", JOptionPane.ERROR_MESSAGE));
             }
         });
         
@@ -1881,8 +2126,7 @@ public class DashboardFrame extends JFrame {
             JFileChooser chooser = new JFileChooser();
             chooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("CSV Files", "csv"));
             if (chooser.showOpenDialog(panel) == JFileChooser.APPROVE_OPTION) {
-                importFromCSV(chooser.getSelectedFile(), panel);
-                refreshAllWasteRecordsTable(tableModel);
+                runCsvImport(panel, importCsvBtn, chooser.getSelectedFile(), tableModel::refresh);
             }
         });
         
@@ -1919,7 +2163,7 @@ public class DashboardFrame extends JFrame {
         JButton generateBtn = new JButton("📊 Generate Statistics");
         generateBtn.setBackground(UIConstants.PRIMARY_GREEN);
         generateBtn.setForeground(Color.WHITE);
-        generateBtn.addActionListener(e -> {
+        generateBtn.addActionListener(e -> BackgroundTask.run(panel, generateBtn, () -> {
             StringBuilder sb = new StringBuilder();
             sb.append("========================================\n");
             sb.append("   GREENVAULT SYSTEM STATISTICS\n");
@@ -1950,16 +2194,18 @@ public class DashboardFrame extends JFrame {
             Map<String, Integer> recordsByRole = new HashMap<>();
             
             for (String r : roles) {
-                List<Object[]> records = WasteDataService.getAllRecords(r);
-                recordsByRole.put(r, records.size());
-                totalRecords += records.size();
-                
-                for (Object[] record : records) {
-                    double weight = (double) record[3];
-                    String type = (String) record[4];
+                // Totals are grouped in the database: {type, recordCount, totalWeight}
+                int roleRecordCount = 0;
+                for (Object[] totals : WasteDataService.getWeightTotalsByType(r)) {
+                    String type = (String) totals[0];
+                    int count = (Integer) totals[1];
+                    double weight = (Double) totals[2];
+                    roleRecordCount += count;
                     totalWeight += weight;
                     weightByType.put(type, weightByType.getOrDefault(type, 0.0) + weight);
                 }
+                recordsByRole.put(r, roleRecordCount);
+                totalRecords += roleRecordCount;
             }
             
             sb.append("WASTE RECORDS STATISTICS:\n");
@@ -1979,8 +2225,8 @@ public class DashboardFrame extends JFrame {
             List<Object[]> pending = UserApprovalService.getPendingRegistrations();
             sb.append("PENDING REGISTRATIONS: ").append(pending.size()).append("\n");
             
-            statsArea.setText(sb.toString());
-        });
+            return sb.toString();
+        }, statsArea::setText));
         
         controls.add(generateBtn);
         panel.add(controls, BorderLayout.SOUTH);
@@ -1997,18 +2243,13 @@ public class DashboardFrame extends JFrame {
         List<Object[]> allUsers = new ArrayList<>();
         
         try {
-            // Get all users from database
-            List<Object[]> dbUsers = UserDAO.getAllUsers();
+            // Get all users from database (passwords are not read)
+            List<Object[]> dbUsers = UserDAO.getUserDirectory();
             
-            // Format: {username, password, role, barangay} from database
-            // Table needs: {username, role, barangay}
+            // Format: {username, role, barangay}
             for (Object[] dbUser : dbUsers) {
-                String username = (String) dbUser[0];
-                String role = (String) dbUser[2];
-                String barangay = dbUser[3] != null ? (String) dbUser[3] : "N/A";
-                
-                // Add to list without password
-                allUsers.add(new Object[]{username, role, barangay});
+                String barangay = dbUser[2] != null ? (String) dbUser[2] : "N/A";
+                allUsers.add(new Object[]{dbUser[0], dbUser[1], barangay});
             }
         } catch (SQLException e) {
             System.err.println("Error reading users from database: " + e.getMessage());
@@ -2078,44 +2319,17 @@ public class DashboardFrame extends JFrame {
     }
     
     /**
-     * Helper method to refresh all users table.
-     */
-    private void refreshAllUsersTable(DefaultTableModel tableModel) {
-        try {
-            tableModel.setRowCount(0);
-            for (Object[] user : getAllUsersFromAllRoles()) {
-                tableModel.addRow(user);
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(null, 
-                "Error refreshing users: " + e.getMessage(), 
-                "Refresh Error", JOptionPane.ERROR_MESSAGE);
-        }
-    }
-    
-    /**
-     * Helper method to refresh all waste records table.
+     * Maps waste records {id, role, date, area, weight, type, barangay}
+     * to the admin table's rows {id, date, location, weight, type, role}.
      */
-    private void refreshAllWasteRecordsTable(DefaultTableModel tableModel) {
-        try {
-            tableModel.setRowCount(0);
-            String[] roles = {"Garbage Collector", "Barangay Member"};
-            
-            for (String r : roles) {
-                WasteDataService.clearCache(r);
-                List<Object[]> records = WasteDataService.getAllRecords(r);
-                for (Object[] record : records) {
-                    // Add role column: {id, date, location, weight, type, role}
-                    tableModel.addRow(new Object[]{
-                        record[0], record[1], record[2], record[3], record[4], r
-                    });
-                }
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(null, 
-                "Error refreshing waste records: " + e.getMessage(), 
-                "Refresh Error", JOptionPane.ERROR_MESSAGE);
+    private static List<Object[]> toAdminWasteRows(List<Object[]> records) {
+        List<Object[]> rows = new ArrayList<>(records.size());
+        for (Object[] record : records) {
+            rows.add(new Object[]{
+                record[0], record[2], record[3], record[4], record[5], record[1]
+            });
         }
+        return rows;
     }
     
     /**
@@ -2152,45 +2366,103 @@ public class DashboardFrame extends JFrame {
     }
     
     /**
-     * Loads all waste records from all roles (except Barangay Member) into the table model.
-     * For Barangay Captain: filters by barangay (only shows records from their barangay).
-     * For other roles: shows all records.
-     * @param tableModel The table model to populate
+     * Loads all waste records from all roles (except Barangay Member).
+     * For Barangay Captain: filters by barangay (only returns records from their barangay).
+     * For other roles: returns all records.
+     * Safe to call off the EDT.
+     * @return Records {id, date, barangay, location, weight, type, role}
      */
-    private void loadAllWasteRecords(DefaultTableModel tableModel) {
+    private List<Object[]> loadVisibleWasteRecords() {
         List<Object[]> allRecords = new ArrayList<>();
         loadAllWasteRecordsToList(allRecords);
         
         // Filter by barangay only if user is Barangay Captain
-        if (role.equals("Barangay Captain")) {
-            String userBarangay = (barangay != null) ? barangay.trim() : "";
-            for (Object[] record : allRecords) {
-                String recordBarangay = (String) record[2]; // Barangay is at index 2
-                String recordLocation = (String) record[3]; // Location is at index 3
-                
-                // Case-insensitive comparison with trimmed values
-                boolean matches = recordBarangay != null && 
-                                 recordBarangay.trim().equalsIgnoreCase(userBarangay);
-                
-                // If barangay is "N/A" or empty, try to match by location
-                if (!matches && (recordBarangay == null || recordBarangay.trim().isEmpty() || 
-                    recordBarangay.trim().equalsIgnoreCase("N/A"))) {
-                    if (recordLocation != null) {
-                        String barangayFromLocation = getBarangayFromLocation(recordLocation);
-                        matches = barangayFromLocation.trim().equalsIgnoreCase(userBarangay);
-                    }
-                }
-                
-                if (matches) {
-                    tableModel.addRow(record);
+        if (!role.equals("Barangay Captain")) {
+            return allRecords; // For other roles, show all records
+        }
+        
+        List<Object[]> visible = new ArrayList<>();
+        String userBarangay = (barangay != null) ? barangay.trim() : "";
+        for (Object[] record : allRecords) {
+            String recordBarangay = (String) record[2]; // Barangay is at index 2
+            String recordLocation = (String) record[3]; // Location is at index 3
+            
+            // Case-insensitive comparison with trimmed values
+            boolean matches = recordBarangay != null && 
+                             recordBarangay.trim().equalsIgnoreCase(userBarangay);
+            
+            // If barangay is "N/A" or empty, try to match by location
+            if (!matches && (recordBarangay == null || recordBarangay.trim().isEmpty() || 
+                recordBarangay.trim().equalsIgnoreCase("N/A"))) {
+                if (recordLocation != null) {
+                    String barangayFromLocation = getBarangayFromLocation(recordLocation);
+                    matches = barangayFromLocation.trim().equalsIgnoreCase(userBarangay);
                 }
             }
-        } else {
-            // For other roles, show all records
-            for (Object[] record : allRecords) {
-                tableModel.addRow(record);
+            
+            if (matches) {
+                visible.add(record);
             }
         }
+        return visible;
+    }
+    
+    /**
+     * Gets the selected requests of a queue table as {request ID -> timestamp}, in table order.
+     */
+    private static Map<Integer, String> getSelectedRequests(JTable table, RecordTableModel<RequestRow> tableModel) {
+        Map<Integer, String> selected = new LinkedHashMap<>();
+        for (int row : table.getSelectedRows()) {
+            RequestRow request = tableModel.getRow(table.convertRowIndexToModel(row)); // Table may be filtered
+            selected.put(request.id(), request.timestamp());
+        }
+        return selected;
+    }
+    
+    /**
+     * Applies a workflow action to the selected requests in the background, then
+     * refreshes the queue and reports the outcome. Several requests are handled
+     * as one bulk operation.
+     * @param donePhrase What happened to the requests, e.g. "rejected"
+     */
+    private void runWorkflowAction(JPanel panel, AbstractButton trigger, Map<Integer, String> requests, String role,
+                                   RequestWorkflow.Action action, Runnable refresh, String donePhrase, String errorMessage) {
+        if (requests.size() > 1) {
+            BackgroundTask.run(panel, trigger, () -> RequestWorkflow.applyAll(requests, role, action), applied -> {
+                if (applied < 0) {
+                    JOptionPane.showMessageDialog(panel, errorMessage, "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                refresh.run();
+                int skipped = requests.size() - applied;
+                String message = applied + " requests " + donePhrase + "!";
+                if (skipped > 0) {
+                    message += "\n" + skipped + " request(s) were no longer in your queue and were skipped.";
+                }
+                JOptionPane.showMessageDialog(panel, message, skipped > 0 ? "Partly Done" : "Success",
+                    skipped > 0 ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE);
+            });
+            return;
+        }
+        
+        Map.Entry<Integer, String> request = requests.entrySet().iterator().next();
+        BackgroundTask.run(panel, trigger, () -> RequestWorkflow.apply(request.getKey(), request.getValue(), role, action), result -> {
+            switch (result) {
+                case DONE -> {
+                    refresh.run();
+                    JOptionPane.showMessageDialog(panel, "Request " + donePhrase + "!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                }
+                case NOT_FOUND, NOT_ALLOWED -> {
+                    refresh.run();
+                    JOptionPane.showMessageDialog(panel, 
+                        "This request is no longer in your queue (it may have been handled already).", 
+                        "Request Not Available", JOptionPane.WARNING_MESSAGE);
+                }
+                default -> JOptionPane.showMessageDialog(panel, 
+                    errorMessage, 
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
     }
     
     /**
@@ -2212,7 +2484,6 @@ public class DashboardFrame extends JFrame {
         String[] roles = {"Admin", "Barangay Captain", "City Officer"};
         for (String r : roles) {
             if (!r.equals("Barangay Member") && !r.equals("Garbage Collector")) {
-                WasteDataService.clearCache(r);
                 List<Object[]> roleRecords = WasteDataService.getAllRecords(r);
                 for (Object[] record : roleRecords) {
                     // Determine barangay from location
@@ -2229,12 +2500,14 @@ public class DashboardFrame extends JFrame {
     /**
      * Exports waste records to a text file (one object per line).
      * Format: ID|Date|Barangay|Location|Weight(kg)|Type|Role
+     * Safe to call off the EDT.
      * @param file The file to write to
-     * @param panel The panel for showing messages
      * @param userRole The current user's role
      * @param userBarangay The current user's barangay
+     * @return The message to show when the export completes
+     * @throws IOException if the file cannot be written
      */
-    private void exportToTextFile(File file, JPanel panel, String userRole, String userBarangay) {
+    private String exportToTextFile(File file, String userRole, String userBarangay) throws IOException {
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
             // Write header comment
             writer.write("# Waste Records Export");
@@ -2267,52 +2540,45 @@ public class DashboardFrame extends JFrame {
                 count++;
             }
             
-            String message = userRole.equals("Barangay Captain")
+            return userRole.equals("Barangay Captain")
                 ? "Text file exported successfully! Total records from " + userBarangay + ": " + count
                 : "Text file exported successfully! Total records: " + count;
-            JOptionPane.showMessageDialog(panel, message, "Export Complete", JOptionPane.INFORMATION_MESSAGE);
-        } catch (IOException ex) {
-            JOptionPane.showMessageDialog(panel, "Error exporting to text file: " + ex.getMessage(), 
-                "Export Error", JOptionPane.ERROR_MESSAGE);
         }
     }
     
     /**
      * Exports table data to a text file (one object per line).
+     * Safe to call off the EDT.
      * @param file The file to write to
-     * @param tableModel The table model containing data
-     * @param panel The panel for showing messages
+     * @param columnNames The table's column names
+     * @param rows The table rows (copied from the model)
+     * @return Number of records written
+     * @throws IOException if the file cannot be written
      */
-    private void exportTableToTextFile(File file, DefaultTableModel tableModel, JPanel panel) {
+    private int exportTableToTextFile(File file, String[] columnNames, List<Object[]> rows) throws IOException {
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
             // Write header comment
             writer.write("# Waste Records Export");
             writer.newLine();
-            writer.write("# Format: " + String.join("|", getColumnNames(tableModel)));
+            writer.write("# Format: " + String.join("|", columnNames));
             writer.newLine();
             writer.write("# Generated: " + new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()));
             writer.newLine();
             writer.newLine();
             
             int count = 0;
-            for (int i = 0; i < tableModel.getRowCount(); i++) {
+            for (Object[] row : rows) {
                 StringBuilder line = new StringBuilder();
-                for (int j = 0; j < tableModel.getColumnCount(); j++) {
+                for (int j = 0; j < row.length; j++) {
                     if (j > 0) line.append("|");
-                    Object value = tableModel.getValueAt(i, j);
+                    Object value = row[j];
                     line.append(value != null ? value.toString() : "");
                 }
                 writer.write(line.toString());
                 writer.newLine();
                 count++;
             }
-            
-            JOptionPane.showMessageDialog(panel, 
-                "Text file exported successfully! Total records: " + count, 
-                "Export Complete", JOptionPane.INFORMATION_MESSAGE);
-        } catch (IOException ex) {
-            JOptionPane.showMessageDialog(panel, "Error exporting to text file: " + ex.getMessage(), 
-                "Export Error", JOptionPane.ERROR_MESSAGE);
+            return count;
         }
     }
     
@@ -2321,7 +2587,7 @@ public class DashboardFrame extends JFrame {
      * @param tableModel The table model
      * @return Array of column names
      */
-    private String[] getColumnNames(DefaultTableModel tableModel) {
+    private String[] getColumnNames(TableModel tableModel) {
         int colCount = tableModel.getColumnCount();
         String[] names = new String[colCount];
         for (int i = 0; i < colCount; i++) {
@@ -2334,10 +2600,12 @@ public class DashboardFrame extends JFrame {
      * Imports waste records from a CSV file and adds them to the database.
      * Expected CSV format: ID,Date,Barangay,Location,Weight(kg),Type,Role
      * Note: ID will be auto-generated, so it's ignored from CSV
+     * Safe to call off the EDT.
      * @param file The CSV file to import
-     * @param panel The panel for showing messages
+     * @return The import results to show (message and whether any line failed)
+     * @throws IOException if the file cannot be read or has no valid header
      */
-    private void importFromCSV(File file, JPanel panel) {
+    private ImportResult importFromCSV(File file) throws IOException {
         int successCount = 0;
         int errorCount = 0;
         int skippedCount = 0;
@@ -2346,10 +2614,7 @@ public class DashboardFrame extends JFrame {
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             String line = reader.readLine(); // Read header line
             if (line == null || !line.contains("ID") || !line.contains("Date")) {
-                JOptionPane.showMessageDialog(panel, 
-                    "Invalid CSV format. Expected header: ID,Date,Barangay,Location,Weight(kg),Type,Role", 
-                    "Import Error", JOptionPane.ERROR_MESSAGE);
-                return;
+                throw new IOException("Invalid CSV format. Expected header: ID,Date,Barangay,Location,Weight(kg),Type,Role");
             }
             
             int lineNumber = 1;
@@ -2457,15 +2722,30 @@ public class DashboardFrame extends JFrame {
                 }
             }
             
-            JOptionPane.showMessageDialog(panel, message.toString(), 
-                "Import Results", 
-                errorCount > 0 ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE);
-                
-        } catch (IOException ex) {
-            JOptionPane.showMessageDialog(panel, 
-                "Error reading CSV file: " + ex.getMessage(), 
-                "Import Error", JOptionPane.ERROR_MESSAGE);
+            return new ImportResult(message.toString(), errorCount > 0);
         }
     }
+    
+    /**
+     * Result of a CSV import, shown to the user once the import finishes.
+     */
+    private record ImportResult(String message, boolean hasErrors) {}
+    
+    /**
+     * Imports a CSV file in the background and shows the results when done.
+     * @param afterImport Called on the EDT after a successful import (can be null)
+     */
+    private void runCsvImport(JPanel panel, AbstractButton trigger, File file, Runnable afterImport) {
+        BackgroundTask.run(panel, trigger, () -> importFromCSV(file), result -> {
+            JOptionPane.showMessageDialog(panel, result.message(), 
+                "Import Results", 
+                result.hasErrors() ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE);
+            if (afterImport != null) {
+                afterImport.run();
+            }
+        }, ex -> JOptionPane.showMessageDialog(panel, 
+            ex.getMessage(), 
+            "Import Error", JOptionPane.ERROR_MESSAGE));
+    }
 }
 
@@ -0,0 +1,131 @@
+package gui;
+
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.DefaultTableModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Editable table model that remembers which cells were edited and which rows
+ * were deleted since the rows were last loaded, so only those changes need saving.
+ * Rows are identified by the value in the ID column, which is not editable.
+ * Editing a cell back to its loaded value un-marks it.
+ * Replacing all rows (a full data-changed event) forgets pending changes.
+ */
+public class EditTrackingTableModel extends DefaultTableModel {
+
+    /**
+     * An edited row: its current values and the columns that changed.
+     */
+    public record Edit(Object id, Object[] row, Set<Integer> columns) {}
+
+    private static final long serialVersionUID = 1L;
+
+    private final int idColumn;
+    // Loaded values of edited cells: {id -> {column -> loaded value}}
+    private final Map<Object, Map<Integer, Object>> originals = new LinkedHashMap<>();
+    private final Set<Object> deletedIds = new LinkedHashSet<>();
+
+    public EditTrackingTableModel(String[] columns, int idColumn) {
+        super(columns, 0);
+        this.idColumn = idColumn;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return column != idColumn; // ID not editable
+    }
+
+    @Override
+    public void setValueAt(Object value, int row, int column) {
+        Object old = getValueAt(row, column);
+        if (Objects.equals(old, value)) {
+            return; // Editor committed without a change
+        }
+
+        Object id = getValueAt(row, idColumn);
+        Map<Integer, Object> cells = originals.computeIfAbsent(id, k -> new HashMap<>());
+        if (!cells.containsKey(column)) {
+            cells.put(column, old);
+        } else if (Objects.equals(cells.get(column), value)) {
+            cells.remove(column); // Back to the loaded value
+            if (cells.isEmpty()) {
+                originals.remove(id);
+            }
+        }
+
+        super.setValueAt(value, row, column);
+    }
+
+    /**
+     * Removes a row and remembers its ID as deleted.
+     * @param row Model row index
+     */
+    public void markDeleted(int row) {
+        Object id = getValueAt(row, idColumn);
+        originals.remove(id);
+        deletedIds.add(id);
+        removeRow(row);
+    }
+
+    /**
+     * @return true if any cell was edited or any row deleted since loading
+     */
+    public boolean hasChanges() {
+        return !originals.isEmpty() || !deletedIds.isEmpty();
+    }
+
+    /**
+     * @return The edited rows with their current values (copied, safe to use off the EDT)
+     */
+    public List<Edit> getEdits() {
+        List<Edit> edits = new ArrayList<>();
+        if (originals.isEmpty()) {
+            return edits;
+        }
+        for (int row = 0; row < getRowCount(); row++) {
+            Object id = getValueAt(row, idColumn);
+            Map<Integer, Object> cells = originals.get(id);
+            if (cells != null) {
+                Object[] values = new Object[getColumnCount()];
+                for (int col = 0; col < values.length; col++) {
+                    values[col] = getValueAt(row, col);
+                }
+                edits.add(new Edit(id, values, Set.copyOf(cells.keySet())));
+            }
+        }
+        return edits;
+    }
+
+    /**
+     * @return IDs of the rows deleted since loading
+     */
+    public List<Object> getDeletedIds() {
+        return new ArrayList<>(deletedIds);
+    }
+
+    /**
+     * Forgets pending changes (after they were saved).
+     */
+    public void clearChanges() {
+        originals.clear();
+        deletedIds.clear();
+    }
+
+    @Override
+    public void fireTableChanged(TableModelEvent e) {
+        // All rows replaced: pending changes refer to rows that are gone
+        // (originals is still null while the superclass constructor runs)
+        if (originals != null && (e.getFirstRow() == TableModelEvent.HEADER_ROW
+                || (e.getType() == TableModelEvent.UPDATE && e.getLastRow() == Integer.MAX_VALUE))) {
+            clearChanges();
+        }
+        super.fireTableChanged(e);
+    }
+}
@@ -1,6 +1,11 @@
 package gui;
 
 import javax.swing.*;
+import services.CacheSnapshotService;
+import services.ChangeNotifier;
+import services.CollectionScheduleService;
+import services.RequestArchiver;
+import services.SlaScanner;
 import utils.DatabaseInitializer;
 
 /**
@@ -27,6 +32,28 @@ public class GreenVaultApp {
             e.printStackTrace();
             // Continue anyway - database might already be initialized
         }
+        
+        // Restore the cache snapshot from the last run, then watch the change log from the
+        // snapshot on: it delivers the delta, and later writes from other instances
+        long snapshotSeq = CacheSnapshotService.load();
+        if (snapshotSeq >= 0) {
+            ChangeNotifier.start(snapshotSeq);
+        } else {
+            ChangeNotifier.start();
+        }
+        // Turn weekly collection schedules into requests at the start of each week
+        CollectionScheduleService.start();
+        // Flag requests stuck in a stage past its SLA
+        SlaScanner.start();
+        // Move long-finished requests out of the live requests table
+        RequestArchiver.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            ChangeNotifier.stop();
+            CollectionScheduleService.stop();
+            SlaScanner.stop();
+            RequestArchiver.stop();
+            CacheSnapshotService.save();
+        }, "cache-snapshot"));
 
         SwingUtilities.invokeLater(() -> {
             new LoginFrame().setVisible(true);
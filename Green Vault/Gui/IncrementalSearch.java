@@ -0,0 +1,175 @@
+package gui;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.table.TableModel;
+import javax.swing.table.TableRowSorter;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Search-as-you-type filter for a table whose rows are already loaded.
+ * Typing restarts a short timer, so a search only runs once the user pauses.
+ * Matching runs in the background; a newer keystroke cancels a search still running.
+ * When the new query contains the previous one, only the previous matches are checked.
+ * A row matches when any cell contains the query (case-insensitive).
+ */
+public class IncrementalSearch {
+    private static final int DEBOUNCE_MS = 250;
+
+    private final JTable table;
+    private final JTextField field;
+    private final TableRowSorter<TableModel> sorter;
+    private final Timer timer;
+
+    // All fields below are only used on the EDT
+    private SwingWorker<SearchResult, Void> running;
+    private int modelVersion;
+    // Lowercase text of each row for modelVersion (null until the first search after a change)
+    private List<String> rowText;
+    private SearchResult last;
+
+    private record SearchResult(int version, String query, List<String> rowText, BitSet matches) {}
+
+    /**
+     * Filters a table as the user types into a field.
+     * Installs a TableRowSorter on the table, so row indexes from the table
+     * must be converted with convertRowIndexToModel.
+     * @param table The table to filter
+     * @param field The search field
+     * @return The search
+     */
+    public static IncrementalSearch attach(JTable table, JTextField field) {
+        return new IncrementalSearch(table, field);
+    }
+
+    private IncrementalSearch(JTable table, JTextField field) {
+        this.table = table;
+        this.field = field;
+        this.sorter = new TableRowSorter<>(table.getModel());
+        table.setRowSorter(sorter);
+
+        timer = new Timer(DEBOUNCE_MS, e -> search());
+        timer.setRepeats(false);
+
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+        });
+
+        // Added after the table's own listener, so it runs first and the filter sees the new version
+        table.getModel().addTableModelListener(e -> {
+            modelVersion++;
+            rowText = null;
+            if (last != null) {
+                timer.restart(); // Re-run the active search on the new rows
+            }
+        });
+    }
+
+    private void search() {
+        if (running != null) {
+            running.cancel(true);
+            running = null;
+        }
+
+        String query = field.getText().trim().toLowerCase();
+        if (query.isEmpty()) {
+            last = null;
+            sorter.setRowFilter(null);
+            return;
+        }
+
+        int version = modelVersion;
+        List<String> texts = rowText;
+        Object[][] cells = texts == null ? copyCells(table.getModel()) : null; // Cheap copy on the EDT
+
+        // Narrow the previous result when the query was only extended
+        BitSet candidates = null;
+        if (last != null && last.version() == version && query.contains(last.query())) {
+            candidates = (BitSet) last.matches().clone();
+        }
+        BitSet start = candidates;
+
+        running = BackgroundTask.run(table, null, () -> {
+            List<String> rows = texts != null ? texts : toRowText(cells);
+            BitSet from = start;
+            if (from == null) {
+                from = new BitSet(rows.size());
+                from.set(0, rows.size());
+            }
+            BitSet matches = new BitSet(rows.size());
+            for (int row = from.nextSetBit(0); row >= 0; row = from.nextSetBit(row + 1)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return null; // Superseded by a newer search
+                }
+                if (rows.get(row).contains(query)) {
+                    matches.set(row);
+                }
+            }
+            return new SearchResult(version, query, rows, matches);
+        }, this::apply, e -> System.err.println("Error searching table: " + e.getMessage()));
+    }
+
+    private void apply(SearchResult result) {
+        running = null;
+        if (result == null) {
+            return;
+        }
+        if (result.version() != modelVersion) {
+            timer.restart(); // Rows changed while searching
+            return;
+        }
+
+        rowText = result.rowText();
+        last = result;
+        sorter.setRowFilter(new RowFilter<TableModel, Integer>() {
+            @Override
+            public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+                if (result.version() == modelVersion) {
+                    return result.matches().get(entry.getIdentifier());
+                }
+                // Rows changed since this search; check directly until it re-runs
+                for (int i = 0; i < entry.getValueCount(); i++) {
+                    Object cell = entry.getValue(i);
+                    if (cell != null && cell.toString().toLowerCase().contains(result.query())) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        });
+    }
+
+    private static Object[][] copyCells(TableModel model) {
+        Object[][] cells = new Object[model.getRowCount()][model.getColumnCount()];
+        for (int row = 0; row < cells.length; row++) {
+            for (int col = 0; col < cells[row].length; col++) {
+                cells[row][col] = model.getValueAt(row, col);
+            }
+        }
+        return cells;
+    }
+
+    private static List<String> toRowText(Object[][] cells) {
+        List<String> rows = new ArrayList<>(cells.length);
+        for (Object[] row : cells) {
+            rows.add(TableSearchIndex.rowText(row)); // Same text as the records index
+        }
+        return rows;
+    }
+}
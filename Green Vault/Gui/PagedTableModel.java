@@ -0,0 +1,150 @@
+package gui;
+
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only table model that loads rows from the database one page at a time.
+ * Only the row count is loaded up front; pages are fetched in the background
+ * the first time the table asks for one of their rows, and the page after it
+ * is prefetched. A small number of recently used pages is kept in memory.
+ * Rows that are still loading show as empty cells. A page that fails to load is
+ * not retried until the next refresh(), so a broken connection does not cost a
+ * query on every repaint.
+ */
+public class PagedTableModel extends AbstractTableModel {
+
+    /**
+     * Supplies the row count and pages of rows, usually straight from a DAO.
+     * Both methods are called off the EDT.
+     */
+    public interface PageSource {
+        int count() throws SQLException;
+
+        List<Object[]> loadPage(int offset, int limit) throws SQLException;
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_PAGE_SIZE = 200;
+    private static final int MAX_CACHED_PAGES = 10;
+
+    private final String[] columns;
+    private final PageSource source;
+    private final int pageSize;
+    private final Component owner;
+
+    // Recently used pages, least recently used first (EDT only)
+    private final Map<Integer, List<Object[]>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Object[]>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    private final Set<Integer> loading = new HashSet<>();
+    // Pages whose last load failed; left empty until the next refresh (EDT only)
+    private final Set<Integer> failed = new HashSet<>();
+    private int rowCount;
+    // Bumped on refresh so pages requested before it are dropped
+    private int generation;
+
+    public PagedTableModel(Component owner, String[] columns, PageSource source) {
+        this(owner, columns, source, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * @param owner Component whose window shows the busy cursor while pages load
+     * @param columns Column names
+     * @param source Where rows come from
+     * @param pageSize Number of rows fetched per query
+     */
+    public PagedTableModel(Component owner, String[] columns, PageSource source, int pageSize) {
+        this.owner = owner;
+        this.columns = columns;
+        this.source = source;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Reloads the row count and drops all cached pages. Must be called on the EDT.
+     */
+    public void refresh() {
+        BackgroundTask.run(owner, null, source::count, count -> {
+            generation++;
+            pages.clear();
+            loading.clear();
+            failed.clear();
+            rowCount = count;
+            fireTableDataChanged();
+        }, e -> System.err.println("Error counting rows: " + e.getMessage()));
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false; // Read-only
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int page = row / pageSize;
+        List<Object[]> rows = pages.get(page);
+        if (rows == null) {
+            requestPage(page);
+            return null; // Shown empty until the page arrives
+        }
+        requestPage(page + 1); // Prefetch so scrolling down rarely waits
+
+        int index = row % pageSize;
+        if (index >= rows.size() || column >= rows.get(index).length) {
+            return null; // Table shrank since the count was taken
+        }
+        return rows.get(index)[column];
+    }
+
+    private void requestPage(int page) {
+        if (page * pageSize >= rowCount || pages.containsKey(page) || failed.contains(page) || !loading.add(page)) {
+            return;
+        }
+
+        int requestedGeneration = generation;
+        BackgroundTask.run(owner, null, () -> source.loadPage(page * pageSize, pageSize), rows -> {
+            if (requestedGeneration != generation) {
+                return; // Refreshed while loading
+            }
+            loading.remove(page);
+            pages.put(page, rows);
+            int first = page * pageSize;
+            int last = Math.min(first + pageSize, rowCount) - 1;
+            if (first <= last) {
+                fireTableRowsUpdated(first, last);
+            }
+        }, e -> {
+            if (requestedGeneration == generation) {
+                loading.remove(page);
+                failed.add(page);
+            }
+            System.err.println("Error loading rows: " + e.getMessage());
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package gui;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Read-only table model backed by a list of typed rows (usually records).
+ * Each column reads its value from the row with an accessor.
+ * Replacing or appending many rows fires a single table event, instead of
+ * one event per row like DefaultTableModel.addRow. EDT only.
+ * @param <R> The row type
+ */
+public class RecordTableModel<R> extends AbstractTableModel {
+
+    /**
+     * A table column: its header and how to read its value from a row.
+     */
+    public record Column<R>(String name, Function<R, Object> value) {}
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<Column<R>> columns;
+    private List<R> rows = new ArrayList<>();
+
+    public RecordTableModel(List<Column<R>> columns) {
+        this.columns = List.copyOf(columns);
+    }
+
+    /**
+     * Replaces all rows and fires one data-changed event.
+     * @param newRows The new rows (copied)
+     */
+    public void setRows(List<R> newRows) {
+        rows = new ArrayList<>(newRows);
+        fireTableDataChanged();
+    }
+
+    /**
+     * Appends rows and fires one rows-inserted event.
+     * @param newRows The rows to append
+     */
+    public void addRows(List<R> newRows) {
+        if (newRows.isEmpty()) {
+            return;
+        }
+        int first = rows.size();
+        rows.addAll(newRows);
+        fireTableRowsInserted(first, rows.size() - 1);
+    }
+
+    public void insertRow(int index, R row) {
+        rows.add(index, row);
+        fireTableRowsInserted(index, index);
+    }
+
+    public void setRow(int index, R row) {
+        rows.set(index, row);
+        fireTableRowsUpdated(index, index);
+    }
+
+    public void removeRow(int index) {
+        rows.remove(index);
+        fireTableRowsDeleted(index, index);
+    }
+
+    /**
+     * @param index Model row index
+     * @return The row at the index
+     */
+    public R getRow(int index) {
+        return rows.get(index);
+    }
+
+    /**
+     * @return A copy of all rows (safe to use off the EDT)
+     */
+    public List<R> getRows() {
+        return new ArrayList<>(rows);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns.get(column).name();
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return columns.get(column).value().apply(rows.get(row));
+    }
+}
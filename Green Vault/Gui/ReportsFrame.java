@@ -5,12 +5,16 @@ import javax.swing.border.EmptyBorder;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
 
 import services.RequestService;
 import services.WasteDataService;
 import services.UserAuthenticationService;
 import services.UserApprovalService;
 import dao.UserDAO;
+import dao.WasteRecordDAO;
 import java.sql.SQLException;
 
 /**
@@ -48,6 +52,7 @@ public class ReportsFrame extends JFrame {
         JTabbedPane tabs = new JTabbedPane();
 
         tabs.addTab("Requests Summary", createRequestsTab());
+        tabs.addTab("Pipeline Latency", createLatencyTab());
         tabs.addTab("Waste Records Summary", createWasteTab());
         tabs.addTab("Users", createUsersTab());
         tabs.addTab("Pending Registrations", createPendingRegistrationsTab());
@@ -69,9 +74,7 @@ public class ReportsFrame extends JFrame {
         };
 
         // Lightweight summary: load from RequestService helper that already uses DAO
-        for (Object[] row : RequestService.getAllRequestsSummary()) {
-            model.addRow(row);
-        }
+        reload(model, RequestService::getAllRequestsSummary);
 
         JTable table = new JTable(model);
         table.setRowHeight(22);
@@ -83,6 +86,12 @@ public class ReportsFrame extends JFrame {
         JPanel bottom = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 5));
         bottom.setBackground(UIConstants.BACKGROUND_GRAY);
 
+        // Filters the loaded rows as you type
+        JTextField searchField = new JTextField(15);
+        IncrementalSearch.attach(table, searchField);
+        bottom.add(new JLabel("Search:"));
+        bottom.add(searchField);
+
         JButton importBtn = new JButton("📥 Import from .txt");
         importBtn.setBackground(new Color(70, 130, 180));
         importBtn.setForeground(Color.WHITE);
@@ -93,15 +102,13 @@ public class ReportsFrame extends JFrame {
             int result = chooser.showOpenDialog(panel);
             if (result == JFileChooser.APPROVE_OPTION) {
                 File file = chooser.getSelectedFile();
-                int imported = RequestService.importRequestsFromTxt(file, "Barangay Captain");
-                JOptionPane.showMessageDialog(panel, 
-                    imported + " requests imported from:\n" + file.getAbsolutePath(),
-                    "Import Complete", JOptionPane.INFORMATION_MESSAGE);
-                // Refresh table
-                model.setRowCount(0);
-                for (Object[] row : RequestService.getAllRequestsSummary()) {
-                    model.addRow(row);
-                }
+                BackgroundTask.run(panel, importBtn, () -> RequestService.importRequestsFromTxt(file, "Barangay Captain"), imported -> {
+                    JOptionPane.showMessageDialog(panel, 
+                        imported + " requests imported from:\n" + file.getAbsolutePath(),
+                        "Import Complete", JOptionPane.INFORMATION_MESSAGE);
+                    // Refresh table
+                    reload(model, RequestService::getAllRequestsSummary);
+                });
             }
         });
 
@@ -114,14 +121,15 @@ public class ReportsFrame extends JFrame {
             int result = chooser.showSaveDialog(panel);
             if (result == JFileChooser.APPROVE_OPTION) {
                 File file = chooser.getSelectedFile();
-                boolean ok = RequestService.exportRequestsToCsv(file);
-                if (ok) {
-                    JOptionPane.showMessageDialog(panel, "Requests exported to:\n" + file.getAbsolutePath(),
-                            "Export Successful", JOptionPane.INFORMATION_MESSAGE);
-                } else {
-                    JOptionPane.showMessageDialog(panel, "Error exporting requests. Please check console for details.",
-                            "Export Error", JOptionPane.ERROR_MESSAGE);
-                }
+                BackgroundTask.run(panel, exportCsvBtn, () -> RequestService.exportRequestsToCsv(file), ok -> {
+                    if (ok) {
+                        JOptionPane.showMessageDialog(panel, "Requests exported to:\n" + file.getAbsolutePath(),
+                                "Export Successful", JOptionPane.INFORMATION_MESSAGE);
+                    } else {
+                        JOptionPane.showMessageDialog(panel, "Error exporting requests. Please check console for details.",
+                                "Export Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             }
         });
 
@@ -134,12 +142,12 @@ public class ReportsFrame extends JFrame {
         return panel;
     }
 
-    private JPanel createWasteTab() {
+    private JPanel createLatencyTab() {
         JPanel panel = new JPanel(new BorderLayout(10, 10));
         panel.setBorder(new EmptyBorder(10, 10, 10, 10));
         panel.setBackground(UIConstants.BACKGROUND_GRAY);
 
-        String[] columns = {"ID", "Role", "Date", "Area/Location", "Weight (kg)", "Type"};
+        String[] columns = {"Barangay", "Stage", "Steps", "Median", "90th Percentile", "Longest"};
         DefaultTableModel model = new DefaultTableModel(columns, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
@@ -147,10 +155,50 @@ public class ReportsFrame extends JFrame {
             }
         };
 
-        // Load all records directly for reporting
-        for (Object[] row : WasteDataService.getAllWasteRecordsForReport()) {
-            model.addRow(row);
-        }
+        // Time each request spent with a role before it acted, from the request history
+        reload(model, RequestService::getStageDwellTimes);
+
+        JTable table = new JTable(model);
+        table.setRowHeight(22);
+        table.getTableHeader().setBackground(UIConstants.PRIMARY_GREEN);
+        table.getTableHeader().setForeground(Color.BLACK);
+
+        JScrollPane scroll = new JScrollPane(table);
+
+        JPanel bottom = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 5));
+        bottom.setBackground(UIConstants.BACKGROUND_GRAY);
+
+        JButton refreshBtn = new JButton("🔄 Refresh");
+        refreshBtn.addActionListener(e -> reload(model, RequestService::getStageDwellTimes));
+        bottom.add(refreshBtn);
+
+        panel.add(scroll, BorderLayout.CENTER);
+        panel.add(bottom, BorderLayout.SOUTH);
+
+        return panel;
+    }
+
+    private JPanel createWasteTab() {
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(new EmptyBorder(10, 10, 10, 10));
+        panel.setBackground(UIConstants.BACKGROUND_GRAY);
+
+        String[] columns = {"ID", "Role", "Date", "Area/Location", "Weight (kg)", "Type"};
+        // Rows {id, role, date, area, weight, type, barangay}; the barangay column is not shown
+        PagedTableModel model = new PagedTableModel(this, columns, new PagedTableModel.PageSource() {
+            @Override
+            public int count() throws SQLException {
+                return WasteRecordDAO.countWasteRecords();
+            }
+
+            @Override
+            public List<Object[]> loadPage(int offset, int limit) throws SQLException {
+                return WasteRecordDAO.getWasteRecordsPage(offset, limit);
+            }
+        });
+
+        // Load records a page at a time for reporting
+        model.refresh();
 
         JTable table = new JTable(model);
         table.setRowHeight(22);
@@ -172,15 +220,13 @@ public class ReportsFrame extends JFrame {
             int result = chooser.showOpenDialog(panel);
             if (result == JFileChooser.APPROVE_OPTION) {
                 File file = chooser.getSelectedFile();
-                int imported = WasteDataService.importWasteRecordsFromTxt(file, "Garbage Collector");
-                JOptionPane.showMessageDialog(panel, 
-                    imported + " waste records imported from:\n" + file.getAbsolutePath(),
-                    "Import Complete", JOptionPane.INFORMATION_MESSAGE);
-                // Refresh table
-                model.setRowCount(0);
-                for (Object[] row : WasteDataService.getAllWasteRecordsForReport()) {
-                    model.addRow(row);
-                }
+                BackgroundTask.run(panel, importBtn, () -> WasteDataService.importWasteRecordsFromTxt(file, "Garbage Collector"), imported -> {
+                    JOptionPane.showMessageDialog(panel, 
+                        imported + " waste records imported from:\n" + file.getAbsolutePath(),
+                        "Import Complete", JOptionPane.INFORMATION_MESSAGE);
+                    // Refresh table
+                    model.refresh();
+                });
             }
         });
 
@@ -193,14 +239,15 @@ public class ReportsFrame extends JFrame {
             int result = chooser.showSaveDialog(panel);
             if (result == JFileChooser.APPROVE_OPTION) {
                 File file = chooser.getSelectedFile();
-                boolean ok = WasteDataService.exportWasteRecordsToCsv(file);
-                if (ok) {
-                    JOptionPane.showMessageDialog(panel, "Waste records exported to:\n" + file.getAbsolutePath(),
-                            "Export Successful", JOptionPane.INFORMATION_MESSAGE);
-                } else {
-                    JOptionPane.showMessageDialog(panel, "Error exporting waste records. Please check console for details.",
-                            "Export Error", JOptionPane.ERROR_MESSAGE);
-                }
+                BackgroundTask.run(panel, exportCsvBtn, () -> WasteDataService.exportWasteRecordsToCsv(file), ok -> {
+                    if (ok) {
+                        JOptionPane.showMessageDialog(panel, "Waste records exported to:\n" + file.getAbsolutePath(),
+                                "Export Successful", JOptionPane.INFORMATION_MESSAGE);
+                    } else {
+                        JOptionPane.showMessageDialog(panel, "Error exporting waste records. Please check console for details.",
+                                "Export Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             }
         });
 
@@ -219,23 +266,20 @@ public class ReportsFrame extends JFrame {
         panel.setBackground(UIConstants.BACKGROUND_GRAY);
 
         String[] columns = {"Username", "Role", "Barangay"};
-        DefaultTableModel model = new DefaultTableModel(columns, 0) {
+        PagedTableModel model = new PagedTableModel(this, columns, new PagedTableModel.PageSource() {
             @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+            public int count() throws SQLException {
+                return UserDAO.countUsers();
             }
-        };
 
-        // Load users from database
-        try {
-            java.util.List<Object[]> users = UserDAO.getAllUsers();
-            for (Object[] user : users) {
-                // Format: {username, password, role, barangay}
-                model.addRow(new Object[]{user[0], user[2], user[3]});
+            @Override
+            public List<Object[]> loadPage(int offset, int limit) throws SQLException {
+                return UserDAO.getUserDirectoryPage(offset, limit); // {username, role, barangay}
             }
-        } catch (SQLException e) {
-            System.err.println("Error loading users: " + e.getMessage());
-        }
+        });
+
+        // Load users from database a page at a time
+        model.refresh();
 
         JTable table = new JTable(model);
         table.setRowHeight(22);
@@ -257,20 +301,13 @@ public class ReportsFrame extends JFrame {
             int result = chooser.showOpenDialog(panel);
             if (result == JFileChooser.APPROVE_OPTION) {
                 File file = chooser.getSelectedFile();
-                int imported = UserAuthenticationService.importUsersFromTxt(file);
-                JOptionPane.showMessageDialog(panel, 
-                    imported + " users imported from:\n" + file.getAbsolutePath(),
-                    "Import Complete", JOptionPane.INFORMATION_MESSAGE);
-                // Refresh table
-                model.setRowCount(0);
-                try {
-                    java.util.List<Object[]> users = UserDAO.getAllUsers();
-                    for (Object[] user : users) {
-                        model.addRow(new Object[]{user[0], user[2], user[3]});
-                    }
-                } catch (SQLException ex) {
-                    System.err.println("Error refreshing users: " + ex.getMessage());
-                }
+                BackgroundTask.run(panel, importBtn, () -> UserAuthenticationService.importUsersFromTxt(file), imported -> {
+                    JOptionPane.showMessageDialog(panel, 
+                        imported + " users imported from:\n" + file.getAbsolutePath(),
+                        "Import Complete", JOptionPane.INFORMATION_MESSAGE);
+                    // Refresh table
+                    model.refresh();
+                });
             }
         });
 
@@ -296,11 +333,7 @@ public class ReportsFrame extends JFrame {
         };
 
         // Load pending registrations from database
-        java.util.List<Object[]> pending = UserApprovalService.getPendingRegistrations();
-        for (Object[] reg : pending) {
-            // Format: {username, password, role, id, status}
-            model.addRow(new Object[]{reg[0], reg[2], reg[3], reg[4]});
-        }
+        reload(model, this::loadPendingRows);
 
         JTable table = new JTable(model);
         table.setRowHeight(22);
@@ -312,6 +345,12 @@ public class ReportsFrame extends JFrame {
         JPanel bottom = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 5));
         bottom.setBackground(UIConstants.BACKGROUND_GRAY);
 
+        // Filters the loaded rows as you type
+        JTextField searchField = new JTextField(15);
+        IncrementalSearch.attach(table, searchField);
+        bottom.add(new JLabel("Search:"));
+        bottom.add(searchField);
+
         JButton importBtn = new JButton("📥 Import from .txt");
         importBtn.setBackground(new Color(70, 130, 180));
         importBtn.setForeground(Color.WHITE);
@@ -322,16 +361,13 @@ public class ReportsFrame extends JFrame {
             int result = chooser.showOpenDialog(panel);
             if (result == JFileChooser.APPROVE_OPTION) {
                 File file = chooser.getSelectedFile();
-                int imported = UserApprovalService.importPendingRegistrationsFromTxt(file);
-                JOptionPane.showMessageDialog(panel, 
-                    imported + " pending registrations imported from:\n" + file.getAbsolutePath(),
-                    "Import Complete", JOptionPane.INFORMATION_MESSAGE);
-                // Refresh table
-                model.setRowCount(0);
-                java.util.List<Object[]> pendingList = UserApprovalService.getPendingRegistrations();
-                for (Object[] reg : pendingList) {
-                    model.addRow(new Object[]{reg[0], reg[2], reg[3], reg[4]});
-                }
+                BackgroundTask.run(panel, importBtn, () -> UserApprovalService.importPendingRegistrationsFromTxt(file), imported -> {
+                    JOptionPane.showMessageDialog(panel, 
+                        imported + " pending registrations imported from:\n" + file.getAbsolutePath(),
+                        "Import Complete", JOptionPane.INFORMATION_MESSAGE);
+                    // Refresh table
+                    reload(model, this::loadPendingRows);
+                });
             }
         });
 
@@ -342,6 +378,26 @@ public class ReportsFrame extends JFrame {
 
         return panel;
     }
-}
 
+    /**
+     * Loads table rows in the background and swaps them into the model on the EDT.
+     */
+    private void reload(DefaultTableModel model, Callable<List<Object[]>> loader) {
+        BackgroundTask.run(this, null, loader, rows -> TableModels.setRows(model, rows));
+    }
 
+    private List<Object[]> loadPendingRows() {
+        List<Object[]> rows = new ArrayList<>();
+        for (Object[] reg : UserApprovalService.getPendingRegistrations()) {
+            // Format: {username, password, role, id, status}
+            rows.add(new Object[]{reg[0], reg[2], reg[3], reg[4]});
+        }
+        return rows;
+    }
+
+    @Override
+    public void dispose() {
+        BackgroundTask.cancelAll(this);
+        super.dispose();
+    }
+}
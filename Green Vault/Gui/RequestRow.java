@@ -0,0 +1,32 @@
+package gui;
+
+import java.util.List;
+
+/**
+ * A row of the request queue tables. Descriptions are not part of the listing;
+ * they are loaded when a row is selected.
+ * Overdue requests have been in their stage longer than its SLA allows.
+ */
+public record RequestRow(int id, String timestamp, String requester, String barangay, String type,
+                         String location, int numSacks, String weight, String wasteType, String status,
+                         boolean overdue) {
+
+    /**
+     * Columns shown by the request queue tables.
+     */
+    public static List<RecordTableModel.Column<RequestRow>> columns() {
+        return List.of(
+            new RecordTableModel.Column<>("ID", RequestRow::id),
+            new RecordTableModel.Column<>("Date/Time", RequestRow::timestamp),
+            new RecordTableModel.Column<>("Requester", RequestRow::requester),
+            new RecordTableModel.Column<>("Barangay", RequestRow::barangay),
+            new RecordTableModel.Column<>("Type", RequestRow::type),
+            new RecordTableModel.Column<>("Location", RequestRow::location),
+            new RecordTableModel.Column<>("Sacks", RequestRow::numSacks),
+            new RecordTableModel.Column<>("Weight (kg)", RequestRow::weight),
+            new RecordTableModel.Column<>("Waste Type", RequestRow::wasteType),
+            new RecordTableModel.Column<>("Status", RequestRow::status),
+            new RecordTableModel.Column<>("SLA", row -> row.overdue() ? "⚠ Overdue" : "")
+        );
+    }
+}
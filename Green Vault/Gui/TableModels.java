@@ -0,0 +1,34 @@
+package gui;
+
+import javax.swing.table.DefaultTableModel;
+import java.util.List;
+import java.util.Vector;
+
+/**
+ * Helpers for the DefaultTableModel tables of the dashboard and reports.
+ */
+public class TableModels {
+    // Prevent instantiation - utility class
+    private TableModels() {}
+
+    /**
+     * Replaces the rows of a table model with one table event instead of one per
+     * addRow (call on the EDT). Short rows are padded with nulls, long ones cut off.
+     * @param model The table model
+     * @param rows The new rows
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static void setRows(DefaultTableModel model, List<Object[]> rows) {
+        Vector<Vector> data = model.getDataVector();
+        data.clear();
+        int columnCount = model.getColumnCount();
+        for (Object[] row : rows) {
+            Vector<Object> cells = new Vector<>(columnCount);
+            for (int i = 0; i < columnCount; i++) {
+                cells.add(i < row.length ? row[i] : null);
+            }
+            data.add(cells);
+        }
+        model.fireTableDataChanged();
+    }
+}
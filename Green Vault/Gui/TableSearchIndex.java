@@ -0,0 +1,177 @@
+package gui;
+
+import javax.swing.RowFilter;
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.TableModel;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory search index over the rows of a table model.
+ * Every cell is indexed by its lowercase 3-character substrings (trigrams), so a
+ * query only checks the rows that contain all of its trigrams instead of every row.
+ * A row matches when any one of its cells contains the query (case-insensitive),
+ * the same rule the table searches used before.
+ * The index follows the model: edited rows are re-indexed, inserted or deleted
+ * rows trigger a rebuild. Work is done lazily on the next search. EDT only.
+ */
+public class TableSearchIndex {
+    private static final int GRAM = 3;
+    // Separates cells so a query never matches across two cells
+    private static final char CELL_SEPARATOR = '\u0000';
+
+    private final TableModel model;
+    private final Map<String, BitSet> postings = new HashMap<>();
+    private final List<String> rowText = new ArrayList<>();
+    private final Set<Integer> staleRows = new HashSet<>();
+    private boolean rebuildNeeded = true;
+
+    // Last query result, reused for every row the filter asks about
+    private String lastQuery;
+    private BitSet lastMatches;
+
+    public TableSearchIndex(TableModel model) {
+        this.model = model;
+        model.addTableModelListener(this::modelChanged);
+    }
+
+    /**
+     * Creates a row filter for a query; rows are matched against the index.
+     * The filter stays valid after the model changes.
+     * @param query The text to search for
+     * @return The filter, or null (show all rows) if the query is blank
+     */
+    public RowFilter<TableModel, Integer> filter(String query) {
+        String q = query == null ? "" : query.trim().toLowerCase();
+        if (q.isEmpty()) {
+            return null;
+        }
+        return new RowFilter<TableModel, Integer>() {
+            @Override
+            public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+                return search(q).get(entry.getIdentifier());
+            }
+        };
+    }
+
+    /**
+     * Finds the rows of the model that contain the query.
+     * @param query Lowercase, trimmed query
+     * @return Model row indexes that match
+     */
+    public BitSet search(String query) {
+        refresh();
+        if (lastMatches != null && query.equals(lastQuery)) {
+            return lastMatches;
+        }
+
+        BitSet candidates;
+        if (query.length() < GRAM) {
+            // Too short to use the index; scan the cached row text
+            candidates = new BitSet(rowText.size());
+            candidates.set(0, rowText.size());
+        } else {
+            candidates = null;
+            for (int i = 0; i + GRAM <= query.length(); i++) {
+                BitSet rows = postings.get(query.substring(i, i + GRAM));
+                if (rows == null) {
+                    candidates = new BitSet(); // A trigram no row has
+                    break;
+                }
+                if (candidates == null) {
+                    candidates = (BitSet) rows.clone();
+                } else {
+                    candidates.and(rows);
+                }
+            }
+        }
+
+        // Trigrams can match out of order, so confirm each candidate
+        BitSet matches = new BitSet(rowText.size());
+        for (int row = candidates.nextSetBit(0); row >= 0; row = candidates.nextSetBit(row + 1)) {
+            if (rowText.get(row).contains(query)) {
+                matches.set(row);
+            }
+        }
+
+        lastQuery = query;
+        lastMatches = matches;
+        return matches;
+    }
+
+    private void modelChanged(TableModelEvent e) {
+        lastMatches = null;
+        if (e.getType() == TableModelEvent.UPDATE && e.getFirstRow() != TableModelEvent.HEADER_ROW
+                && e.getLastRow() != Integer.MAX_VALUE && !rebuildNeeded) {
+            for (int row = e.getFirstRow(); row <= e.getLastRow(); row++) {
+                staleRows.add(row);
+            }
+        } else {
+            rebuildNeeded = true; // Rows shifted or everything changed
+        }
+    }
+
+    private void refresh() {
+        if (rebuildNeeded) {
+            postings.clear();
+            rowText.clear();
+            staleRows.clear();
+            for (int row = 0; row < model.getRowCount(); row++) {
+                rowText.add("");
+                indexRow(row);
+            }
+            rebuildNeeded = false;
+        } else if (!staleRows.isEmpty()) {
+            for (int row : staleRows) {
+                if (row < rowText.size()) {
+                    unindexRow(row);
+                    indexRow(row);
+                }
+            }
+            staleRows.clear();
+        }
+    }
+
+    /**
+     * The searchable text of a row: its lowercase cells, each followed by a separator,
+     * so a query never matches across two cells. Shared with IncrementalSearch.
+     * @param cells The row's cells (may contain nulls)
+     */
+    static String rowText(Object[] cells) {
+        StringBuilder text = new StringBuilder();
+        for (Object cell : cells) {
+            if (cell != null) {
+                text.append(cell.toString().toLowerCase());
+            }
+            text.append(CELL_SEPARATOR);
+        }
+        return text.toString();
+    }
+
+    private void indexRow(int row) {
+        Object[] cells = new Object[model.getColumnCount()];
+        for (int col = 0; col < cells.length; col++) {
+            cells[col] = model.getValueAt(row, col);
+        }
+        String value = rowText(cells);
+        rowText.set(row, value);
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            postings.computeIfAbsent(value.substring(i, i + GRAM), g -> new BitSet()).set(row);
+        }
+    }
+
+    private void unindexRow(int row) {
+        String value = rowText.get(row);
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            BitSet rows = postings.get(value.substring(i, i + GRAM));
+            if (rows != null) {
+                rows.clear(row);
+            }
+        }
+    }
+}
@@ -46,6 +46,29 @@ public class BarangayAreaMapper {
         return areas.clone();
     }
     
+    /**
+     * Finds the area of a barangay that a free-text location refers to,
+     * e.g. "near Upper Madang chapel" gives "Upper Madang".
+     * The longest matching area name wins, so "Upper Madang" is not taken for "Madang".
+     * Returns null if the location names no known area.
+     */
+    public static String findArea(String barangay, String location) {
+        if (location == null) {
+            return null;
+        }
+        String text = location.toLowerCase();
+        String found = null;
+        for (String area : AREA_MAP.getOrDefault(barangay, new String[0])) {
+            if (area.equals("Select Area")) {
+                continue; // Placeholder, not an area
+            }
+            if (text.contains(area.toLowerCase()) && (found == null || area.length() > found.length())) {
+                found = area;
+            }
+        }
+        return found;
+    }
+    
     /**
      * Gets all barangay-area mappings.
      * Returns an unmodifiable view to prevent external modification.
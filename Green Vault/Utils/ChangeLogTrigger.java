@@ -0,0 +1,48 @@
+package utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import org.h2.api.Trigger;
+
+/**
+ * H2 row trigger that records every insert, update and delete in the change_log table.
+ * Runs inside the writing transaction, so other app instances sharing the database
+ * (AUTO_SERVER mode) and the H2 console all leave an entry the poller can see.
+ */
+public class ChangeLogTrigger implements Trigger {
+    private String tableName;
+    
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName,
+                     String tableName, boolean before, int type) {
+        this.tableName = tableName.toLowerCase();
+    }
+    
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+        String op;
+        Object[] row;
+        if (oldRow == null) {
+            op = "INSERT";
+            row = newRow;
+        } else if (newRow == null) {
+            op = "DELETE";
+            row = oldRow;
+        } else {
+            op = "UPDATE";
+            row = newRow;
+        }
+        
+        // First column is the primary key of every tracked table (id or username)
+        String rowId = row[0] != null ? String.valueOf(row[0]) : null;
+        
+        String sql = "INSERT INTO change_log (table_name, op, row_id) VALUES (?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, tableName);
+            pstmt.setString(2, op);
+            pstmt.setString(3, rowId);
+            pstmt.executeUpdate();
+        }
+    }
+}
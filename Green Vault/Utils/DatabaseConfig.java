@@ -9,8 +9,8 @@ import java.sql.SQLException;
  * Provides connection strings and database settings.
  */
 public class DatabaseConfig {
-    // Database folder location
-    private static final String DB_FOLDER = "./database";
+    // Database folder location; -Dgreenvault.dbFolder=DIR uses another database (e.g. a throwaway one)
+    private static final String DB_FOLDER = System.getProperty("greenvault.dbFolder", "./database");
     // Database file location (file-based, persistent)
     private static final String DB_PATH = DB_FOLDER + "/greenvault";
     
@@ -167,7 +167,8 @@ public class DatabaseInitializer {
                     num_sacks INT DEFAULT 0,
                     waste_type VARCHAR(50),
                     status VARCHAR(50) NOT NULL,
-                    target_role VARCHAR(50)
+                    target_role VARCHAR(50),
+                    weight DOUBLE
                 )
                 """;
             
@@ -194,7 +195,20 @@ public class DatabaseInitializer {
             stmt.execute(createPendingRegistrationsTable);
             System.out.println("✓ Created/verified 'pending_registrations' table");
             System.out.flush();
-            
+
+            // Create lookup_values table and integer key columns (migration)
+            migrateLookupColumns(stmt);
+            migrateRequestWeights(stmt);
+            createQueueIndexes(stmt);
+            createRequestEvents(stmt);
+            createIntakeKey(stmt);
+            createCollectionSchedules(stmt);
+            migrateRequestStageAge(stmt);
+            createRequestArchive(stmt);
+            createInboxCounters(stmt);
+            createLookupKeyTriggers(stmt);
+            createChangeLog(stmt);
+
             System.out.println();
             System.out.println("========================================");
             System.out.println("Database initialized successfully!");
@@ -227,6 +241,351 @@ public class DatabaseInitializer {
         }
     }
     
+    /**
+     * Creates the lookup_values reference table and adds small integer key columns
+     * next to the repeated VARCHAR columns of waste_records and requests.
+     * Existing rows are backfilled (and createLookupKeyTriggers keeps later writes in
+     * step), so this is safe to run on every startup.
+     * @param stmt The statement to use
+     * @throws SQLException if database error occurs
+     */
+    private static void migrateLookupColumns(Statement stmt) throws SQLException {
+        String createLookupValuesTable = """
+            CREATE TABLE IF NOT EXISTS lookup_values (
+                id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                domain VARCHAR(20) NOT NULL,
+                name VARCHAR(200) NOT NULL,
+                UNIQUE (domain, name)
+            )
+            """;
+        stmt.execute(createLookupValuesTable);
+        System.out.println("✓ Created/verified 'lookup_values' table");
+        System.out.flush();
+
+        for (String[] key : LookupKeyTrigger.KEY_COLUMNS) {
+            String table = key[0];
+            String valueColumn = key[1];
+            String idColumn = key[2];
+            String domain = key[3];
+
+            addColumnIfMissing(stmt, table, idColumn, "INT");
+
+            // Register any values that are not in the lookup table yet
+            stmt.execute("MERGE INTO lookup_values (domain, name) KEY (domain, name) " +
+                         "SELECT DISTINCT '" + domain + "', " + valueColumn + " FROM " + table +
+                         " WHERE " + valueColumn + " IS NOT NULL AND " + idColumn + " IS NULL");
+
+            // Backfill keys for rows written before the column existed
+            int updated = stmt.executeUpdate("UPDATE " + table + " t SET " + idColumn + " = " +
+                         "(SELECT l.id FROM lookup_values l WHERE l.domain = '" + domain + "' AND l.name = t." + valueColumn + ") " +
+                         "WHERE " + idColumn + " IS NULL AND " + valueColumn + " IS NOT NULL");
+            if (updated > 0) {
+                System.out.println("✓ Backfilled '" + idColumn + "' for " + updated + " rows in '" + table + "'");
+            }
+
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_" + table + "_" + idColumn + " ON " + table + " (" + idColumn + ")");
+        }
+        System.out.println("✓ Created/verified lookup key columns and indexes");
+        System.out.flush();
+    }
+
+    /**
+     * Creates the composite indexes behind the request work queues (see RequestDAO),
+     * so listing a queue only touches the rows in it, not the whole request history.
+     * Needs the lookup key columns, so it runs after migrateLookupColumns.
+     * @param stmt The statement to use
+     * @throws SQLException if database error occurs
+     */
+    private static void createQueueIndexes(Statement stmt) throws SQLException {
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_requests_barangay_queue ON requests (barangay_id, status_id, target_role_id)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_requests_role_queue ON requests (target_role_id, status_id)");
+        System.out.println("✓ Created/verified request queue indexes");
+        System.out.flush();
+    }
+
+    /**
+     * Adds the numeric weight column to requests and backfills it from the
+     * "Weight: X kg | ..." prefix that older requests carry in their description,
+     * then drops that prefix, so descriptions never hold the weight.
+     * Only rows that still have the prefix are touched, so this is safe to run on every startup.
+     * @param stmt The statement to use
+     * @throws SQLException if database error occurs
+     */
+    private static void migrateRequestWeights(Statement stmt) throws SQLException {
+        addColumnIfMissing(stmt, "requests", "weight", "DOUBLE");
+
+        int updated = stmt.executeUpdate("UPDATE requests SET weight = " +
+                     "CAST(REGEXP_SUBSTR(description, 'Weight:\\s*([0-9]+(\\.[0-9]+)?) kg', 1, 1, NULL, 1) AS DOUBLE) " +
+                     "WHERE weight IS NULL AND description LIKE '%Weight:%'");
+        if (updated > 0) {
+            System.out.println("✓ Backfilled 'weight' for " + updated + " rows in 'requests'");
+            System.out.flush();
+        }
+
+        updated = stmt.executeUpdate("UPDATE requests SET description = " +
+                  "REGEXP_REPLACE(description, '^Weight:\\s*[0-9.]+ kg \\|\\s*', '') " +
+                  "WHERE weight IS NOT NULL AND description LIKE 'Weight:%'");
+        if (updated > 0) {
+            System.out.println("✓ Removed the weight prefix from " + updated + " descriptions in 'requests'");
+            System.out.flush();
+        }
+    }
+
+    /**
+     * Creates the request_events table, the append-only history of request steps
+     * (see RequestEventDAO). Requests that have no history yet get a creation event
+     * dated from their timestamp, so their first stage can be measured too.
+     * @param stmt The statement to use
+     * @throws SQLException if database error occurs
+     */
+    private static void createRequestEvents(Statement stmt) throws SQLException {
+        String createRequestEventsTable = """
+            CREATE TABLE IF NOT EXISTS request_events (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                request_id INT NOT NULL,
+                barangay VARCHAR(100),
+                stage VARCHAR(50),
+                event VARCHAR(20) NOT NULL,
+                from_status VARCHAR(50),
+                to_status VARCHAR(50),
+                event_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+            )
+            """;
+        stmt.execute(createRequestEventsTable);
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_request_events_request ON request_events (request_id, id)");
+        System.out.println("✓ Created/verified 'request_events' table");
+        System.out.flush();
+
+        int backfilled = stmt.executeUpdate(
+            "INSERT INTO request_events (request_id, barangay, event, to_status, event_at) " +
+            "SELECT r.id, r.barangay, 'CREATE', r.status, CAST(r.timestamp AS TIMESTAMP) FROM requests r " +
+            "WHERE REGEXP_LIKE(r.timestamp, '^\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}$') " +
+            "AND NOT EXISTS (SELECT 1 FROM request_events e WHERE e.request_id = r.id)");
+        if (backfilled > 0) {
+            System.out.println("✓ Backfilled creation events for " + backfilled + " requests");
+            System.out.flush();
+        }
+    }
+
+    /**
+     * Adds the indexed intake_key column to requests, a hash of barangay, location and
+     * waste type set by RequestDAO.createRequest, used to find duplicate submissions.
+     * Older rows keep a null key, so nothing is merged into them.
+     * @param stmt The statement to use
+     * @throws SQLException if database error occurs
+     */
+    private static void createIntakeKey(Statement stmt) throws SQLException {
+        addColumnIfMissing(stmt, "requests", "intake_key", "INT");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_requests_intake ON requests (intake_key, status_id)");
+        System.out.println("✓ Created/verified request intake index");
+        System.out.flush();
+    }
+
+    /**
+     * Creates the collection_schedules table: standing weekly pickups per area.
+     * last_period is the first day of the last week a request was created for.
+     * @param stmt The statement to use
+     * @throws SQLException if database error occurs
+     */
+    private static void createCollectionSchedules(Statement stmt) throws SQLException {
+        String createCollectionSchedulesTable = """
+            CREATE TABLE IF NOT EXISTS collection_schedules (
+                id INT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+                barangay VARCHAR(100) NOT NULL,
+                area VARCHAR(200) NOT NULL,
+                day_of_week INT NOT NULL,
+                waste_type VARCHAR(50),
+                num_sacks INT DEFAULT 1 NOT NULL,
+                created_by VARCHAR(50),
+                last_period DATE
+            )
+            """;
+        stmt.execute(createCollectionSchedulesTable);
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_collection_schedules_barangay ON collection_schedules (barangay)");
+        System.out.println("✓ Created/verified 'collection_schedules' table");
+        System.out.flush();
+    }
+
+    /**
+     * Adds the columns behind the SLA escalation scan (see services.SlaScanner):
+     * status_since, when a request entered its current stage, and escalated_at, when
+     * it was flagged as overdue there. The index lets the scan read only the overdue,
+     * not yet flagged requests of each stage. Needs request_events, so it runs after
+     * createRequestEvents: existing requests take their stage entry time from their history.
+     * @param stmt The statement to use
+     * @throws SQLException if database error occurs
+     */
+    private static void migrateRequestStageAge(Statement stmt) throws SQLException {
+        if (addColumnIfMissing(stmt, "requests", "status_since", "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")) {
+            int updated = stmt.executeUpdate(
+                "UPDATE requests r SET status_since = (SELECT MAX(e.event_at) FROM request_events e " +
+                "WHERE e.request_id = r.id AND e.event NOT IN ('MERGE', 'ESCALATE')) " +
+                "WHERE EXISTS (SELECT 1 FROM request_events e WHERE e.request_id = r.id AND e.event NOT IN ('MERGE', 'ESCALATE'))");
+            System.out.println("✓ Backfilled 'status_since' for " + updated + " rows in 'requests'");
+            System.out.flush();
+        }
+        addColumnIfMissing(stmt, "requests", "escalated_at", "TIMESTAMP");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_requests_stage_age ON requests (status_id, escalated_at, status_since)");
+        System.out.println("✓ Created/verified request stage age index");
+        System.out.flush();
+    }
+
+    /**
+     * Creates the requests_archive table, the cold store for finished requests
+     * (see dao.RequestArchiveDAO). Rows keep their request ID; lookup key columns and
+     * queue indexes are left out, since the archive is only read by reports.
+     * @param stmt The statement to use
+     * @throws SQLException if database error occurs
+     */
+    private static void createRequestArchive(Statement stmt) throws SQLException {
+        String createRequestArchiveTable = """
+            CREATE TABLE IF NOT EXISTS requests_archive (
+                id INT PRIMARY KEY,
+                timestamp VARCHAR(50) NOT NULL,
+                requester VARCHAR(50) NOT NULL,
+                barangay VARCHAR(100) NOT NULL,
+                request_type VARCHAR(50) NOT NULL,
+                location VARCHAR(200),
+                description TEXT,
+                num_sacks INT DEFAULT 0,
+                waste_type VARCHAR(50),
+                status VARCHAR(50) NOT NULL,
+                target_role VARCHAR(50),
+                weight DOUBLE,
+                status_since TIMESTAMP,
+                archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+            )
+            """;
+        stmt.execute(createRequestArchiveTable);
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_requests_archive_barangay ON requests_archive (barangay, status)");
+        // Rows archived before migrateRequestWeights dropped the weight prefix still have it
+        stmt.executeUpdate("UPDATE requests_archive SET description = " +
+                           "REGEXP_REPLACE(description, '^Weight:\\s*[0-9.]+ kg \\|\\s*', '') " +
+                           "WHERE weight IS NOT NULL AND description LIKE 'Weight:%'");
+        System.out.println("✓ Created/verified 'requests_archive' table");
+        System.out.flush();
+    }
+
+    /**
+     * Creates the inbox_counters table: how many requests each target role has per
+     * barangay and status, kept up to date by InboxCounterTrigger in the same transaction
+     * as every insert, status change and delete. Every status is counted, final ones too;
+     * readers pick the statuses they need (see RequestService.getInboxCounts). A new table
+     * is filled from the existing requests once; after that the counts are never recomputed.
+     * @param stmt The statement to use
+     * @throws SQLException if database error occurs
+     */
+    private static void createInboxCounters(Statement stmt) throws SQLException {
+        boolean tableExists = false;
+        try (java.sql.ResultSet rs = stmt.executeQuery(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES " +
+                "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = 'INBOX_COUNTERS'")) {
+            if (rs.next()) {
+                tableExists = rs.getInt(1) > 0;
+            }
+        }
+
+        String createInboxCountersTable = """
+            CREATE TABLE IF NOT EXISTS inbox_counters (
+                target_role VARCHAR(50) NOT NULL,
+                barangay VARCHAR(100) NOT NULL,
+                status VARCHAR(50) NOT NULL,
+                request_count INT DEFAULT 0 NOT NULL,
+                PRIMARY KEY (target_role, barangay, status)
+            )
+            """;
+        stmt.execute(createInboxCountersTable);
+        // Older versions named the count column "pending", though it counts every status
+        stmt.execute("ALTER TABLE inbox_counters ALTER COLUMN IF EXISTS pending RENAME TO request_count");
+        if (!tableExists) {
+            int counters = stmt.executeUpdate(
+                "INSERT INTO inbox_counters (target_role, barangay, status, request_count) " +
+                "SELECT COALESCE(target_role, ''), barangay, status, COUNT(*) FROM requests " +
+                "GROUP BY COALESCE(target_role, ''), barangay, status");
+            System.out.println("✓ Backfilled " + counters + " rows in 'inbox_counters'");
+        }
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS trg_requests_inbox_counters " +
+                     "AFTER INSERT, UPDATE, DELETE ON requests FOR EACH ROW " +
+                     "CALL 'utils.InboxCounterTrigger'");
+        System.out.println("✓ Created/verified 'inbox_counters' table and trigger");
+        System.out.flush();
+    }
+
+    /**
+     * Creates the triggers that keep the lookup key columns in step with their VARCHAR
+     * columns (see LookupKeyTrigger), whoever writes them. Keep this after every column
+     * migration of both tables: a trigger created before an ALTER TABLE in the same
+     * session stops filling the keys until the next restart.
+     * @param stmt The statement to use
+     * @throws SQLException if database error occurs
+     */
+    private static void createLookupKeyTriggers(Statement stmt) throws SQLException {
+        for (String table : new String[]{"waste_records", "requests"}) {
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS trg_" + table + "_lookup_keys " +
+                         "BEFORE INSERT, UPDATE ON " + table + " FOR EACH ROW " +
+                         "CALL 'utils.LookupKeyTrigger'");
+        }
+        System.out.println("✓ Created/verified lookup key triggers");
+        System.out.flush();
+    }
+
+    /**
+     * Creates the change_log table and the triggers that fill it, so every instance
+     * sharing the database can see which rows other processes changed.
+     * @param stmt The statement to use
+     * @throws SQLException if database error occurs
+     */
+    private static void createChangeLog(Statement stmt) throws SQLException {
+        String createChangeLogTable = """
+            CREATE TABLE IF NOT EXISTS change_log (
+                seq BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                table_name VARCHAR(50) NOT NULL,
+                op VARCHAR(10) NOT NULL,
+                row_id VARCHAR(100),
+                changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+            )
+            """;
+        stmt.execute(createChangeLogTable);
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_change_log_changed_at ON change_log (changed_at)");
+        
+        for (String table : new String[]{"users", "waste_records", "requests"}) {
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS trg_" + table + "_change_log " +
+                         "AFTER INSERT, UPDATE, DELETE ON " + table + " FOR EACH ROW " +
+                         "CALL 'utils.ChangeLogTrigger'");
+        }
+        System.out.println("✓ Created/verified 'change_log' table and triggers");
+        System.out.flush();
+    }
+
+    /**
+     * Adds a column to a table if it does not exist yet (migration helper).
+     * @param stmt The statement to use
+     * @param table The table name
+     * @param column The column name
+     * @param definition The column type and constraints
+     * @return true if the column was added
+     * @throws SQLException if database error occurs
+     */
+    private static boolean addColumnIfMissing(Statement stmt, String table, String column, String definition) throws SQLException {
+        boolean columnExists = false;
+        try (java.sql.ResultSet rs = stmt.executeQuery(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS " +
+                "WHERE TABLE_SCHEMA = 'PUBLIC' " +
+                "AND TABLE_NAME = '" + table.toUpperCase() + "' " +
+                "AND COLUMN_NAME = '" + column.toUpperCase() + "'")) {
+            if (rs.next()) {
+                columnExists = rs.getInt(1) > 0;
+            }
+        }
+
+        if (!columnExists) {
+            stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+            System.out.println("✓ Added '" + column + "' column to '" + table + "' table (migration)");
+            System.out.flush();
+        }
+        return !columnExists;
+    }
+
     /**
      * Checks if the database tables exist.
      * @return true if all tables exist, false otherwise
@@ -0,0 +1,93 @@
+package utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Objects;
+import org.h2.api.Trigger;
+
+/**
+ * H2 row trigger on requests that keeps inbox_counters up to date: the number of
+ * requests per target role, barangay and status (every status, final ones included).
+ * Runs inside the writing transaction, so the counts always match the requests table,
+ * whoever writes to it.
+ */
+public class InboxCounterTrigger implements Trigger {
+    private static final String SQL = """
+        MERGE INTO inbox_counters c
+        USING (VALUES (CAST(? AS VARCHAR(50)), CAST(? AS VARCHAR(100)), CAST(? AS VARCHAR(50)), CAST(? AS INT)))
+              AS d(target_role, barangay, status, delta)
+        ON c.target_role = d.target_role AND c.barangay = d.barangay AND c.status = d.status
+        WHEN MATCHED THEN UPDATE SET request_count = c.request_count + d.delta
+        WHEN NOT MATCHED THEN INSERT (target_role, barangay, status, request_count)
+                              VALUES (d.target_role, d.barangay, d.status, d.delta)
+        """;
+
+    // Positions of the counted columns in the trigger's row arrays
+    private int barangayIndex;
+    private int statusIndex;
+    private int targetRoleIndex;
+
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName,
+                     String tableName, boolean before, int type) throws SQLException {
+        String sql = "SELECT COLUMN_NAME, ORDINAL_POSITION FROM INFORMATION_SCHEMA.COLUMNS " +
+                     "WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, schemaName);
+            pstmt.setString(2, tableName);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    int index = rs.getInt("ORDINAL_POSITION") - 1;
+                    switch (rs.getString("COLUMN_NAME")) {
+                        case "BARANGAY" -> barangayIndex = index;
+                        case "STATUS" -> statusIndex = index;
+                        case "TARGET_ROLE" -> targetRoleIndex = index;
+                        default -> { }
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+        String[] oldKey = oldRow != null ? key(oldRow) : null;
+        String[] newKey = newRow != null ? key(newRow) : null;
+        if (oldKey != null && newKey != null && Arrays.equals(oldKey, newKey)) {
+            return; // Same queue, e.g. a merged duplicate or an SLA flag
+        }
+
+        try (PreparedStatement pstmt = conn.prepareStatement(SQL)) {
+            if (oldKey != null) {
+                addDelta(pstmt, oldKey, -1);
+            }
+            if (newKey != null) {
+                addDelta(pstmt, newKey, 1);
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    /**
+     * The counter a row belongs to {target_role, barangay, status}; a missing
+     * target role is counted as "" so the key columns can stay NOT NULL.
+     */
+    private String[] key(Object[] row) {
+        return new String[]{
+            Objects.toString(row[targetRoleIndex], ""),
+            Objects.toString(row[barangayIndex], ""),
+            Objects.toString(row[statusIndex], "")
+        };
+    }
+
+    private static void addDelta(PreparedStatement pstmt, String[] key, int delta) throws SQLException {
+        pstmt.setString(1, key[0]);
+        pstmt.setString(2, key[1]);
+        pstmt.setString(3, key[2]);
+        pstmt.setInt(4, delta);
+        pstmt.addBatch();
+    }
+}
@@ -0,0 +1,101 @@
+package utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.h2.api.Trigger;
+
+/**
+ * H2 row trigger that fills the lookup key columns (status_id, barangay_id, ...) from
+ * their VARCHAR columns on every insert and update, registering new values in
+ * lookup_values. The queue queries filter on the keys, so this keeps them right for
+ * writes that only set the text columns, e.g. from the H2 console or older app versions.
+ */
+public class LookupKeyTrigger implements Trigger {
+    /**
+     * Key columns kept by the trigger: {table, VARCHAR column, key column, lookup domain}.
+     */
+    public static final String[][] KEY_COLUMNS = {
+        {"waste_records", "role", "role_id", "role"},
+        {"waste_records", "type", "type_id", "waste_type"},
+        {"waste_records", "barangay", "barangay_id", "barangay"},
+        {"requests", "barangay", "barangay_id", "barangay"},
+        {"requests", "waste_type", "waste_type_id", "waste_type"},
+        {"requests", "status", "status_id", "status"},
+        {"requests", "target_role", "target_role_id", "role"}
+    };
+
+    // Per key column of this table: {value index, key index} and its domain
+    private final List<int[]> positions = new ArrayList<>();
+    private final List<String> domains = new ArrayList<>();
+
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName,
+                     String tableName, boolean before, int type) throws SQLException {
+        for (String[] key : KEY_COLUMNS) {
+            if (key[0].equalsIgnoreCase(tableName)) {
+                positions.add(new int[]{columnIndex(conn, schemaName, tableName, key[1]),
+                                        columnIndex(conn, schemaName, tableName, key[2])});
+                domains.add(key[3]);
+            }
+        }
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+        for (int i = 0; i < positions.size(); i++) {
+            int valueIndex = positions.get(i)[0];
+            int keyIndex = positions.get(i)[1];
+            Object value = newRow[valueIndex];
+            if (oldRow != null && newRow[keyIndex] != null && Objects.equals(oldRow[valueIndex], value)
+                    && Objects.equals(oldRow[keyIndex], newRow[keyIndex])) {
+                continue; // Value and key untouched
+            }
+            newRow[keyIndex] = value != null ? lookupId(conn, domains.get(i), value.toString()) : null;
+        }
+    }
+
+    /**
+     * Gets the key of a value, registering it in the writing transaction if it is new.
+     */
+    private static Integer lookupId(Connection conn, String domain, String value) throws SQLException {
+        String select = "SELECT id FROM lookup_values WHERE domain = ? AND name = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(select)) {
+            pstmt.setString(1, domain);
+            pstmt.setString(2, value);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+        }
+
+        String merge = "MERGE INTO lookup_values (domain, name) KEY (domain, name) VALUES (?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(merge)) {
+            pstmt.setString(1, domain);
+            pstmt.setString(2, value);
+            pstmt.executeUpdate();
+        }
+        return lookupId(conn, domain, value); // Found now
+    }
+
+    private static int columnIndex(Connection conn, String schemaName, String tableName, String column) throws SQLException {
+        String sql = "SELECT ORDINAL_POSITION FROM INFORMATION_SCHEMA.COLUMNS " +
+                     "WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ? AND COLUMN_NAME = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, schemaName);
+            pstmt.setString(2, tableName);
+            pstmt.setString(3, column.toUpperCase());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("Column " + column + " not found in " + tableName);
+                }
+                return rs.getInt(1) - 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package services;
+
+import dao.ChangeLogDAO;
+import dao.LookupDAO;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service class that saves the service-layer caches to a compact binary file on shutdown
+ * and restores them on startup, so the first dashboard paint does not reload every table.
+ * The snapshot records the change log sequence it is current to; the change log poller
+ * is started from there, so only the rows changed since then are read from H2.
+ */
+public class CacheSnapshotService {
+    private static final String SNAPSHOT_FILE = "data/cache.snapshot";
+    private static final int MAGIC = 0x47564353; // "GVCS"
+    private static final int VERSION = 1;
+    
+    /**
+     * Writes the cached waste records to the snapshot file.
+     * Does nothing if the change log poller never caught up (sequence unknown).
+     */
+    public static void save() {
+        long seq = ChangeNotifier.getLastSequence();
+        if (seq < 0) {
+            return;
+        }
+        Map<String, List<Object[]>> cached = WasteDataService.getCachedRecords();
+        
+        // Repeated strings (dates, areas, types, barangays) are written once and referenced by index
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (Map.Entry<String, List<Object[]>> entry : cached.entrySet()) {
+            addString(dictionary, strings, entry.getKey());
+            for (Object[] record : entry.getValue()) {
+                for (int i : new int[]{1, 2, 4, 5}) {
+                    addString(dictionary, strings, (String) record[i]);
+                }
+            }
+        }
+        
+        File file = new File(SNAPSHOT_FILE);
+        File tmpFile = new File(SNAPSHOT_FILE + ".tmp");
+        try {
+            file.getParentFile().mkdirs();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(seq);
+                out.writeLong(System.currentTimeMillis());
+                
+                out.writeInt(strings.size());
+                for (String s : strings) {
+                    out.writeUTF(s);
+                }
+                
+                out.writeInt(cached.size());
+                for (Map.Entry<String, List<Object[]>> entry : cached.entrySet()) {
+                    out.writeInt(dictionary.get(entry.getKey()));
+                    out.writeInt(entry.getValue().size());
+                    for (Object[] record : entry.getValue()) {
+                        // Format: {id, date, area, weight, type, barangay}
+                        out.writeInt((Integer) record[0]);
+                        out.writeInt(indexOf(dictionary, (String) record[1]));
+                        out.writeInt(indexOf(dictionary, (String) record[2]));
+                        out.writeDouble(((Number) record[3]).doubleValue());
+                        out.writeInt(indexOf(dictionary, (String) record[4]));
+                        out.writeInt(indexOf(dictionary, (String) record[5]));
+                    }
+                }
+            }
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.err.println("Error saving cache snapshot: " + e.getMessage());
+            tmpFile.delete();
+        }
+    }
+    
+    /**
+     * Restores the caches from the snapshot file. The changes made since it was taken are
+     * applied by the change log poller, started from the returned sequence (it also handles
+     * changes that commit out of sequence order). The snapshot is ignored if the change log
+     * no longer covers the changes since then (pruned or database replaced).
+     * @return The change sequence the restored caches are current to (start the poller from here),
+     *         or -1 if no snapshot was restored
+     */
+    public static long load() {
+        File file = new File(SNAPSHOT_FILE);
+        if (!file.exists()) {
+            return -1;
+        }
+        
+        Map<String, List<Object[]>> records = new HashMap<>();
+        long seq;
+        long savedAt;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return -1; // Not a snapshot, or written by another version
+            }
+            seq = in.readLong();
+            savedAt = in.readLong();
+            
+            String[] strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = in.readUTF(); // Shared within the snapshot already
+            }
+            
+            int roleCount = in.readInt();
+            for (int r = 0; r < roleCount; r++) {
+                String role = LookupDAO.intern(strings[in.readInt()]);
+                int rowCount = in.readInt();
+                List<Object[]> rows = new ArrayList<>(rowCount);
+                for (int i = 0; i < rowCount; i++) {
+                    rows.add(new Object[]{
+                        in.readInt(),
+                        stringAt(strings, in.readInt()),
+                        stringAt(strings, in.readInt()),
+                        in.readDouble(),
+                        LookupDAO.intern(stringAt(strings, in.readInt())),
+                        LookupDAO.intern(stringAt(strings, in.readInt()))
+                    });
+                }
+                records.put(role, rows);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable cache snapshot: " + e.getMessage());
+            return -1;
+        }
+        
+        try {
+            if (!isCoveredByChangeLog(seq, savedAt)) {
+                return -1;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error validating cache snapshot: " + e.getMessage());
+            return -1;
+        }
+        
+        WasteDataService.restoreCachedRecords(records);
+        return seq;
+    }
+    
+    /**
+     * Checks that every change after the snapshot is still in the change log.
+     */
+    private static boolean isCoveredByChangeLog(long seq, long savedAt) throws SQLException {
+        long latest = ChangeLogDAO.getLatestSequence();
+        long oldest = ChangeLogDAO.getOldestSequence();
+        if (latest == 0) {
+            // Empty log: nothing changed since the snapshot only if it is newer than the retention window
+            long ageMillis = System.currentTimeMillis() - savedAt;
+            return seq == 0 && ageMillis < ChangeNotifier.RETENTION_HOURS * 3600_000L;
+        }
+        if (latest < seq) {
+            return false; // Database was replaced or reset
+        }
+        return oldest <= seq + 1; // Otherwise changes after the snapshot were pruned
+    }
+    
+    private static void addString(Map<String, Integer> dictionary, List<String> strings, String value) {
+        if (value != null && !dictionary.containsKey(value)) {
+            dictionary.put(value, strings.size());
+            strings.add(value);
+        }
+    }
+    
+    private static int indexOf(Map<String, Integer> dictionary, String value) {
+        return value == null ? -1 : dictionary.get(value);
+    }
+    
+    private static String stringAt(String[] strings, int index) {
+        return index < 0 ? null : strings[index];
+    }
+}
@@ -0,0 +1,222 @@
+package services;
+
+import dao.ChangeLogDAO;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class that polls the change_log table and tells listeners which rows
+ * changed, including writes made by other app instances or the H2 console.
+ * Listeners are called on the poller thread; GUI listeners must hop to the EDT.
+ * Sequence numbers are taken at insert but become visible at commit, so a long
+ * transaction can commit a lower number after higher ones were already read.
+ * The poller therefore keeps re-reading from its last gap-free number until the
+ * gap fills (or is given up after GAP_TIMEOUT_MS, e.g. for a rolled-back insert),
+ * delivering each change once.
+ */
+public class ChangeNotifier {
+    private static final long POLL_INTERVAL_MS = 2000;
+    private static final int MAX_CHANGES_PER_POLL = 500;
+    // Prune roughly once a minute, keeping a day of history
+    private static final int PRUNE_EVERY_POLLS = 30;
+    static final int RETENTION_HOURS = 24;
+    // How long a missing sequence number is waited for before it is assumed never to commit
+    static final long GAP_TIMEOUT_MS = 30_000;
+    
+    /**
+     * One row change read from the change log.
+     */
+    public record Change(long seq, String table, String op, String rowId) {}
+    
+    /**
+     * Receives the changes for one table, in sequence order, once per poll.
+     */
+    public interface ChangeListener {
+        void changesDetected(List<Change> changes);
+    }
+    
+    // Listeners per table name: {table -> listeners}
+    private static final Map<String, List<ChangeListener>> listeners = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService poller;
+    // Every change up to lastSeq has been delivered (or its gap given up on)
+    private static volatile long lastSeq = -1;
+    // Changes above lastSeq already delivered, waiting for the gap below them to fill (poller thread only)
+    private static final TreeSet<Long> deliveredAhead = new TreeSet<>();
+    // When the missing number lastSeq + 1 was first noticed, or 0 if there is no gap
+    private static long gapSince = 0;
+    private static int pollCount = 0;
+    
+    /**
+     * Starts the background poller. Only changes made after this call are reported.
+     * Calling it again while running has no effect.
+     */
+    public static synchronized void start() {
+        long latest;
+        try {
+            latest = ChangeLogDAO.getLatestSequence();
+        } catch (SQLException e) {
+            System.err.println("Error reading change log: " + e.getMessage());
+            latest = -1; // First successful poll sets the starting point
+        }
+        start(latest);
+    }
+    
+    /**
+     * Starts the background poller, reporting every change after the given sequence number
+     * (e.g. the point a restored cache snapshot was brought up to).
+     * Calling it again while running has no effect.
+     * @param fromSeq The last sequence number already reflected in local caches
+     */
+    public static synchronized void start(long fromSeq) {
+        if (poller != null) {
+            return;
+        }
+        lastSeq = fromSeq;
+        deliveredAhead.clear();
+        gapSince = 0;
+        
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "change-log-poller");
+            t.setDaemon(true);
+            return t;
+        });
+        // First poll right away, so a restored snapshot catches up before the first dashboard paint
+        poller.scheduleWithFixedDelay(ChangeNotifier::poll, 0, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Stops the background poller.
+     */
+    public static synchronized void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+            poller = null;
+        }
+    }
+    
+    /**
+     * Registers a listener for changes to a table (e.g. "requests", "waste_records", "users").
+     * @param table The table name
+     * @param listener The listener to call
+     */
+    public static void addListener(String table, ChangeListener listener) {
+        listeners.computeIfAbsent(table, t -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+    
+    /**
+     * Removes a listener registered with addListener.
+     * @param table The table name
+     * @param listener The listener to remove
+     */
+    public static void removeListener(String table, ChangeListener listener) {
+        List<ChangeListener> tableListeners = listeners.get(table);
+        if (tableListeners != null) {
+            tableListeners.remove(listener);
+        }
+    }
+    
+    /**
+     * Gets the sequence number of the last change delivered to listeners.
+     * Every change up to this number has been applied by the listeners.
+     * @return The last processed sequence number, or -1 if the poller has not started
+     */
+    public static long getLastSequence() {
+        return lastSeq;
+    }
+    
+    /**
+     * Reads new change log entries and dispatches them grouped by table.
+     */
+    static void poll() {
+        try {
+            if (lastSeq < 0) {
+                lastSeq = ChangeLogDAO.getLatestSequence();
+                return;
+            }
+            
+            // Read from the last gap-free number, skipping changes delivered by earlier polls
+            long from = lastSeq;
+            List<Object[]> rows;
+            do {
+                rows = ChangeLogDAO.getChangesSince(from, MAX_CHANGES_PER_POLL);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                
+                Map<String, List<Change>> byTable = new LinkedHashMap<>();
+                List<Long> delivered = new ArrayList<>();
+                for (Object[] row : rows) {
+                    Change change = new Change((Long) row[0], (String) row[1], (String) row[2], (String) row[3]);
+                    if (deliveredAhead.contains(change.seq())) {
+                        continue;
+                    }
+                    byTable.computeIfAbsent(change.table(), t -> new ArrayList<>()).add(change);
+                    delivered.add(change.seq());
+                }
+                for (Map.Entry<String, List<Change>> entry : byTable.entrySet()) {
+                    dispatch(entry.getKey(), entry.getValue());
+                }
+                // Recorded only after listeners ran, so caches reflect every change up to lastSeq
+                deliveredAhead.addAll(delivered);
+                from = (Long) rows.get(rows.size() - 1)[0];
+            } while (rows.size() == MAX_CHANGES_PER_POLL);
+            advanceLastSequence();
+            
+            if (++pollCount % PRUNE_EVERY_POLLS == 0) {
+                ChangeLogDAO.pruneOlderThan(RETENTION_HOURS);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error polling change log: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Moves lastSeq up over the delivered changes that have no gap below them.
+     * A gap that stays open longer than GAP_TIMEOUT_MS is skipped.
+     */
+    private static void advanceLastSequence() {
+        long now = System.currentTimeMillis();
+        while (!deliveredAhead.isEmpty()) {
+            long next = deliveredAhead.first();
+            if (next <= lastSeq + 1) {
+                lastSeq = Math.max(lastSeq, next);
+                deliveredAhead.pollFirst();
+                gapSince = 0;
+                continue;
+            }
+            // lastSeq + 1 .. next - 1 are missing: still uncommitted, or never committed
+            if (gapSince == 0) {
+                gapSince = now;
+            }
+            if (now - gapSince < GAP_TIMEOUT_MS) {
+                break;
+            }
+            lastSeq = next - 1;
+            gapSince = 0;
+        }
+    }
+    
+    private static void dispatch(String table, List<Change> changes) {
+        List<ChangeListener> tableListeners = listeners.get(table);
+        if (tableListeners == null) {
+            return;
+        }
+        for (ChangeListener listener : tableListeners) {
+            try {
+                listener.changesDetected(changes);
+            } catch (RuntimeException e) {
+                System.err.println("Error in change listener for " + table + ": " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+}
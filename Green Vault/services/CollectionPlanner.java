@@ -0,0 +1,170 @@
+package services;
+
+import utils.BarangayAreaMapper;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Plans collection trips for the Garbage Collector: pending collection requests are
+ * grouped by barangay and area (see BarangayAreaMapper) and packed into batches that
+ * fit one truck, so neighbouring requests are collected in the same trip.
+ * The pending requests are read from DispatchQueue's in-memory queue, so planning
+ * does not re-read the queue from the database.
+ */
+public class CollectionPlanner {
+
+    // Default truck capacity
+    public static final int DEFAULT_MAX_SACKS = 40;
+    public static final double DEFAULT_MAX_KG = 1000.0;
+
+    private static final String ROLE = "Garbage Collector";
+    private static final String COLLECTION_TYPE = "Waste Collection";
+
+    /**
+     * A request to collect.
+     * @param area The area it is in, or the barangay name if its location names no known area
+     * @param weight The weight in kg, or null if unknown
+     */
+    public record Stop(int requestId, String timestamp, String barangay, String area, int sacks, Double weight) {}
+
+    /**
+     * The stops of one truck trip, all in one barangay.
+     * @param weightKg Total of the known weights
+     */
+    public record Batch(String barangay, List<String> areas, List<Stop> stops, int sacks, double weightKg) {}
+
+    /**
+     * Plans trips with the default truck capacity.
+     * @return The batches, by barangay
+     */
+    public static List<Batch> plan() {
+        return plan(DEFAULT_MAX_SACKS, DEFAULT_MAX_KG);
+    }
+
+    /**
+     * Plans trips for the pending collection requests. Within a barangay, whole area
+     * groups are packed into trucks (largest first, each into the first truck with room);
+     * an area too big for one truck is split, oldest requests first.
+     * A single request over capacity gets a truck of its own.
+     * @param maxSacks Sacks one truck carries
+     * @param maxKg Weight one truck carries (requests without a weight only count sacks)
+     * @return The batches, by barangay
+     */
+    public static List<Batch> plan(int maxSacks, double maxKg) {
+        List<Object[]> queue;
+        try {
+            queue = DispatchQueue.getQueuedRequests();
+        } catch (SQLException e) {
+            System.err.println("Error loading collection requests: " + e.getMessage());
+            return new ArrayList<>();
+        }
+
+        // {barangay -> {area -> stops}}
+        Map<String, Map<String, List<Stop>>> groups = new TreeMap<>();
+        for (Object[] request : queue) {
+            if (!COLLECTION_TYPE.equals(request[4])) {
+                continue; // Equipment requests are not collected
+            }
+            Stop stop = toStop(request);
+            groups.computeIfAbsent(stop.barangay(), k -> new TreeMap<>())
+                  .computeIfAbsent(stop.area(), k -> new ArrayList<>())
+                  .add(stop);
+        }
+
+        List<Batch> batches = new ArrayList<>();
+        for (Map.Entry<String, Map<String, List<Stop>>> barangay : groups.entrySet()) {
+            List<Load> chunks = new ArrayList<>();
+            for (List<Stop> stops : barangay.getValue().values()) {
+                stops.sort(Comparator.comparing(Stop::timestamp));
+                chunks.addAll(split(stops, maxSacks, maxKg));
+            }
+            chunks.sort(Comparator.comparingInt((Load chunk) -> chunk.sacks).reversed());
+
+            List<Load> trucks = new ArrayList<>();
+            for (Load chunk : chunks) {
+                Load truck = null;
+                for (Load candidate : trucks) {
+                    if (candidate.fits(chunk.sacks, chunk.kg, maxSacks, maxKg)) {
+                        truck = candidate;
+                        break;
+                    }
+                }
+                if (truck == null) {
+                    truck = new Load();
+                    trucks.add(truck);
+                }
+                truck.addAll(chunk);
+            }
+
+            for (Load truck : trucks) {
+                batches.add(new Batch(barangay.getKey(), new ArrayList<>(truck.areas),
+                    Collections.unmodifiableList(truck.stops), truck.sacks, truck.kg));
+            }
+        }
+        return batches;
+    }
+
+    /**
+     * Splits an area group, in order, into loads that each fit one truck.
+     */
+    private static List<Load> split(List<Stop> stops, int maxSacks, double maxKg) {
+        List<Load> loads = new ArrayList<>();
+        Load current = new Load();
+        for (Stop stop : stops) {
+            double kg = stop.weight() != null ? stop.weight() : 0.0;
+            if (!current.stops.isEmpty() && !current.fits(stop.sacks(), kg, maxSacks, maxKg)) {
+                loads.add(current);
+                current = new Load();
+            }
+            current.add(stop);
+        }
+        if (!current.stops.isEmpty()) {
+            loads.add(current);
+        }
+        return loads;
+    }
+
+    /**
+     * Stops packed together, with their running totals.
+     */
+    private static class Load {
+        final List<Stop> stops = new ArrayList<>();
+        final Set<String> areas = new LinkedHashSet<>();
+        int sacks;
+        double kg;
+
+        boolean fits(int moreSacks, double moreKg, int maxSacks, double maxKg) {
+            return sacks + moreSacks <= maxSacks && kg + moreKg <= maxKg;
+        }
+
+        void add(Stop stop) {
+            stops.add(stop);
+            areas.add(stop.area());
+            sacks += stop.sacks();
+            kg += stop.weight() != null ? stop.weight() : 0.0;
+        }
+
+        void addAll(Load other) {
+            for (Stop stop : other.stops) {
+                add(stop);
+            }
+        }
+    }
+
+    /**
+     * Converts a request (database format) to a stop.
+     */
+    private static Stop toStop(Object[] request) {
+        String barangay = (String) request[3];
+        String area = BarangayAreaMapper.findArea(barangay, (String) request[5]);
+        return new Stop((Integer) request[0], (String) request[1], barangay,
+            area != null ? area : barangay, (Integer) request[7], (Double) request[11]);
+    }
+}
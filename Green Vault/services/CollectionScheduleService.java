@@ -0,0 +1,191 @@
+package services;
+
+import dao.ScheduleDAO;
+import java.sql.SQLException;
+import java.text.SimpleDateFormat;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class for recurring collections: a Barangay Captain sets up a weekly pickup
+ * of an area once, and a background scheduler turns every schedule into a request at
+ * the start of each week. The schedule itself is the approval, so these requests go
+ * straight to the Garbage Collector's queue instead of through the approval chain.
+ */
+public class CollectionScheduleService {
+    // How often the scheduler looks for schedules not yet covered this week
+    private static final long CHECK_INTERVAL_MINUTES = 60;
+    private static final String TARGET_ROLE = "Garbage Collector";
+    private static final String TARGET_STATUS = "Pending (Garbage Collector)";
+
+    private static ScheduledExecutorService scheduler;
+
+    /**
+     * Starts the background scheduler; it runs once right away, then every hour.
+     * Calling it again while running has no effect.
+     */
+    public static synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "collection-scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(CollectionScheduleService::generateDueRequests,
+            0, CHECK_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the background scheduler.
+     */
+    public static synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Creates a weekly schedule. If this week's pickup day is still ahead, this
+     * week's request is created right away; otherwise the first one comes next week.
+     * @param barangay The barangay
+     * @param area The area collected
+     * @param dayOfWeek Pickup day, 1 (Monday) to 7 (Sunday)
+     * @param wasteType Type of waste
+     * @param numSacks Usual number of sacks
+     * @param createdBy Username of the Barangay Captain
+     * @return true if successful, false otherwise
+     */
+    public static boolean createSchedule(String barangay, String area, int dayOfWeek, String wasteType,
+                                         int numSacks, String createdBy) {
+        if (dayOfWeek < 1 || dayOfWeek > 7 || numSacks <= 0) {
+            return false;
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate lastPeriod = today.getDayOfWeek().getValue() > dayOfWeek ? periodStart(today) : null;
+
+        try {
+            if (ScheduleDAO.createSchedule(barangay, area, dayOfWeek, wasteType, numSacks, createdBy, lastPeriod) <= 0) {
+                return false;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error creating collection schedule: " + e.getMessage());
+            return false;
+        }
+        if (lastPeriod == null) {
+            generateDueRequests();
+        }
+        return true;
+    }
+
+    /**
+     * Gets the schedules of a barangay.
+     * @param barangay The barangay
+     * @return List of schedules {id, area, day name, wasteType, numSacks, last week covered (or "-")}
+     */
+    public static List<Object[]> getSchedules(String barangay) {
+        List<Object[]> result = new ArrayList<>();
+        try {
+            for (Object[] schedule : ScheduleDAO.getSchedulesByBarangay(barangay)) {
+                result.add(new Object[]{
+                    schedule[0],
+                    schedule[2],
+                    dayName((Integer) schedule[3]),
+                    schedule[4],
+                    schedule[5],
+                    schedule[7] != null ? schedule[7].toString() : "-"
+                });
+            }
+        } catch (SQLException e) {
+            System.err.println("Error loading collection schedules: " + e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * Deletes a schedule. Requests it already created stay in the queue.
+     * @param id The schedule ID
+     * @return true if successful, false otherwise
+     */
+    public static boolean deleteSchedule(int id) {
+        try {
+            return ScheduleDAO.deleteSchedule(id);
+        } catch (SQLException e) {
+            System.err.println("Error deleting collection schedule: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Creates this week's request for every schedule that has none yet, with one
+     * batched insert. Safe to run from several instances: each schedule is claimed
+     * for the week in the same transaction as its request.
+     * @return Number of requests created
+     */
+    public static synchronized int generateDueRequests() {
+        LocalDate periodStart = periodStart(LocalDate.now());
+        try {
+            List<Object[]> due = ScheduleDAO.getDueSchedules(periodStart);
+            if (due.isEmpty()) {
+                return 0;
+            }
+
+            String timestamp = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
+            List<Integer> scheduleIds = new ArrayList<>();
+            List<Object[]> requests = new ArrayList<>();
+            for (Object[] schedule : due) {
+                int dayOfWeek = (Integer) schedule[3];
+                LocalDate pickup = periodStart.plusDays(dayOfWeek - 1);
+                String description = "Scheduled weekly collection every " + dayName(dayOfWeek) + " (pickup " + pickup + ")";
+                scheduleIds.add((Integer) schedule[0]);
+                // Database format: {id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role, weight}
+                requests.add(new Object[]{null, timestamp, schedule[6], schedule[1], "Waste Collection", schedule[2],
+                                          description, schedule[5], schedule[4], TARGET_STATUS, TARGET_ROLE, null});
+            }
+
+            int[] ids = ScheduleDAO.materialize(periodStart, scheduleIds, requests);
+
+            List<Object[]> created = new ArrayList<>();
+            List<Integer> createdIds = new ArrayList<>();
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] > 0) {
+                    Object[] request = requests.get(i);
+                    request[0] = ids[i];
+                    created.add(request);
+                    createdIds.add(ids[i]);
+                }
+            }
+            if (!created.isEmpty()) {
+                RequestService.addRequestsToRoleFile(TARGET_ROLE, created);
+                DispatchQueue.requestsChanged(createdIds);
+                System.out.println("Created " + created.size() + " scheduled collection request(s) for the week of " + periodStart);
+            }
+            return created.size();
+        } catch (SQLException e) {
+            System.err.println("Error creating scheduled collection requests: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * First day (Monday) of the week containing a date.
+     */
+    private static LocalDate periodStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static String dayName(int dayOfWeek) {
+        return DayOfWeek.of(dayOfWeek).getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+    }
+}
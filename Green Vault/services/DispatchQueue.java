@@ -0,0 +1,181 @@
+package services;
+
+import dao.RequestDAO;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The Garbage Collector's work list, most urgent first: hazardous waste before
+ * anything else, then by how long a request has waited, with each sack counting
+ * as extra waiting time. The ranked requests are kept in memory and patched as
+ * requests enter or leave the queue (from the workflow and the change log), so
+ * listing them never re-reads or re-sorts the whole queue. CollectionPlanner plans
+ * its trips from the same in-memory queue.
+ */
+public class DispatchQueue {
+
+    // Each sack ranks a request as if it had waited this much longer
+    private static final long MINUTES_PER_SACK = 120;
+    private static final String ROLE = "Garbage Collector";
+    private static final String HAZARDOUS = "Hazardous";
+    // Above this many changed rows it is cheaper to reload than to patch
+    private static final int MAX_PATCHED_ROWS = 200;
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * Rank of a request; smaller ranks come first. The rank only depends on the request,
+     * not on the current time: two requests age at the same rate, so their order never changes.
+     * @param hazardous Hazardous waste is handled before everything else
+     * @param urgency Sack allowance minus creation time, in minutes; higher is more urgent
+     * @param id Tie-break, oldest first
+     */
+    public record Priority(boolean hazardous, long urgency, int id) implements Comparable<Priority> {
+        @Override
+        public int compareTo(Priority other) {
+            if (hazardous != other.hazardous) {
+                return hazardous ? -1 : 1;
+            }
+            if (urgency != other.urgency) {
+                return Long.compare(other.urgency, urgency);
+            }
+            return Integer.compare(id, other.id);
+        }
+    }
+
+    // Queue requests (database format) in rank order, and each request's rank by ID;
+    // null until loaded, or after a change burst too big to patch
+    private static TreeMap<Priority, Object[]> ranked;
+    private static final Map<Integer, Priority> ranks = new HashMap<>();
+
+    static {
+        // Requests are forwarded to, or collected from, the queue by any instance
+        ChangeNotifier.addListener("requests", DispatchQueue::applyChanges);
+    }
+
+    /**
+     * Computes the rank of a request.
+     * @param id The request ID
+     * @param timestamp The request timestamp (yyyy-MM-dd HH:mm:ss); unreadable ones rank as newest
+     * @param wasteType The waste type
+     * @param numSacks Number of sacks
+     * @return The rank
+     */
+    public static Priority priorityOf(int id, String timestamp, String wasteType, int numSacks) {
+        long createdMinutes;
+        try {
+            createdMinutes = LocalDateTime.parse(timestamp, TIMESTAMP_FORMAT).toEpochSecond(ZoneOffset.UTC) / 60;
+        } catch (DateTimeParseException | NullPointerException e) {
+            createdMinutes = Long.MAX_VALUE / 4;
+        }
+        boolean hazardous = wasteType != null && wasteType.startsWith(HAZARDOUS);
+        return new Priority(hazardous, numSacks * MINUTES_PER_SACK - createdMinutes, id);
+    }
+
+    /**
+     * Gets the Garbage Collector's queue, most urgent first.
+     * @return List of requests {id, timestamp, requester, barangay, type, location, description, numSacks, wasteType, status, weight, overdue};
+     *         description is null, see RequestService.getRequestDescription
+     */
+    public static List<Object[]> getWorkList() {
+        List<Object[]> result = new ArrayList<>();
+        try {
+            for (Object[] request : getQueuedRequests()) {
+                result.add(RequestService.convertToServiceFormat(request));
+            }
+        } catch (SQLException e) {
+            System.err.println("Error loading Garbage Collector requests: " + e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * Gets the queue as kept in memory, most urgent first, loading it if needed.
+     * The rows are shared with the queue; callers must not modify them.
+     * @return The requests {id, timestamp, requester, barangay, request_type, location, description (null), num_sacks, waste_type, status, target_role, weight, overdue}
+     * @throws SQLException if the queue had to be loaded and could not be
+     */
+    static synchronized List<Object[]> getQueuedRequests() throws SQLException {
+        if (ranked == null) {
+            load();
+        }
+        return new ArrayList<>(ranked.values());
+    }
+
+    private static void load() throws SQLException {
+        ranked = new TreeMap<>();
+        ranks.clear();
+        for (Object[] request : RequestDAO.getTargetRoleQueue(ROLE, RequestService.QUEUE_STATUSES.get(ROLE))) {
+            put(request);
+        }
+    }
+
+    private static void put(Object[] request) {
+        Priority priority = priorityOf((Integer) request[0], (String) request[1], (String) request[8], (Integer) request[7]);
+        ranked.put(priority, request);
+        ranks.put((Integer) request[0], priority);
+    }
+
+    /**
+     * Re-reads the given requests and moves them into, within or out of the queue.
+     * Called by the workflow right after a step commits, so the acting instance
+     * does not wait for the change log.
+     * @param ids IDs of the changed requests
+     */
+    static synchronized void requestsChanged(Collection<Integer> ids) {
+        if (ranked == null || ids.isEmpty()) {
+            return; // Nothing loaded yet
+        }
+        if (ids.size() > MAX_PATCHED_ROWS) {
+            ranked = null;
+            return;
+        }
+
+        try {
+            List<Object[]> current = RequestDAO.getRequestsByIds(new ArrayList<>(ids));
+            for (Integer id : ids) {
+                Priority old = ranks.remove(id);
+                if (old != null) {
+                    ranked.remove(old);
+                }
+            }
+            for (Object[] request : current) {
+                if (RequestService.isInTargetRoleQueue(request, ROLE)) {
+                    put(request);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error patching Garbage Collector queue: " + e.getMessage());
+            ranked = null;
+        }
+    }
+
+    /**
+     * Patches the queue with rows reported by the change log.
+     * @param changes Changes to the requests table
+     */
+    static void applyChanges(List<ChangeNotifier.Change> changes) {
+        Set<Integer> changedIds = new LinkedHashSet<>();
+        for (ChangeNotifier.Change change : changes) {
+            try {
+                changedIds.add(Integer.parseInt(change.rowId()));
+            } catch (NumberFormatException e) {
+                synchronized (DispatchQueue.class) {
+                    ranked = null; // Unknown row, reload on the next listing
+                }
+                return;
+            }
+        }
+        requestsChanged(changedIds);
+    }
+}
@@ -0,0 +1,85 @@
+package services;
+
+import dao.RequestArchiveDAO;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background archiver that moves finished requests into requests_archive once they
+ * have been in their final status for a while (30 days by default, set with
+ * -Dgreenvault.archiveAfterDays=N), so the requests table only holds live work.
+ * Requests move in small batches, each its own statement, so the requests table is
+ * never locked for long; a run stops after a fixed number of batches and the next
+ * run continues where it left off.
+ */
+public class RequestArchiver {
+    private static final long CHECK_INTERVAL_MINUTES = 60;
+    private static final int DEFAULT_ARCHIVE_AFTER_DAYS = 30;
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private static ScheduledExecutorService archiver;
+
+    /**
+     * Starts the background archiver; it runs once right away, then every hour.
+     * Calling it again while running has no effect.
+     */
+    public static synchronized void start() {
+        if (archiver != null) {
+            return;
+        }
+        archiver = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "request-archiver");
+            t.setDaemon(true);
+            return t;
+        });
+        archiver.scheduleWithFixedDelay(RequestArchiver::archive, 0, CHECK_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the background archiver.
+     */
+    public static synchronized void stop() {
+        if (archiver != null) {
+            archiver.shutdownNow();
+            archiver = null;
+        }
+    }
+
+    /**
+     * Moves finished requests older than the archive age into requests_archive,
+     * at most MAX_BATCHES_PER_RUN batches per call.
+     * @return Number of requests moved
+     */
+    public static synchronized int archive() {
+        int days = Integer.getInteger("greenvault.archiveAfterDays", DEFAULT_ARCHIVE_AFTER_DAYS);
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(days));
+
+        int moved = 0;
+        int batches = 0;
+        try {
+            for (String status : RequestWorkflow.finalStatuses()) {
+                int count;
+                do {
+                    count = RequestArchiveDAO.archiveBatch(status, cutoff, BATCH_SIZE);
+                    moved += count;
+                    batches++;
+                } while (count == BATCH_SIZE && batches < MAX_BATCHES_PER_RUN);
+                if (batches >= MAX_BATCHES_PER_RUN) {
+                    break; // The rest is left for the next run
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error archiving finished requests: " + e.getMessage());
+        }
+
+        if (moved > 0) {
+            System.out.println("Archived " + moved + " request(s) finished more than " + days + " days ago");
+        }
+        return moved;
+    }
+}
@@ -1,6 +1,8 @@
 package services;
 
+import dao.InboxCounterDAO;
 import dao.RequestDAO;
+import dao.RequestEventDAO;
 import dao.WasteRecordDAO;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
@@ -12,13 +14,41 @@ import java.sql.SQLException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service class for managing requests.
  * Uses database for all operations via RequestDAO and WasteRecordDAO.
  */
 public class RequestService {
+    // Number of request descriptions kept for the detail view
+    private static final int MAX_CACHED_DESCRIPTIONS = 100;
+    // A collection request repeating a pending one from this many hours ago is merged into it
+    private static final int DUPLICATE_WINDOW_HOURS = 24;
+    
+    // Descriptions by request ID, least recently viewed first
+    private static final Map<Integer, String> descriptionCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+            return size() > MAX_CACHED_DESCRIPTIONS;
+        }
+    };
+    
+    // Statuses of the requests waiting in each forwarded role's queue (where the forwarding steps lead)
+    static final Map<String, List<String>> QUEUE_STATUSES = Map.of(
+        "City Officer", RequestWorkflow.queueStatuses("City Officer"),
+        "Garbage Collector", RequestWorkflow.queueStatuses("Garbage Collector")
+    );
+    
+    static {
+        // Drop cached descriptions of requests that changed or were deleted
+        ChangeNotifier.addListener("requests", RequestService::evictDescriptions);
+    }
     
     /**
      * Creates a new request.
@@ -34,6 +64,32 @@ public class RequestService {
      */
     public static boolean createRequest(String requesterUsername, String barangay, 
                                         String requestType, String location, String description, int numSacks, String wasteType) {
+        return createRequest(requesterUsername, barangay, requestType, location, description, numSacks, wasteType, null);
+    }
+    
+    /**
+     * Creates a new request with its weight.
+     * The weight is stored in its own column (and the last field of the .txt line),
+     * never in the description.
+     * A waste collection request for the same barangay, location and waste type as
+     * a pending one submitted in the last DUPLICATE_WINDOW_HOURS is merged into it instead.
+     * @param requesterUsername The username of the requester
+     * @param barangay The barangay
+     * @param requestType The type of request
+     * @param location The location of the request
+     * @param description The request description (without the weight)
+     * @param numSacks Number of sacks of waste
+     * @param wasteType Type of waste (Malata, Di Malata, Magagamit Pa, Hazardous)
+     * @param weight The weight in kg, or null if not given
+     * @return true if successful (created or merged), false otherwise
+     */
+    public static boolean createRequest(String requesterUsername, String barangay, String requestType, String location,
+                                        String description, int numSacks, String wasteType, Double weight) {
+        if ("Waste Collection".equals(requestType) && mergeDuplicateRequest(requesterUsername, barangay,
+                (location == null || location.isEmpty()) ? "N/A" : location, numSacks, wasteType, weight)) {
+            return true;
+        }
+        
         // Step 1: Save to .txt file first
             String timestamp = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date());
             String locationStr = (location == null || location.isEmpty()) ? "N/A" : location;
@@ -57,13 +113,13 @@ public class RequestService {
             // Ensure data directory exists
             txtFile.getParentFile().mkdirs();
             
-            // Append to .txt file (pipe-delimited format: id|timestamp|requester|barangay|type|location|description|numSacks|wasteType|status)
+            // Append to .txt file (pipe-delimited format: id|timestamp|requester|barangay|type|location|description|numSacks|wasteType|status|weight)
             try (BufferedWriter writer = new BufferedWriter(new FileWriter(txtFile, true))) {
                 // Check if file is empty or doesn't exist, write header
                 if (!txtFile.exists() || txtFile.length() == 0) {
                     writer.write("# Requests for " + targetRole);
                     writer.newLine();
-                    writer.write("# Format: id|timestamp|requester|barangay|type|location|description|numSacks|wasteType|status");
+                    writer.write("# Format: id|timestamp|requester|barangay|type|location|description|numSacks|wasteType|status|weight");
                     writer.newLine();
                     writer.newLine();
                 }
@@ -71,7 +127,7 @@ public class RequestService {
                 // Write request data (id will be generated by database, use 0 as placeholder)
                 writer.write("0|" + timestamp + "|" + requesterUsername + "|" + barangay + "|" + 
                            requestType + "|" + locationStr + "|" + (description != null ? description : "") + "|" + 
-                           numSacks + "|" + (wasteType != null ? wasteType : "") + "|Pending");
+                           numSacks + "|" + (wasteType != null ? wasteType : "") + "|Pending|" + formatWeight(weight));
                 writer.newLine();
                 writer.flush();
             }
@@ -79,7 +135,7 @@ public class RequestService {
             // Step 2: Automatically import from .txt to database
             int id = RequestDAO.createRequest(timestamp, requesterUsername, barangay, requestType, 
                                             locationStr, description, numSacks, wasteType, 
-                                            "Pending", targetRole);
+                                            "Pending", targetRole, weight);
             return id > 0;
             
         } catch (IOException e) {
@@ -89,7 +145,7 @@ public class RequestService {
             try {
                 int id = RequestDAO.createRequest(timestamp, requesterUsername, barangay, requestType, 
                                                 locationStr, description, numSacks, wasteType, 
-                                                "Pending", targetRole);
+                                                "Pending", targetRole, weight);
                 return id > 0;
             } catch (SQLException sqlEx) {
                 System.err.println("Error creating request: " + sqlEx.getMessage());
@@ -104,415 +160,277 @@ public class RequestService {
     }
     
     /**
-     * Gets all requests from requestform.txt filtered by barangay.
-     * @param barangay The barangay to filter by
-     * @return List of requests {id, timestamp, requester, barangay, type, location, description, numSacks, wasteType, status}
+     * Merges a new collection request into a matching pending one, so the Barangay
+     * Captain approves it once: the sacks and weight are added to it and the
+     * description notes who asked again. Its line in the captain's .txt file is rewritten.
+     * @return true if merged, false if there is no pending duplicate (create a new request)
      */
-    public static List<Object[]> getBarangayRequests(String barangay) {
-        List<Object[]> result = new ArrayList<>();
+    private static boolean mergeDuplicateRequest(String requester, String barangay, String location,
+                                                 int numSacks, String wasteType, Double weight) {
+        String since = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss")
+            .format(new Date(System.currentTimeMillis() - DUPLICATE_WINDOW_HOURS * 3600_000L));
         try {
-            List<Object[]> requests = RequestDAO.getRequestsByBarangay(barangay);
+            Object[] existing = RequestDAO.findDuplicateRequest(barangay, location, wasteType, since);
+            if (existing == null) {
+                return false;
+            }
             
-            for (Object[] req : requests) {
-                // Database format: {id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role}
-                // Service format: {id, timestamp, requester, barangay, type, location, description, numSacks, wasteType, status}
-                
-                String status = (String) req[9];
-                String targetRole = (String) req[10];
-                
-                // Only include pending requests targeted at Barangay Captain
-                if ("Pending".equals(status) && ("Barangay Captain".equals(targetRole) || targetRole == null)) {
-                    result.add(new Object[]{
-                        req[0],  // id
-                        req[1],  // timestamp
-                        req[2],  // requester
-                        req[3],  // barangay
-                        req[4],  // type (request_type)
-                        req[5],  // location
-                        req[6],  // description
-                        req[7],  // numSacks (num_sacks)
-                        req[8],  // wasteType (waste_type)
-                        req[9]   // status
-                    });
-                }
+            Double oldWeight = (Double) existing[11];
+            Double mergedWeight = (oldWeight == null && weight == null) ? null
+                : (oldWeight != null ? oldWeight : 0.0) + (weight != null ? weight : 0.0);
+            int mergedSacks = (Integer) existing[7] + numSacks;
+            
+            // Not " | ": the description is one field of the pipe-delimited .txt line
+            String base = existing[6] != null ? (String) existing[6] : "";
+            String note = "Also requested by " + requester + " (+" + numSacks + " sacks)";
+            String mergedDescription = (base.isEmpty() ? note : base + "; " + note);
+            
+            if (!RequestDAO.mergeIntoRequest(existing, mergedSacks, mergedWeight, mergedDescription)) {
+                return false; // Left the queue meanwhile
             }
+            
+            Object[] merged = existing.clone();
+            merged[6] = mergedDescription;
+            merged[7] = mergedSacks;
+            merged[11] = mergedWeight;
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(existing);
+            removeRequestsFromRoleFile("Barangay Captain", rows);
+            rows.set(0, merged);
+            addRequestsToRoleFile("Barangay Captain", rows);
+            
+            System.out.println("Merged duplicate request from " + requester + " into request " + existing[0]);
+            return true;
         } catch (SQLException e) {
-            System.err.println("Error loading requests: " + e.getMessage());
+            System.err.println("Error checking for duplicate request: " + e.getMessage());
+            return false; // Create it as a new request
         }
-        
-        return result;
-    }
-    
-    /**
-     * Forwards a request to Barangay Captain.
-     * @param requestData The request data {id, timestamp, requester, barangay, type, location, description, numSacks, wasteType, status}
-     * @return true if successful, false otherwise
-     */
-    public static boolean forwardToBarangayCaptain(Object[] requestData) {
-        // This is already handled in createRequest - new requests go to Barangay Captain
-        return true;
     }
     
     /**
-     * Gets all requests for Barangay Captain.
-     * @return List of requests {id, timestamp, requester, barangay, type, location, description, numSacks, wasteType, status}
+     * Gets the pending requests of a barangay's queue (targeted at the Barangay Captain).
+     * @param barangay The barangay to filter by
+     * @return List of requests {id, timestamp, requester, barangay, type, location, description, numSacks, wasteType, status, weight, overdue};
+     *         description is null, see getRequestDescription
      */
-    public static List<Object[]> getBarangayCaptainRequests() {
+    public static List<Object[]> getBarangayRequests(String barangay) {
         List<Object[]> result = new ArrayList<>();
         try {
-            List<Object[]> requests = RequestDAO.getRequestsByTargetRole("Barangay Captain");
+            // Only the queue is read, not the barangay's whole history
+            List<Object[]> requests = RequestDAO.getBarangayQueue(barangay);
             
             for (Object[] req : requests) {
+                // Database format: {id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role, weight, overdue}
+                // Service format: {id, timestamp, requester, barangay, type, location, description, numSacks, wasteType, status, weight, overdue}
+                
                 result.add(convertToServiceFormat(req));
             }
         } catch (SQLException e) {
-            System.err.println("Error loading Barangay Captain requests: " + e.getMessage());
+            System.err.println("Error loading requests: " + e.getMessage());
         }
         
         return result;
     }
     
     /**
-     * Updates the status of a request for Barangay Captain.
+     * Gets the description of a request for the detail view.
+     * Queue listings leave descriptions out; recently viewed ones are cached.
      * @param requestId The request ID
-     * @param timestamp The request timestamp (for unique identification)
-     * @param newStatus The new status (e.g., "Approved", "Rejected", "Completed")
-     * @return true if successful, false otherwise
+     * @return The description, or null if the request was not found or could not be read
      */
-    public static boolean updateBarangayCaptainRequestStatus(int requestId, String timestamp, String newStatus) {
-        try {
-            Object[] request = RequestDAO.getRequestById(requestId);
-            if (request == null) {
-                return false;
-            }
-            
-            // Verify timestamp matches
-            if (!timestamp.equals(request[1])) {
-                return false;
+    public static String getRequestDescription(int requestId) {
+        synchronized (descriptionCache) {
+            String cached = descriptionCache.get(requestId);
+            if (cached != null) {
+                return cached;
             }
-            
-            // If rejected, delete the request from database and file
-            if (newStatus != null && newStatus.toLowerCase().contains("rejected")) {
-                boolean dbDeleted = RequestDAO.deleteRequest(requestId);
-                if (dbDeleted) {
-                    // Remove from Barangay Captain file (use timestamp from database request for exact match)
-                    String dbTimestamp = (String) request[1];
-                    removeRequestFromBarangayCaptainFile(requestId, dbTimestamp);
+        }
+        
+        try {
+            String description = RequestDAO.getRequestDescription(requestId);
+            if (description != null) {
+                synchronized (descriptionCache) {
+                    descriptionCache.put(requestId, description);
                 }
-                return dbDeleted;
             }
-            
-            return RequestDAO.updateRequestStatus(requestId, newStatus);
+            return description;
         } catch (SQLException e) {
-            System.err.println("Error updating Barangay Captain request: " + e.getMessage());
-            return false;
+            System.err.println("Error loading request description: " + e.getMessage());
+            return null;
         }
     }
     
     /**
-     * Forwards an approved request from Barangay Captain to City Officer.
-     * @param requestData The request data {id, timestamp, requester, barangay, area, type, description, numSacks, wasteType, status}
-     * @return true if successful, false otherwise
+     * Gets the history of a request for the detail view, oldest step first.
+     * Archived requests keep their history.
+     * @param requestId The request ID
+     * @return One line per event, e.g. "2025-03-01 09:15  APPROVE by Barangay Captain: Pending -> Pending (City Officer)";
+     *         empty if the history could not be read
      */
-    public static boolean forwardToCityOfficer(Object[] requestData) {
+    public static List<String> getRequestHistory(int requestId) {
+        List<String> lines = new ArrayList<>();
         try {
-            int requestId = (Integer) requestData[0];
-            String timestamp = (String) requestData[1];
-            
-            Object[] request = RequestDAO.getRequestById(requestId);
-            if (request == null || !timestamp.equals(request[1])) {
-                return false;
-            }
-            
-            // Update database
-            boolean dbSuccess = RequestDAO.updateRequestTargetRole(requestId, "City Officer") &&
-                   RequestDAO.updateRequestStatus(requestId, "Pending (City Officer)");
-            
-            if (dbSuccess) {
-                // Remove from Barangay Captain file (use timestamp from database request for exact match)
-                String dbTimestamp = (String) request[1];
-                removeRequestFromBarangayCaptainFile(requestId, dbTimestamp);
-                
-                // Add to City Officer file
-                addRequestToCityOfficerFile(request);
+            SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+            for (Object[] event : RequestEventDAO.getRequestHistory(requestId)) {
+                // Format: {event_at, stage, event, from_status, to_status}
+                StringBuilder line = new StringBuilder(format.format((Date) event[0]))
+                    .append("  ").append(event[2]);
+                if (event[1] != null) {
+                    line.append(" by ").append(event[1]);
+                }
+                line.append(": ");
+                if (event[3] != null && !event[3].equals(event[4])) {
+                    line.append(event[3]).append(" -> ");
+                }
+                line.append(event[4] != null ? event[4] : "Deleted");
+                lines.add(line.toString());
             }
-            
-            return dbSuccess;
         } catch (SQLException e) {
-            System.err.println("Error forwarding request to City Officer: " + e.getMessage());
-            return false;
+            System.err.println("Error loading request history: " + e.getMessage());
         }
+        return lines;
     }
     
-    /**
-     * Forwards a new request directly from Barangay Captain's view to City Officer.
-     * This is used when the Captain approves a Barangay Member request in the
-     * generic "View Requests" panel and we want it to go straight to City Officer.
-     */
-    public static boolean forwardFromMemberToCityOfficer(String barangay, Object[] requestData) {
-        try {
-            int requestId = (Integer) requestData[0];
-            String timestamp = (String) requestData[1];
-            
-            Object[] request = RequestDAO.getRequestById(requestId);
-            if (request == null || !timestamp.equals(request[1])) {
-                return false;
-            }
-            
-            // Update database
-            boolean dbSuccess = RequestDAO.updateRequestTargetRole(requestId, "City Officer") &&
-                   RequestDAO.updateRequestStatus(requestId, "Pending (City Officer)");
-            
-            if (dbSuccess) {
-                // Remove from Barangay Captain file (use timestamp from database request for exact match)
-                String dbTimestamp = (String) request[1];
-                removeRequestFromBarangayCaptainFile(requestId, dbTimestamp);
-                
-                // Add to City Officer file
-                addRequestToCityOfficerFile(request);
+    private static void evictDescriptions(List<ChangeNotifier.Change> changes) {
+        synchronized (descriptionCache) {
+            for (ChangeNotifier.Change change : changes) {
+                try {
+                    descriptionCache.remove(Integer.parseInt(change.rowId()));
+                } catch (NumberFormatException e) {
+                    descriptionCache.clear(); // Unknown row
+                    return;
+                }
             }
-            
-            return dbSuccess;
-        } catch (SQLException e) {
-            System.err.println("Error forwarding member request directly to City Officer: " + e.getMessage());
-            return false;
         }
     }
     
     /**
-     * Gets all requests for City Officer.
-     * @return List of requests {id, timestamp, requester, barangay, type, location, description, numSacks, wasteType, status}
+     * Checks whether a request belongs in a barangay's queue (see getBarangayRequests):
+     * pending and targeted at the Barangay Captain.
+     * @param dbRequest Request in database format {id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role, weight}
+     * @param barangay The barangay of the queue
+     * @return true if the request is in the queue
      */
-    public static List<Object[]> getCityOfficerRequests() {
-        List<Object[]> result = new ArrayList<>();
-        try {
-            List<Object[]> requests = RequestDAO.getRequestsByTargetRole("City Officer");
-            
-            for (Object[] req : requests) {
-                result.add(convertToServiceFormat(req));
-            }
-        } catch (SQLException e) {
-            System.err.println("Error loading City Officer requests: " + e.getMessage());
-        }
-        
-        return result;
+    public static boolean isInBarangayQueue(Object[] dbRequest, String barangay) {
+        String targetRole = (String) dbRequest[10];
+        return barangay != null && barangay.equals(dbRequest[3])
+            && "Pending".equals(dbRequest[9])
+            && ("Barangay Captain".equals(targetRole) || targetRole == null);
     }
     
     /**
-     * Updates the status of a request for City Officer.
-     * @param requestId The request ID
-     * @param timestamp The request timestamp
-     * @param newStatus New status text
+     * Checks whether a request is in a role's queue (see getCityOfficerRequests
+     * and DispatchQueue): targeted at the role and waiting for it.
+     * @param dbRequest Request in database format
+     * @param targetRole The role of the queue
+     * @return true if the request is in the queue
      */
-    public static boolean updateCityOfficerRequestStatus(int requestId, String timestamp, String newStatus) {
+    public static boolean isInTargetRoleQueue(Object[] dbRequest, String targetRole) {
+        return targetRole.equals(dbRequest[10])
+            && QUEUE_STATUSES.get(targetRole).contains(dbRequest[9]);
+    }
+    
+    /**
+     * Gets how many requests wait in each role's queue (the same requests as
+     * isInBarangayQueue and isInTargetRoleQueue), from the inbox counters:
+     * one small query, no request rows are read.
+     * @param barangay The barangay of the Barangay Captain's queue
+     * @return Queue length by role ("Barangay Captain", "City Officer", "Garbage Collector");
+     *         empty if the counters could not be read
+     */
+    public static Map<String, Integer> getInboxCounts(String barangay) {
+        Map<String, Integer> counts = new HashMap<>();
         try {
-            Object[] request = RequestDAO.getRequestById(requestId);
-            if (request == null || !timestamp.equals(request[1])) {
-                return false;
-            }
-            
-            // If rejected, delete the request from database and file
-            if (newStatus != null && newStatus.toLowerCase().contains("rejected")) {
-                boolean dbDeleted = RequestDAO.deleteRequest(requestId);
-                if (dbDeleted) {
-                    // Remove from City Officer file (use timestamp from database request for exact match)
-                    String dbTimestamp = (String) request[1];
-                    removeRequestFromCityOfficerFile(requestId, dbTimestamp);
+            for (Object[] counter : InboxCounterDAO.getCounts()) {
+                String targetRole = (String) counter[0];
+                String status = (String) counter[2];
+                int count = (Integer) counter[3];
+                
+                if ((targetRole == null || "Barangay Captain".equals(targetRole))
+                        && "Pending".equals(status) && counter[1].equals(barangay)) {
+                    counts.merge("Barangay Captain", count, Integer::sum);
+                } else if (QUEUE_STATUSES.containsKey(targetRole) && QUEUE_STATUSES.get(targetRole).contains(status)) {
+                    counts.merge(targetRole, count, Integer::sum);
                 }
-                return dbDeleted;
             }
-            
-            return RequestDAO.updateRequestStatus(requestId, newStatus);
         } catch (SQLException e) {
-            System.err.println("Error updating City Officer request: " + e.getMessage());
-            return false;
+            System.err.println("Error loading inbox counts: " + e.getMessage());
+            counts.clear();
         }
+        return counts;
     }
     
     /**
-     * Forwards an approved request from City Officer to Garbage Collector.
-     * @param requestData The request data
-     * @return true if successful, false otherwise
+     * Gets requests by ID in database format, so queues can be patched
+     * with just the requests that changed.
+     * @param ids The request IDs
+     * @return Requests that still exist, or null if the database could not be read
      */
-    public static boolean forwardToGarbageCollector(Object[] requestData) {
+    public static List<Object[]> getRequestsByIds(List<Integer> ids) {
         try {
-            int requestId = (Integer) requestData[0];
-            String timestamp = (String) requestData[1];
-            
-            Object[] request = RequestDAO.getRequestById(requestId);
-            if (request == null || !timestamp.equals(request[1])) {
-                return false;
-            }
-            
-            // Update database
-            boolean dbSuccess = RequestDAO.updateRequestTargetRole(requestId, "Garbage Collector") &&
-                   RequestDAO.updateRequestStatus(requestId, "Pending (Garbage Collector)");
-            
-            if (dbSuccess) {
-                // Remove from City Officer file (use timestamp from database request for exact match)
-                String dbTimestamp = (String) request[1];
-                removeRequestFromCityOfficerFile(requestId, dbTimestamp);
-                
-                // Add to Garbage Collector file
-                addRequestToGarbageCollectorFile(request);
-            }
-            
-            return dbSuccess;
+            return RequestDAO.getRequestsByIds(ids);
         } catch (SQLException e) {
-            System.err.println("Error forwarding request to Garbage Collector: " + e.getMessage());
-            return false;
+            System.err.println("Error loading changed requests: " + e.getMessage());
+            return null;
         }
     }
     
     /**
-     * Gets all requests for Garbage Collector.
-     * @return List of requests {id, timestamp, requester, barangay, type, location, description, numSacks, wasteType, status}
+     * Forwards a request to Barangay Captain.
+     * @param requestData The request data {id, timestamp, requester, barangay, type, location, description, numSacks, wasteType, status}
+     * @return true if successful, false otherwise
+     */
+    public static boolean forwardToBarangayCaptain(Object[] requestData) {
+        // This is already handled in createRequest - new requests go to Barangay Captain
+        return true;
+    }
+    
+    /**
+     * Gets all requests for Barangay Captain.
+     * @return List of requests {id, timestamp, requester, barangay, type, location, description, numSacks, wasteType, status, weight, overdue};
+     *         description is null, see getRequestDescription
      */
-    public static List<Object[]> getGarbageCollectorRequests() {
+    public static List<Object[]> getBarangayCaptainRequests() {
         List<Object[]> result = new ArrayList<>();
         try {
-            List<Object[]> requests = RequestDAO.getRequestsByTargetRole("Garbage Collector");
+            List<Object[]> requests = RequestDAO.getRequestsByTargetRole("Barangay Captain");
             
             for (Object[] req : requests) {
                 result.add(convertToServiceFormat(req));
             }
         } catch (SQLException e) {
-            System.err.println("Error loading Garbage Collector requests: " + e.getMessage());
+            System.err.println("Error loading Barangay Captain requests: " + e.getMessage());
         }
         
         return result;
     }
     
     /**
-     * Updates the status of a request for Garbage Collector.
-     */
-    public static boolean updateGarbageCollectorRequestStatus(int requestId, String timestamp, String newStatus) {
-        try {
-            Object[] request = RequestDAO.getRequestById(requestId);
-            if (request == null || !timestamp.equals(request[1])) {
-                return false;
-            }
-            
-            // If rejected, delete the request from database and file
-            if (newStatus != null && newStatus.toLowerCase().contains("rejected")) {
-                boolean dbDeleted = RequestDAO.deleteRequest(requestId);
-                if (dbDeleted) {
-                    // Remove from Garbage Collector file (use timestamp from database request for exact match)
-                    String dbTimestamp = (String) request[1];
-                    removeRequestFromGarbageCollectorFile(requestId, dbTimestamp);
-                }
-                return dbDeleted;
-            }
-            
-            String oldStatus = (String) request[9];
-            
-            // Update status
-            boolean success = RequestDAO.updateRequestStatus(requestId, newStatus);
-            
-            // If the request has just been marked as completed by the Garbage Collector,
-            // automatically create a corresponding Waste Log entry and remove from file
-            if (success && !"Completed by Garbage Collector".equals(oldStatus)
-                    && "Completed by Garbage Collector".equals(newStatus)) {
-                try {
-                    String fullTimestamp = (String) request[1];
-                    String barangay = (String) request[3];
-                    String location = (String) request[5];
-                    if (location == null || location.equals("N/A")) {
-                        location = barangay;
-                    }
-                    int numSacks = (Integer) request[7];
-                    String wasteType = (String) request[8];
-                    String description = (String) request[6];
-                    
-                    // Use the date portion of the timestamp (yyyy-MM-dd)
-                    String dateOnly = fullTimestamp.split(" ")[0];
-                    
-                    // Extract weight from description (format: "Weight: X.XX kg | ...")
-                    double weight = numSacks; // Default fallback to numSacks if weight not found
-                    if (description != null && description.contains("Weight:")) {
-                        try {
-                            int weightIndex = description.indexOf("Weight:");
-                            if (weightIndex != -1) {
-                                int start = weightIndex + 7; // Skip "Weight:"
-                                int end = description.indexOf(" kg", start);
-                                if (end != -1) {
-                                    String weightStr = description.substring(start, end).trim();
-                                    weight = Double.parseDouble(weightStr);
-                                }
-                            }
-                        } catch (Exception e) {
-                            System.err.println("Error extracting weight from description, using numSacks as fallback: " + e.getMessage());
-                            // Keep default weight = numSacks
-                        }
-                    }
-                    
-                    // Save to waste records (database and managewasterecord.txt file)
-                    saveToManageWasteRecord(dateOnly, location, weight, wasteType, barangay);
-                    
-                    // Remove from Garbage Collector file since it's completed
-                    String dbTimestamp = (String) request[1];
-                    removeRequestFromGarbageCollectorFile(requestId, dbTimestamp);
-                } catch (Exception e) {
-                    System.err.println("Error auto-logging completed collection: " + e.getMessage());
-                }
-            }
-            
-            return success;
-        } catch (SQLException e) {
-            System.err.println("Error updating Garbage Collector request: " + e.getMessage());
-            return false;
-        }
-    }
-    
-    /**
-     * Updates the status of a request.
-     * @param barangay The barangay
-     * @param requestId The request ID
-     * @param timestamp The request timestamp (for unique identification)
-     * @param newStatus The new status (e.g., "Approved", "Rejected", "Completed")
-     * @return true if successful, false otherwise
+     * Gets the City Officer's queue (requests forwarded to the City Officer and waiting for it).
+     * @return List of requests {id, timestamp, requester, barangay, type, location, description, numSacks, wasteType, status, weight, overdue};
+     *         description is null, see getRequestDescription
      */
-    public static boolean updateRequestStatus(String barangay, int requestId, String timestamp, String newStatus) {
+    public static List<Object[]> getCityOfficerRequests() {
+        List<Object[]> result = new ArrayList<>();
         try {
-            Object[] request = RequestDAO.getRequestById(requestId);
-            if (request == null || !timestamp.equals(request[1])) {
-                return false;
-            }
+            List<Object[]> requests = RequestDAO.getTargetRoleQueue("City Officer", QUEUE_STATUSES.get("City Officer"));
             
-            // If rejected, delete the request from database and file
-            if (newStatus != null && newStatus.toLowerCase().contains("rejected")) {
-                boolean dbDeleted = RequestDAO.deleteRequest(requestId);
-                if (dbDeleted) {
-                    // Determine which file to remove from based on target_role
-                    // Use timestamp from database request for exact match
-                    String dbTimestamp = (String) request[1];
-                    String targetRole = (String) request[10]; // target_role is at index 10
-                    if ("Barangay Captain".equals(targetRole) || targetRole == null) {
-                        removeRequestFromBarangayCaptainFile(requestId, dbTimestamp);
-                    } else if ("City Officer".equals(targetRole)) {
-                        removeRequestFromCityOfficerFile(requestId, dbTimestamp);
-                    } else if ("Waste Manager".equals(targetRole)) {
-                        removeRequestFromWasteManagerFile(requestId, dbTimestamp);
-                    } else if ("Garbage Collector".equals(targetRole)) {
-                        removeRequestFromGarbageCollectorFile(requestId, dbTimestamp);
-                    }
-                }
-                return dbDeleted;
+            for (Object[] req : requests) {
+                result.add(convertToServiceFormat(req));
             }
-            
-            return RequestDAO.updateRequestStatus(requestId, newStatus);
         } catch (SQLException e) {
-            System.err.println("Error updating request: " + e.getMessage());
-            return false;
+            System.err.println("Error loading City Officer requests: " + e.getMessage());
         }
+        
+        return result;
     }
     
     /**
      * Converts database format to service format.
-     * Database format: {id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role}
-     * Service format: {id, timestamp, requester, barangay, type, location, description, numSacks, wasteType, status}
+     * Database format: {id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role, weight, overdue}
+     * Service format: {id, timestamp, requester, barangay, type, location, description, numSacks, wasteType, status, weight, overdue}
      */
-    private static Object[] convertToServiceFormat(Object[] dbRequest) {
+    public static Object[] convertToServiceFormat(Object[] dbRequest) {
         return new Object[]{
             dbRequest[0],  // id
             dbRequest[1],  // timestamp
@@ -523,10 +441,21 @@ public class RequestService {
             dbRequest[6],  // description
             dbRequest[7],  // numSacks (num_sacks)
             dbRequest[8],  // wasteType (waste_type)
-            dbRequest[9]   // status
+            dbRequest[9],  // status
+            dbRequest[11], // weight (null when unknown)
+            dbRequest[12]  // overdue (flagged by SlaScanner)
         };
     }
     
+    /**
+     * Formats a weight for the weight field of a .txt request line.
+     * @param weight The weight in kg, or null
+     * @return The weight with two decimals, or "" if there is none
+     */
+    private static String formatWeight(Double weight) {
+        return weight != null ? String.format("%.2f", weight) : "";
+    }
+    
     /**
      * Saves a completed collection record to waste records.
      * Saves to both database and managewasterecord.txt file.
@@ -540,42 +469,11 @@ public class RequestService {
         try {
             // Step 1: Save to database first to get the generated ID
             int newId = WasteRecordDAO.createWasteRecord("Garbage Collector", date, location, weight, wasteType, barangay);
+            WasteDataService.clearCache("Garbage Collector");
             
             // Step 2: Save to managewasterecord.txt file
             if (newId > 0) {
-                File txtFile = new File("data/managewasterecord.txt");
-                
-                try {
-                    // Ensure data directory exists
-                    txtFile.getParentFile().mkdirs();
-                    
-                    // Append to .txt file (format: id|date|location|weight|type|barangay)
-                    try (BufferedWriter writer = new BufferedWriter(new FileWriter(txtFile, true))) {
-                        // Check if file is empty or doesn't exist, write header
-                        if (!txtFile.exists() || txtFile.length() == 0) {
-                            writer.write("# Waste Logs Records Management");
-                            writer.newLine();
-                            writer.write("# Format: id|date|location|weight|type|barangay");
-                            writer.newLine();
-                            writer.newLine();
-                        }
-                        
-                        // Write waste record data
-                        String locationStr = (location == null || location.isEmpty()) ? "N/A" : location;
-                        String wasteTypeStr = (wasteType == null) ? "" : wasteType;
-                        String barangayStr = (barangay == null) ? "" : barangay;
-                        // Format weight to preserve full precision (use 2 decimal places)
-                        String weightStr = String.format("%.2f", weight);
-                        
-                        writer.write(newId + "|" + date + "|" + locationStr + "|" + weightStr + "|" + wasteTypeStr + "|" + barangayStr);
-                        writer.newLine();
-                        writer.flush();
-                    }
-                } catch (IOException e) {
-                    System.err.println("Error writing to managewasterecord.txt file: " + e.getMessage());
-                    e.printStackTrace();
-                    // Continue - database save was successful
-                }
+                appendToManageWasteRecordFile(newId, date, location, weight, wasteType, barangay);
             }
         } catch (SQLException e) {
             System.err.println("Error saving to waste records: " + e.getMessage());
@@ -583,6 +481,46 @@ public class RequestService {
         }
     }
     
+    /**
+     * Appends a waste record that is already in the database to managewasterecord.txt.
+     * @param id The waste record ID
+     */
+    static void appendToManageWasteRecordFile(int id, String date, String location, double weight, String wasteType, String barangay) {
+        File txtFile = new File("data/managewasterecord.txt");
+        
+        try {
+            // Ensure data directory exists
+            txtFile.getParentFile().mkdirs();
+            
+            // Append to .txt file (format: id|date|location|weight|type|barangay)
+            try (BufferedWriter writer = new BufferedWriter(new FileWriter(txtFile, true))) {
+                // Check if file is empty or doesn't exist, write header
+                if (!txtFile.exists() || txtFile.length() == 0) {
+                    writer.write("# Waste Logs Records Management");
+                    writer.newLine();
+                    writer.write("# Format: id|date|location|weight|type|barangay");
+                    writer.newLine();
+                    writer.newLine();
+                }
+                
+                // Write waste record data
+                String locationStr = (location == null || location.isEmpty()) ? "N/A" : location;
+                String wasteTypeStr = (wasteType == null) ? "" : wasteType;
+                String barangayStr = (barangay == null) ? "" : barangay;
+                // Format weight to preserve full precision (use 2 decimal places)
+                String weightStr = String.format("%.2f", weight);
+                
+                writer.write(id + "|" + date + "|" + locationStr + "|" + weightStr + "|" + wasteTypeStr + "|" + barangayStr);
+                writer.newLine();
+                writer.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing to managewasterecord.txt file: " + e.getMessage());
+            e.printStackTrace();
+            // Continue - database save was successful
+        }
+    }
+    
     /**
      * Gets all records from waste records (for manage waste records view).
      * Reads from database (which now includes barangay column).
@@ -594,19 +532,19 @@ public class RequestService {
         
         try {
             // Read from database (now includes barangay column)
-            List<Object[]> records = WasteRecordDAO.getWasteRecordsByRole("Garbage Collector");
+            // Served from WasteDataService's cache (kept current by the change log)
+            List<Object[]> records = WasteDataService.loadRecords("Garbage Collector");
             for (Object[] record : records) {
-                // Database format: {id, role, date, area, weight, type, barangay}
+                // Cache format: {id, date, area, weight, type, barangay}
                 // Service format: {id, date, location, weight, type, barangay}
-                String location = (String) record[3]; // area
-                String barangay = record.length >= 7 && record[6] != null ? (String) record[6] : "N/A";
+                String barangay = record[5] != null ? (String) record[5] : "N/A";
                 
                 result.add(new Object[]{
                     record[0],      // id
-                    record[2],      // date
-                    location,       // location (from area)
-                    record[4],      // weight
-                    record[5],      // type
+                    record[1],      // date
+                    record[2],      // location (from area)
+                    record[3],      // weight
+                    record[4],      // type
                     barangay        // barangay (from database)
                 });
             }
@@ -704,6 +642,8 @@ public class RequestService {
                 }
             }
             
+            WasteDataService.clearCache("Garbage Collector");
+            
             // Step 3: Save to managewasterecord.txt file (overwrite entire file)
             try {
                 txtFile.getParentFile().mkdirs();
@@ -756,115 +696,137 @@ public class RequestService {
     }
     
     /**
-     * Deletes a record from waste records by ID.
-     * Deletes from both database and managewasterecord.txt file.
-     * @param id The record ID to delete
+     * Saves only the edited and deleted waste records, in one database transaction.
+     * Garbage Collector records are also patched in managewasterecord.txt.
+     * @param updates Edited records {id, date, location, weight, type, barangay};
+     *                fields that were not edited are null and stay unchanged
+     * @param deletedIds IDs of deleted records
+     * @return Number of records changed, or -1 if nothing could be saved
      */
-    public static void deleteManageWasteRecord(int id) {
+    public static int saveWasteRecordChanges(List<Object[]> updates, List<Integer> deletedIds) {
+        int changed;
         try {
-            // Step 1: Delete from database first
-            boolean dbDeleted = WasteRecordDAO.deleteWasteRecord(id);
-            if (!dbDeleted) {
-                System.err.println("Warning: Record ID " + id + " not found in database");
-            }
-            
-            // Step 2: Delete from managewasterecord.txt file by reading directly from file
-            File txtFile = new File("data/managewasterecord.txt");
-            if (txtFile.exists()) {
-                List<String> remainingLines = new ArrayList<>();
-                boolean found = false;
-                
-                // Read all lines from file
-                try (BufferedReader reader = new BufferedReader(new FileReader(txtFile))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        // Keep header lines
-                        if (line.trim().isEmpty() || line.startsWith("#")) {
-                            remainingLines.add(line);
-                            continue;
-                        }
-                        
-                        // Parse pipe-delimited format: id|date|location|weight|type|barangay
-                        String[] parts = line.split("\\|");
-                        if (parts.length >= 1) {
-                            try {
-                                int fileId = Integer.parseInt(parts[0].trim());
-                                // Skip the line if ID matches
-                                if (fileId == id) {
-                                    found = true;
-                                    continue; // Don't add this line
-                                }
-                            } catch (NumberFormatException ex) {
-                                // If ID parsing fails, keep the line
-                            }
-                        }
-                        
-                        // Add line if ID doesn't match
-                        remainingLines.add(line);
-                    }
-                } catch (IOException e) {
-                    System.err.println("Error reading managewasterecord.txt file: " + e.getMessage());
-                    e.printStackTrace();
-                    return; // Exit if we can't read the file
+            changed = WasteRecordDAO.saveChanges(updates, deletedIds);
+        } catch (SQLException e) {
+            System.err.println("Error saving waste record changes: " + e.getMessage());
+            e.printStackTrace();
+            return -1;
+        }
+        // Deleted records may belong to any role
+        WasteDataService.clearAllCaches();
+        
+        File txtFile = new File("data/managewasterecord.txt");
+        if (!txtFile.exists()) {
+            return changed;
+        }
+        
+        Map<Integer, Object[]> updatesById = new HashMap<>();
+        for (Object[] update : updates) {
+            updatesById.put((Integer) update[0], update);
+        }
+        Set<Integer> deleted = new HashSet<>(deletedIds);
+        
+        // Patch the matching lines; format: id|date|location|weight|type|barangay
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(txtFile))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("\\|");
+                if (line.trim().isEmpty() || line.startsWith("#") || parts.length < 6) {
+                    lines.add(line);
+                    continue;
                 }
                 
-                // Rewrite the file with remaining lines
+                int fileId;
                 try {
-                    txtFile.getParentFile().mkdirs();
-                    try (BufferedWriter writer = new BufferedWriter(new FileWriter(txtFile, false))) {
-                        for (String line : remainingLines) {
-                            writer.write(line);
-                            writer.newLine();
-                        }
-                        writer.flush();
-                    }
-                    
-                    if (found || dbDeleted) {
-                        System.out.println("Successfully deleted record ID " + id + " from both database and file");
-                    }
-                } catch (IOException e) {
-                    System.err.println("Error updating managewasterecord.txt file: " + e.getMessage());
-                    e.printStackTrace();
+                    fileId = Integer.parseInt(parts[0].trim());
+                } catch (NumberFormatException ex) {
+                    lines.add(line); // Keep lines we cannot parse
+                    continue;
                 }
-            } else {
-                // File doesn't exist, but database delete succeeded
-                if (dbDeleted) {
-                    System.out.println("Record ID " + id + " deleted from database (file doesn't exist)");
+                
+                if (deleted.contains(fileId)) {
+                    continue; // Drop deleted record
                 }
+                Object[] update = updatesById.get(fileId);
+                if (update != null) {
+                    if (update[1] != null) parts[1] = (String) update[1];
+                    if (update[2] != null) parts[2] = ((String) update[2]).isEmpty() ? "N/A" : (String) update[2];
+                    if (update[3] != null) parts[3] = String.format("%.2f", (Double) update[3]);
+                    if (update[4] != null) parts[4] = (String) update[4];
+                    if (update[5] != null) parts[5] = ((String) update[5]).isEmpty() ? "N/A" : (String) update[5];
+                    line = String.join("|", parts);
+                }
+                lines.add(line);
             }
-        } catch (SQLException e) {
-            System.err.println("Error deleting waste record from database: " + e.getMessage());
-            e.printStackTrace();
+        } catch (IOException e) {
+            System.err.println("Error reading managewasterecord.txt file: " + e.getMessage());
+            return changed; // Database is saved; the file is only a mirror
+        }
+        
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(txtFile, false))) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            System.err.println("Error updating managewasterecord.txt file: " + e.getMessage());
         }
+        
+        return changed;
     }
-
+    
     /**
-     * Returns a lightweight summary of all requests for reporting purposes.
+     * Returns a lightweight summary of all requests for reporting purposes,
+     * archived ones included.
      * Format: {id, timestamp, requester, barangay, type, status}
      */
     public static java.util.List<Object[]> getAllRequestsSummary() {
         java.util.List<Object[]> result = new java.util.ArrayList<>();
         try {
-            java.util.List<Object[]> all = RequestDAO.getAllRequests();
-            for (Object[] req : all) {
-                // {id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role}
+            // Only the summary columns are read
+            result.addAll(RequestDAO.getRequestSummaries(true));
+        } catch (SQLException e) {
+            System.err.println("Error loading requests summary: " + e.getMessage());
+        }
+        return result;
+    }
+
+    /**
+     * Returns how long requests sit with each role, per barangay, for finding the
+     * slow stage of the pipeline. Only steps already taken are measured.
+     * Format: {barangay, stage, steps, median, 90th percentile, longest}, durations as text
+     */
+    public static java.util.List<Object[]> getStageDwellTimes() {
+        java.util.List<Object[]> result = new java.util.ArrayList<>();
+        try {
+            for (Object[] row : RequestEventDAO.getStageDwellPercentiles()) {
                 result.add(new Object[]{
-                    req[0], // id
-                    req[1], // timestamp
-                    req[2], // requester
-                    req[3], // barangay
-                    req[4], // type
-                    req[9]  // status
+                    row[0], row[1], row[2],
+                    formatDuration((Double) row[3]),
+                    formatDuration((Double) row[4]),
+                    formatDuration(((Long) row[5]).doubleValue())
                 });
             }
         } catch (SQLException e) {
-            System.err.println("Error loading requests summary: " + e.getMessage());
+            System.err.println("Error loading stage dwell times: " + e.getMessage());
         }
         return result;
     }
 
+    private static String formatDuration(double seconds) {
+        if (seconds < 60) {
+            return String.format("%.0f s", seconds);
+        } else if (seconds < 3600) {
+            return String.format("%.1f min", seconds / 60);
+        } else if (seconds < 86400) {
+            return String.format("%.1f h", seconds / 3600);
+        }
+        return String.format("%.1f d", seconds / 86400);
+    }
+
     /**
-     * Exports all requests to a CSV file.
+     * Exports all requests, archived ones included, to a CSV file.
      * Columns: id,timestamp,requester,barangay,request_type,location,description,num_sacks,waste_type,status,target_role
      *
      * @param file target file (CSV or .txt)
@@ -877,7 +839,7 @@ public class RequestService {
             writer.write("id,timestamp,requester,barangay,request_type,location,description,num_sacks,waste_type,status,target_role");
             writer.newLine();
 
-            java.util.List<Object[]> all = RequestDAO.getAllRequests();
+            java.util.List<Object[]> all = RequestDAO.getAllRequests(true);
             for (Object[] req : all) {
                 // Escape commas by wrapping text in quotes if needed
                 String line = String.format("%s,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s",
@@ -918,37 +880,55 @@ public class RequestService {
     }
 
     /**
-     * Removes a request from the requestformbarangaycaptain.txt file.
-     * @param requestId The request ID (not used for matching, file has placeholder 0)
-     * @param timestamp The request timestamp for identification (unique identifier)
+     * Gets the .txt file that mirrors a role's request queue.
+     * @param role The role
+     * @return The file, or null if the role has none
      */
-    private static void removeRequestFromBarangayCaptainFile(int requestId, String timestamp) {
-        File txtFile = new File("data/requestformbarangaycaptain.txt");
+    private static File getRoleRequestFile(String role) {
+        return switch (role) {
+            case "Barangay Captain" -> new File("data/requestformbarangaycaptain.txt");
+            case "City Officer" -> new File("data/requestformcityoffer.txt");
+            case "Garbage Collector" -> new File("data/requestformgarbagecollector.txt");
+            default -> null;
+        };
+    }
+    
+    /**
+     * Removes requests from the .txt file of the role whose queue they were in,
+     * rewriting the file once.
+     * Lines are matched by timestamp and ID; lines with the placeholder ID 0
+     * (written before the database assigned one) are matched by timestamp only.
+     * @param role The role (Barangay Captain, City Officer or Garbage Collector)
+     * @param requests The requests in database format
+     */
+    static void removeRequestsFromRoleFile(String role, List<Object[]> requests) {
+        File txtFile = getRoleRequestFile(role);
+        if (txtFile == null || !txtFile.exists() || requests.isEmpty()) {
+            return; // Nothing to do
+        }
         
-        if (!txtFile.exists()) {
-            return; // File doesn't exist, nothing to do
+        // {timestamp -> request ID}
+        Map<String, Integer> idsByTimestamp = new HashMap<>();
+        for (Object[] request : requests) {
+            idsByTimestamp.put(((String) request[1]).trim(), (Integer) request[0]);
         }
         
         try {
             // Read all lines from file
             List<String> lines = new ArrayList<>();
-            boolean found = false;
+            int removed = 0;
             
             try (BufferedReader reader = new BufferedReader(new FileReader(txtFile))) {
                 String line;
                 while ((line = reader.readLine()) != null) {
-                    // Skip the line if it matches the request to remove (match by timestamp since file has placeholder ID 0)
+                    // Skip the line if it matches a request to remove
                     if (!line.trim().isEmpty() && !line.startsWith("#")) {
-                        String[] parts = line.split("\\|", -1); // Use -1 to preserve empty strings
-                        // Format: id|timestamp|requester|barangay|type|location|description|numSacks|wasteType|status
+                        String[] parts = line.split("\\|", -1);
+                        // Format: id|timestamp|requester|barangay|type|location|description|numSacks|wasteType|status|weight
                         if (parts.length >= 2) {
-                            String fileTimestamp = parts[1].trim();
-                            String trimmedTimestamp = timestamp.trim();
-                            // Match by timestamp only (file has placeholder ID 0, but database has real ID)
-                            if (fileTimestamp.equals(trimmedTimestamp)) {
-                                // Skip this line (don't add it to lines list)
-                                found = true;
-                                System.out.println("Removing request from barangay captain file: timestamp=" + trimmedTimestamp);
+                            Integer requestId = idsByTimestamp.get(parts[1].trim());
+                            if (requestId != null && matchesFileId(parts[0].trim(), requestId)) {
+                                removed++;
                                 continue;
                             }
                         }
@@ -958,8 +938,8 @@ public class RequestService {
                 }
             }
             
-            // Write updated content back to file only if we found a match
-            if (found) {
+            // Write updated content back to file only if something was removed
+            if (removed > 0) {
                 try (BufferedWriter writer = new BufferedWriter(new FileWriter(txtFile))) {
                     for (String line : lines) {
                         writer.write(line);
@@ -967,313 +947,90 @@ public class RequestService {
                     }
                     writer.flush();
                 }
-                System.out.println("Successfully removed request from requestformbarangaycaptain.txt");
-            } else {
-                System.err.println("Warning: Request with timestamp '" + timestamp.trim() + "' not found in requestformbarangaycaptain.txt file");
-            }
-            
-        } catch (IOException e) {
-            System.err.println("Error removing request from requestformbarangaycaptain.txt file: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-    
-    /**
-     * Adds a request to the requestformcityoffer.txt file.
-     * @param request The request data from database {id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role}
-     */
-    private static void addRequestToCityOfficerFile(Object[] request) {
-        File txtFile = new File("data/requestformcityoffer.txt");
-        
-        try {
-            // Ensure data directory exists
-            txtFile.getParentFile().mkdirs();
-            
-            // Database format: {id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role}
-            int id = (Integer) request[0];
-            String timestamp = (String) request[1];
-            String requester = (String) request[2];
-            String barangay = (String) request[3];
-            String requestType = (String) request[4];
-            String location = (String) request[5];
-            String description = (String) request[6];
-            int numSacks = (Integer) request[7];
-            String wasteType = (String) request[8];
-            String status = "Pending (City Officer)"; // Use the new status
-            
-            String locationStr = (location == null || location.isEmpty()) ? "N/A" : location;
-            String descriptionStr = (description == null) ? "" : description;
-            String wasteTypeStr = (wasteType == null) ? "" : wasteType;
-            
-            // Append to .txt file
-            try (BufferedWriter writer = new BufferedWriter(new FileWriter(txtFile, true))) {
-                // Check if file is empty or doesn't exist, write header
-                if (!txtFile.exists() || txtFile.length() == 0) {
-                    writer.write("# Requests for City Officer (Approved by Barangay Captain) - All Request Types");
-                    writer.newLine();
-                    writer.write("# Format: id|timestamp|requester|barangay|type|location|description|numSacks|wasteType|status");
-                    writer.newLine();
-                    writer.write("# Note: numSacks and wasteType are only used for Waste Collection requests");
-                    writer.newLine();
-                    writer.newLine();
-                }
-                
-                // Write request data
-                // Format: id|timestamp|requester|barangay|type|location|description|numSacks|wasteType|status
-                writer.write(id + "|" + timestamp + "|" + requester + "|" + barangay + "|" + 
-                           requestType + "|" + locationStr + "|" + descriptionStr + "|" + 
-                           numSacks + "|" + wasteTypeStr + "|" + status);
-                writer.newLine();
-                writer.flush();
+                System.out.println("Removed " + removed + " request(s) from " + txtFile.getName());
             }
             
         } catch (IOException e) {
-            System.err.println("Error adding request to requestformcityoffer.txt file: " + e.getMessage());
+            System.err.println("Error removing requests from " + txtFile.getName() + " file: " + e.getMessage());
             e.printStackTrace();
         }
     }
     
-    /**
-     * Removes a request from the requestformcityoffer.txt file.
-     * @param requestId The request ID (used for matching - file should have real ID when forwarded)
-     * @param timestamp The request timestamp for identification
-     */
-    private static void removeRequestFromCityOfficerFile(int requestId, String timestamp) {
-        File txtFile = new File("data/requestformcityoffer.txt");
-        
-        if (!txtFile.exists()) {
-            return; // File doesn't exist, nothing to do
-        }
-        
+    private static boolean matchesFileId(String fileId, int requestId) {
         try {
-            // Read all lines from file
-            List<String> lines = new ArrayList<>();
-            
-            try (BufferedReader reader = new BufferedReader(new FileReader(txtFile))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    // Skip the line if it matches the request to remove
-                    if (!line.trim().isEmpty() && !line.startsWith("#")) {
-                        String[] parts = line.split("\\|");
-                        // Format: id|timestamp|requester|barangay|type|location|description|numSacks|wasteType|status
-                        if (parts.length >= 2) {
-                            try {
-                                int fileId = Integer.parseInt(parts[0].trim());
-                                String fileTimestamp = parts[1].trim();
-                                // Match by both ID and timestamp (file should have real ID when forwarded)
-                                if (fileId == requestId && fileTimestamp.equals(timestamp)) {
-                                    // Skip this line (don't add it to lines list)
-                                    continue;
-                                }
-                            } catch (NumberFormatException e) {
-                                // If ID parsing fails, try matching by timestamp only
-                                String fileTimestamp = parts[1].trim();
-                                if (fileTimestamp.equals(timestamp)) {
-                                    continue;
-                                }
-                            }
-                        }
-                    }
-                    
-                    lines.add(line);
-                }
-            }
-            
-            // Write updated content back to file
-            try (BufferedWriter writer = new BufferedWriter(new FileWriter(txtFile))) {
-                for (String line : lines) {
-                    writer.write(line);
-                    writer.newLine();
-                }
-                writer.flush();
-            }
-            
-        } catch (IOException e) {
-            System.err.println("Error removing request from requestformcityoffer.txt file: " + e.getMessage());
-            e.printStackTrace();
+            int id = Integer.parseInt(fileId);
+            return id == requestId || id == 0; // 0 is the placeholder of requests written before saving
+        } catch (NumberFormatException e) {
+            return true; // No usable ID, the timestamp decides
         }
     }
     
     /**
-     * Removes a request from the requestformwastemanagement.txt file.
-     * @param requestId The request ID (used for matching - file should have real ID when forwarded)
-     * @param timestamp The request timestamp for identification
+     * Appends requests to the .txt file of the role they were forwarded to
+     * (or, for the Barangay Captain, rewritten in).
+     * @param role The role (Barangay Captain, City Officer or Garbage Collector)
+     * @param requests The requests in database format {id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role, weight}
      */
-    private static void removeRequestFromWasteManagerFile(int requestId, String timestamp) {
-        File txtFile = new File("data/requestformwastemanagement.txt");
-        
-        if (!txtFile.exists()) {
-            return; // File doesn't exist, nothing to do
-        }
-        
-        try {
-            // Read all lines from file
-            List<String> lines = new ArrayList<>();
-            
-            try (BufferedReader reader = new BufferedReader(new FileReader(txtFile))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    // Skip the line if it matches the request to remove
-                    if (!line.trim().isEmpty() && !line.startsWith("#")) {
-                        String[] parts = line.split("\\|");
-                        // Format: id|timestamp|requester|barangay|type|location|description|numSacks|wasteType|status
-                        if (parts.length >= 2) {
-                            try {
-                                int fileId = Integer.parseInt(parts[0].trim());
-                                String fileTimestamp = parts[1].trim();
-                                // Match by both ID and timestamp (file should have real ID when forwarded)
-                                if (fileId == requestId && fileTimestamp.equals(timestamp)) {
-                                    // Skip this line (don't add it to lines list)
-                                    continue;
-                                }
-                            } catch (NumberFormatException e) {
-                                // If ID parsing fails, try matching by timestamp only
-                                String fileTimestamp = parts[1].trim();
-                                if (fileTimestamp.equals(timestamp)) {
-                                    continue;
-                                }
-                            }
-                        }
-                    }
-                    
-                    lines.add(line);
-                }
-            }
-            
-            // Write updated content back to file
-            try (BufferedWriter writer = new BufferedWriter(new FileWriter(txtFile))) {
-                for (String line : lines) {
-                    writer.write(line);
-                    writer.newLine();
-                }
-                writer.flush();
-            }
-            
-        } catch (IOException e) {
-            System.err.println("Error removing request from requestformwastemanagement.txt file: " + e.getMessage());
-            e.printStackTrace();
+    static void addRequestsToRoleFile(String role, List<Object[]> requests) {
+        File txtFile = getRoleRequestFile(role);
+        String header = switch (role) {
+            case "Barangay Captain" -> "# Requests for Barangay Captain";
+            case "City Officer" -> "# Requests for City Officer (Approved by Barangay Captain) - All Request Types";
+            case "Garbage Collector" -> "# Requests for Garbage Collector (Approved by City Officer) - All Request Types";
+            default -> null;
+        };
+        if (header == null || requests.isEmpty()) {
+            return; // Role has no forwarded-request file
         }
-    }
-    
-    /**
-     * Adds a request to the requestformgarbagecollector.txt file.
-     * @param request The request data from database {id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role}
-     */
-    private static void addRequestToGarbageCollectorFile(Object[] request) {
-        File txtFile = new File("data/requestformgarbagecollector.txt");
+        // Use the new status; the captain's queue holds new requests
+        String status = "Barangay Captain".equals(role) ? "Pending" : "Pending (" + role + ")";
         
         try {
             // Ensure data directory exists
             txtFile.getParentFile().mkdirs();
             
-            // Database format: {id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role}
-            int id = (Integer) request[0];
-            String timestamp = (String) request[1];
-            String requester = (String) request[2];
-            String barangay = (String) request[3];
-            String requestType = (String) request[4];
-            String location = (String) request[5];
-            String description = (String) request[6];
-            int numSacks = (Integer) request[7];
-            String wasteType = (String) request[8];
-            String status = "Pending (Garbage Collector)"; // Use the new status
-            
-            String locationStr = (location == null || location.isEmpty()) ? "N/A" : location;
-            String descriptionStr = (description == null) ? "" : description;
-            String wasteTypeStr = (wasteType == null) ? "" : wasteType;
-            
             // Append to .txt file
             try (BufferedWriter writer = new BufferedWriter(new FileWriter(txtFile, true))) {
                 // Check if file is empty or doesn't exist, write header
                 if (!txtFile.exists() || txtFile.length() == 0) {
-                    writer.write("# Requests for Garbage Collector (Approved by City Officer) - All Request Types");
+                    writer.write(header);
                     writer.newLine();
-                    writer.write("# Format: id|timestamp|requester|barangay|type|location|description|numSacks|wasteType|status");
+                    writer.write("# Format: id|timestamp|requester|barangay|type|location|description|numSacks|wasteType|status|weight");
                     writer.newLine();
                     writer.write("# Note: numSacks and wasteType are only used for Waste Collection requests");
                     writer.newLine();
                     writer.newLine();
                 }
                 
-                // Write request data
-                // Format: id|timestamp|requester|barangay|type|location|description|numSacks|wasteType|status
-                writer.write(id + "|" + timestamp + "|" + requester + "|" + barangay + "|" + 
-                           requestType + "|" + locationStr + "|" + descriptionStr + "|" + 
-                           numSacks + "|" + wasteTypeStr + "|" + status);
-                writer.newLine();
-                writer.flush();
-            }
-            
-        } catch (IOException e) {
-            System.err.println("Error adding request to requestformgarbagecollector.txt file: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-    
-    /**
-     * Removes a request from the requestformgarbagecollector.txt file.
-     * @param requestId The request ID (used for matching - file should have real ID when forwarded)
-     * @param timestamp The request timestamp for identification
-     */
-    private static void removeRequestFromGarbageCollectorFile(int requestId, String timestamp) {
-        File txtFile = new File("data/requestformgarbagecollector.txt");
-        
-        if (!txtFile.exists()) {
-            return; // File doesn't exist, nothing to do
-        }
-        
-        try {
-            // Read all lines from file
-            List<String> lines = new ArrayList<>();
-            
-            try (BufferedReader reader = new BufferedReader(new FileReader(txtFile))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    // Skip the line if it matches the request to remove
-                    if (!line.trim().isEmpty() && !line.startsWith("#")) {
-                        String[] parts = line.split("\\|");
-                        // Format: id|timestamp|requester|barangay|type|location|description|numSacks|wasteType|status
-                        if (parts.length >= 2) {
-                            try {
-                                int fileId = Integer.parseInt(parts[0].trim());
-                                String fileTimestamp = parts[1].trim();
-                                // Match by both ID and timestamp (file should have real ID when forwarded)
-                                if (fileId == requestId && fileTimestamp.equals(timestamp)) {
-                                    // Skip this line (don't add it to lines list)
-                                    continue;
-                                }
-                            } catch (NumberFormatException e) {
-                                // If ID parsing fails, try matching by timestamp only
-                                String fileTimestamp = parts[1].trim();
-                                if (fileTimestamp.equals(timestamp)) {
-                                    continue;
-                                }
-                            }
-                        }
-                    }
+                for (Object[] request : requests) {
+                    // Database format: {id, timestamp, requester, barangay, request_type, location, description, num_sacks, waste_type, status, target_role, weight, overdue}
+                    String location = (String) request[5];
+                    String description = (String) request[6];
+                    String wasteType = (String) request[8];
                     
-                    lines.add(line);
-                }
-            }
-            
-            // Write updated content back to file
-            try (BufferedWriter writer = new BufferedWriter(new FileWriter(txtFile))) {
-                for (String line : lines) {
-                    writer.write(line);
+                    String locationStr = (location == null || location.isEmpty()) ? "N/A" : location;
+                    String descriptionStr = (description == null) ? "" : description;
+                    String wasteTypeStr = (wasteType == null) ? "" : wasteType;
+                    
+                    // Format: id|timestamp|requester|barangay|type|location|description|numSacks|wasteType|status|weight
+                    writer.write(request[0] + "|" + request[1] + "|" + request[2] + "|" + request[3] + "|" + 
+                               request[4] + "|" + locationStr + "|" + descriptionStr + "|" + 
+                               request[7] + "|" + wasteTypeStr + "|" + status + "|" + formatWeight((Double) request[11]));
                     writer.newLine();
                 }
                 writer.flush();
             }
             
         } catch (IOException e) {
-            System.err.println("Error removing request from requestformgarbagecollector.txt file: " + e.getMessage());
+            System.err.println("Error adding requests to " + txtFile.getName() + " file: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
     /**
      * Imports requests from a .txt file (pipe-delimited format).
-     * Format: id|timestamp|requester|barangay|type|location|description|numSacks|wasteType|status
+     * Format: id|timestamp|requester|barangay|type|location|description|numSacks|wasteType|status|weight
+     * (files written before the weight field was added end at status)
      * 
      * @param file The .txt file to import from
      * @param defaultTargetRole The default target role if not specified (e.g., "Barangay Captain")
@@ -1296,7 +1053,7 @@ public class RequestService {
                     continue;
                 }
                 
-                // Parse pipe-delimited format: id|timestamp|requester|barangay|type|location|description|numSacks|wasteType|status
+                // Parse pipe-delimited format: id|timestamp|requester|barangay|type|location|description|numSacks|wasteType|status|weight
                 String[] parts = line.split("\\|");
                 if (parts.length < 10) {
                     skipped++;
@@ -1314,11 +1071,13 @@ public class RequestService {
                     int numSacks = Integer.parseInt(parts[7].trim());
                     String wasteType = parts[8].trim();
                     String status = parts[9].trim();
+                    Double weight = (parts.length > 10 && !parts[10].trim().isEmpty())
+                        ? Double.valueOf(parts[10].trim()) : null;
                     
                     // Create request in database
                     int newId = RequestDAO.createRequest(timestamp, requester, barangay, requestType, 
                                                         location, description, numSacks, wasteType, 
-                                                        status, defaultTargetRole);
+                                                        status, defaultTargetRole, weight);
                     if (newId > 0) {
                         imported++;
                     } else {
@@ -0,0 +1,270 @@
+package services;
+
+import dao.RequestDAO;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routing of requests through their lifecycle:
+ * Barangay Captain -> City Officer -> Garbage Collector, with reject and complete
+ * branches at each step. Every allowed step is declared in TRANSITIONS.
+ * A step changes the database in one transaction (status, target role and, for a
+ * collected request, its waste record), so a request is never left half-forwarded.
+ * Each step is also appended to the request's history (request_events) in that transaction.
+ * The .txt request files are updated once the transaction has committed.
+ */
+public class RequestWorkflow {
+
+    /**
+     * What a role does with a request in its queue.
+     */
+    public enum Action { APPROVE, REJECT, COMPLETE }
+
+    /**
+     * Outcome of applying an action.
+     */
+    public enum Result {
+        DONE,
+        NOT_FOUND,   // No such request, or it left the queue (e.g. handled by someone else)
+        NOT_ALLOWED, // The role cannot do this, or the request is not in its queue
+        FAILED       // Database error; nothing was changed
+    }
+
+    /**
+     * A declared step of the lifecycle.
+     * @param role The role acting on a request in its queue
+     * @param action The action
+     * @param toStatus The new status, or null if the request is rejected (moved to the archive)
+     * @param toTargetRole The role the request is forwarded to, or null if it stays
+     */
+    public record Transition(String role, Action action, String toStatus, String toTargetRole) {}
+
+    // Status of a collected request; completing it also logs the collection as a waste record
+    private static final String COLLECTED_STATUS = "Completed by Garbage Collector";
+
+    private static final List<Transition> TRANSITIONS = List.of(
+        new Transition("Barangay Captain", Action.APPROVE, "Pending (City Officer)", "City Officer"),
+        new Transition("Barangay Captain", Action.REJECT, null, null),
+        new Transition("Barangay Captain", Action.COMPLETE, "Completed by Barangay Captain", null),
+        new Transition("City Officer", Action.APPROVE, "Pending (Garbage Collector)", "Garbage Collector"),
+        new Transition("City Officer", Action.REJECT, null, null),
+        new Transition("City Officer", Action.COMPLETE, "Completed", null),
+        new Transition("Garbage Collector", Action.REJECT, null, null),
+        new Transition("Garbage Collector", Action.COMPLETE, COLLECTED_STATUS, null)
+    );
+
+    /**
+     * Finds the declared step for a role's action.
+     * @param role The acting role
+     * @param action The action
+     * @return The transition, or null if the role cannot do this
+     */
+    public static Transition findTransition(String role, Action action) {
+        for (Transition transition : TRANSITIONS) {
+            if (transition.role().equals(role) && transition.action() == action) {
+                return transition;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the statuses of requests waiting in a forwarded role's queue: the results
+     * of the steps that forward requests to the role.
+     * @param role The role requests are forwarded to (City Officer or Garbage Collector)
+     * @return The waiting statuses
+     */
+    public static List<String> queueStatuses(String role) {
+        List<String> statuses = new ArrayList<>();
+        for (Transition transition : TRANSITIONS) {
+            if (role.equals(transition.toTargetRole()) && !statuses.contains(transition.toStatus())) {
+                statuses.add(transition.toStatus());
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * Gets the statuses a request never leaves: the results of the COMPLETE steps.
+     * (Rejected requests leave the requests table right away.)
+     * @return The final statuses
+     */
+    public static List<String> finalStatuses() {
+        List<String> statuses = new ArrayList<>();
+        for (Transition transition : TRANSITIONS) {
+            if (transition.action() == Action.COMPLETE && !statuses.contains(transition.toStatus())) {
+                statuses.add(transition.toStatus());
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * Applies a role's action to a request in its queue.
+     * @param requestId The request ID
+     * @param timestamp The request timestamp (for unique identification)
+     * @param role The acting role
+     * @param action The action
+     * @return The outcome
+     */
+    public static Result apply(int requestId, String timestamp, String role, Action action) {
+        Transition transition = findTransition(role, action);
+        if (transition == null) {
+            return Result.NOT_ALLOWED;
+        }
+
+        try {
+            Object[] request = RequestDAO.getRequestById(requestId);
+            if (request == null || !timestamp.equals(request[1])) {
+                return Result.NOT_FOUND;
+            }
+            if (!isInQueue(request, role)) {
+                return Result.NOT_ALLOWED;
+            }
+
+            Object[] wasteRecord = COLLECTED_STATUS.equals(transition.toStatus()) ? toWasteRecord(request) : null;
+
+            // Guarded by the status just read, so a concurrent change makes this a no-op
+            int wasteId = RequestDAO.applyTransition(requestId, timestamp, (String) request[9], (String) request[3],
+                role, action.name(), transition.toStatus(), transition.toTargetRole(), wasteRecord);
+            if (wasteId < 0) {
+                return Result.NOT_FOUND;
+            }
+
+            List<Object[]> logged = new ArrayList<>();
+            if (wasteRecord != null) {
+                logged.add(new Object[]{wasteId, wasteRecord});
+            }
+            updateFiles(Collections.singletonList(request), transition, logged);
+            return Result.DONE;
+        } catch (SQLException e) {
+            System.err.println("Error applying " + action + " by " + role + " to request " + requestId + ": " + e.getMessage());
+            return Result.FAILED;
+        }
+    }
+
+    /**
+     * Applies a role's action to many requests at once: one read, one database
+     * transaction with a single batched statement, and one rewrite of each .txt file.
+     * Requests that are no longer in the role's queue are skipped.
+     * @param requests The selected requests {request ID -> timestamp}
+     * @param role The acting role
+     * @param action The action
+     * @return Number of requests the action was applied to, or -1 if a database error
+     *         occurred (nothing was changed)
+     */
+    public static int applyAll(Map<Integer, String> requests, String role, Action action) {
+        Transition transition = findTransition(role, action);
+        if (transition == null || requests.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            // Full rows: forwarded requests are copied, description included, to the next role's file
+            List<Object[]> eligible = new ArrayList<>();
+            for (Object[] request : RequestDAO.getRequestsByIds(new ArrayList<>(requests.keySet()), true)) {
+                if (request[1].equals(requests.get((Integer) request[0])) && isInQueue(request, role)) {
+                    eligible.add(request);
+                }
+            }
+            if (eligible.isEmpty()) {
+                return 0;
+            }
+
+            List<Object[]> steps = new ArrayList<>();
+            List<Object[]> wasteRecords = new ArrayList<>();
+            for (Object[] request : eligible) {
+                steps.add(new Object[]{request[0], request[1], request[9], request[3]});
+                wasteRecords.add(COLLECTED_STATUS.equals(transition.toStatus()) ? toWasteRecord(request) : null);
+            }
+
+            int[] results = RequestDAO.applyTransitions(steps, role, action.name(), transition.toStatus(),
+                transition.toTargetRole(), wasteRecords);
+
+            List<Object[]> applied = new ArrayList<>();
+            List<Object[]> logged = new ArrayList<>();
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] >= 0) {
+                    applied.add(eligible.get(i));
+                    if (wasteRecords.get(i) != null) {
+                        logged.add(new Object[]{results[i], wasteRecords.get(i)});
+                    }
+                }
+            }
+            updateFiles(applied, transition, logged);
+            return applied.size();
+        } catch (SQLException e) {
+            System.err.println("Error applying " + action + " by " + role + " to " + requests.size() + " requests: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    private static boolean isInQueue(Object[] request, String role) {
+        if ("Barangay Captain".equals(role)) {
+            return RequestService.isInBarangayQueue(request, (String) request[3]);
+        }
+        return RequestService.isInTargetRoleQueue(request, role);
+    }
+
+    /**
+     * Builds the waste record that logs a collected request.
+     * @param request Request in database format
+     * @return {role, date, area, weight, type, barangay}
+     */
+    private static Object[] toWasteRecord(Object[] request) {
+        String barangay = (String) request[3];
+        String location = (String) request[5];
+        if (location == null || location.equals("N/A")) {
+            location = barangay;
+        }
+        int numSacks = (Integer) request[7];
+
+        Double weight = (Double) request[11];
+
+        return new Object[]{
+            "Garbage Collector",
+            ((String) request[1]).split(" ")[0], // Date portion of the timestamp (yyyy-MM-dd)
+            location,
+            weight != null ? weight : (double) numSacks, // Fallback to numSacks if weight not found
+            request[8],
+            barangay
+        };
+    }
+
+    /**
+     * Mirrors committed steps in the in-memory queues and the .txt files: the requests
+     * leave the acting role's file and, when forwarded, are added to the next role's file.
+     * @param requests The requests the step was applied to (database format)
+     * @param wasteRecords The waste records created {waste record ID, {role, date, area, weight, type, barangay}}
+     */
+    private static void updateFiles(List<Object[]> requests, Transition transition, List<Object[]> wasteRecords) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        
+        // In-memory queues of this instance; others catch up through the change log
+        List<Integer> ids = new ArrayList<>();
+        for (Object[] request : requests) {
+            ids.add((Integer) request[0]);
+        }
+        DispatchQueue.requestsChanged(ids);
+
+        RequestService.removeRequestsFromRoleFile(transition.role(), requests);
+        if (transition.toTargetRole() != null) {
+            RequestService.addRequestsToRoleFile(transition.toTargetRole(), requests);
+        }
+
+        for (Object[] logged : wasteRecords) {
+            int wasteId = (Integer) logged[0];
+            Object[] wasteRecord = (Object[]) logged[1];
+            RequestService.appendToManageWasteRecordFile(wasteId, (String) wasteRecord[1], (String) wasteRecord[2],
+                (Double) wasteRecord[3], (String) wasteRecord[4], (String) wasteRecord[5]);
+        }
+        if (!wasteRecords.isEmpty()) {
+            WasteDataService.clearCache("Garbage Collector");
+        }
+    }
+}
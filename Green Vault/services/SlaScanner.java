@@ -0,0 +1,109 @@
+package services;
+
+import dao.RequestDAO;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background scanner that flags requests waiting in a stage longer than the stage's
+ * SLA, so stuck requests stand out in the queue tables ("⚠ Overdue") and show up in
+ * the request history. A request's SLA clock restarts whenever it moves on.
+ * SLAs are in hours and can be set with system properties, e.g.
+ * -Dgreenvault.sla.cityOfficerHours=48
+ */
+public class SlaScanner {
+    private static final long SCAN_INTERVAL_MINUTES = 15;
+    // Most requests flagged per stage and scan; later scans pick up the rest
+    private static final int MAX_ESCALATIONS_PER_STAGE = 200;
+
+    /**
+     * A stage of the pipeline and how long a request may wait in it.
+     * @param status The status of requests in the stage
+     * @param role The role whose queue it is
+     * @param property System property overriding the SLA
+     * @param defaultHours The SLA if the property is not set
+     */
+    private record Stage(String status, String role, String property, int defaultHours) {
+        int hours() {
+            return Integer.getInteger(property, defaultHours);
+        }
+    }
+
+    private static final List<Stage> STAGES = List.of(
+        new Stage("Pending", "Barangay Captain", "greenvault.sla.captainHours", 72),
+        new Stage("Pending (City Officer)", "City Officer", "greenvault.sla.cityOfficerHours", 72),
+        new Stage("Pending (Garbage Collector)", "Garbage Collector", "greenvault.sla.collectorHours", 48)
+    );
+
+    private static ScheduledExecutorService scanner;
+
+    /**
+     * Starts the background scanner; it runs once right away, then every 15 minutes.
+     * Calling it again while running has no effect.
+     */
+    public static synchronized void start() {
+        if (scanner != null) {
+            return;
+        }
+        scanner = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sla-scanner");
+            t.setDaemon(true);
+            return t;
+        });
+        scanner.scheduleWithFixedDelay(SlaScanner::scan, 0, SCAN_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the background scanner.
+     */
+    public static synchronized void stop() {
+        if (scanner != null) {
+            scanner.shutdownNow();
+            scanner = null;
+        }
+    }
+
+    /**
+     * Flags the requests that are past their stage's SLA and not flagged yet.
+     * @return Number of requests flagged
+     */
+    public static int scan() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> stages = new ArrayList<>();
+        for (Stage stage : STAGES) {
+            stages.add(new Object[]{stage.status(), stage.role(), Timestamp.valueOf(now.minusHours(stage.hours()))});
+        }
+
+        try {
+            List<Object[]> escalated = RequestDAO.escalateOverdue(stages, MAX_ESCALATIONS_PER_STAGE);
+            if (escalated.isEmpty()) {
+                return 0;
+            }
+
+            List<Integer> ids = new ArrayList<>();
+            Map<String, Integer> perStage = new LinkedHashMap<>();
+            for (Object[] request : escalated) {
+                ids.add((Integer) request[0]);
+                perStage.merge((String) request[9], 1, Integer::sum);
+            }
+            // In-memory queues of this instance; open tables catch up through the change log
+            DispatchQueue.requestsChanged(ids);
+
+            for (Map.Entry<String, Integer> entry : perStage.entrySet()) {
+                System.out.println("⚠ " + entry.getValue() + " request(s) overdue in \"" + entry.getKey() + "\"");
+            }
+            return escalated.size();
+        } catch (SQLException e) {
+            System.err.println("Error scanning for overdue requests: " + e.getMessage());
+            return 0;
+        }
+    }
+}
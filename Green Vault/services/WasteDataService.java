@@ -19,43 +19,152 @@ import javax.swing.table.DefaultTableModel;
  * Data is now stored in H2 database via WasteRecordDAO.
  */
 public class WasteDataService {
+    // Above this many changed rows it is cheaper to reload than to patch
+    private static final int MAX_PATCHED_ROWS = 200;
+    
     // Cache records per role: {role -> List of records}
-    private static final java.util.Map<String, List<Object[]>> roleRecords = new java.util.HashMap<>();
+    // Concurrent because the change log poller patches it from its own thread;
+    // lists are replaced, never modified, so readers can keep iterating old ones
+    private static final java.util.Map<String, List<Object[]>> roleRecords = new java.util.concurrent.ConcurrentHashMap<>();
+    
+    static {
+        // Another instance (or the H2 console) may have written waste_records
+        ChangeNotifier.addListener("waste_records", WasteDataService::applyChanges);
+    }
 
     /**
      * Gets all waste records for a specific role.
      * @param role The user's role
-     * @return List of waste records {id, date, area, weight, type}
+     * @return List of waste records {id, date, area, weight, type, barangay}
      */
     public static List<Object[]> getAllRecords(String role) {
+        try {
+            return loadRecords(role);
+        } catch (SQLException e) {
+            System.err.println("Error loading waste records from database: " + e.getMessage());
+            e.printStackTrace();
+            return Collections.unmodifiableList(new ArrayList<>());
+        }
+    }
+    
+    /**
+     * Gets all waste records for a role from the cache, loading them on first access.
+     * @param role The user's role
+     * @return List of waste records {id, date, area, weight, type, barangay}
+     * @throws SQLException if database error occurs
+     */
+    static List<Object[]> loadRecords(String role) throws SQLException {
         // Check cache first
-        if (roleRecords.containsKey(role)) {
-            return Collections.unmodifiableList(roleRecords.get(role));
+        List<Object[]> cached = roleRecords.get(role);
+        if (cached != null) {
+            return Collections.unmodifiableList(cached);
         }
         
         // Load from database
-        try {
-            List<Object[]> dbRecords = WasteRecordDAO.getWasteRecordsByRole(role);
-            // Convert from {id, role, date, area, weight, type} to {id, date, area, weight, type}
-            List<Object[]> convertedRecords = new ArrayList<>();
-            for (Object[] record : dbRecords) {
-                // DB format: {id, role, date, area, weight, type}
-                // Service format: {id, date, area, weight, type}
-                convertedRecords.add(new Object[]{
-                    record[0], // id
-                    record[2], // date
-                    record[3], // area
-                    record[4], // weight
-                    record[5]  // type
-                });
+        List<Object[]> convertedRecords = new ArrayList<>();
+        for (Object[] record : WasteRecordDAO.getWasteRecordsByRole(role)) {
+            convertedRecords.add(toServiceRecord(record));
+        }
+        roleRecords.put(role, convertedRecords);
+        return Collections.unmodifiableList(convertedRecords);
+    }
+    
+    /**
+     * Converts a DAO row to the cached service format.
+     * DB format: {id, role, date, area, weight, type, barangay}
+     * Service format: {id, date, area, weight, type, barangay}
+     */
+    private static Object[] toServiceRecord(Object[] record) {
+        return new Object[]{
+            record[0], // id
+            record[2], // date
+            record[3], // area
+            record[4], // weight
+            record[5], // type
+            record[6]  // barangay
+        };
+    }
+    
+    /**
+     * Patches the cached records with rows reported by the change log.
+     * Changed rows are re-read in one query and moved to their current role;
+     * deleted rows are dropped. Large bursts just invalidate the cache.
+     * @param changes Changes to the waste_records table
+     */
+    public static void applyChanges(List<ChangeNotifier.Change> changes) {
+        if (roleRecords.isEmpty()) {
+            return; // Nothing cached yet
+        }
+        
+        java.util.Set<Integer> changedIds = new java.util.LinkedHashSet<>();
+        for (ChangeNotifier.Change change : changes) {
+            try {
+                changedIds.add(Integer.parseInt(change.rowId()));
+            } catch (NumberFormatException e) {
+                // Unknown row, fall through to a full reload
+                changedIds = null;
+                break;
             }
-            roleRecords.put(role, convertedRecords);
-            return Collections.unmodifiableList(convertedRecords);
+        }
+        if (changedIds == null || changedIds.size() > MAX_PATCHED_ROWS) {
+            clearAllCaches();
+            return;
+        }
+        
+        List<Object[]> currentRows;
+        try {
+            currentRows = WasteRecordDAO.getWasteRecordsByIds(new ArrayList<>(changedIds));
         } catch (SQLException e) {
-            System.err.println("Error loading waste records from database: " + e.getMessage());
-            e.printStackTrace();
-            return Collections.unmodifiableList(new ArrayList<>());
+            System.err.println("Error patching waste record cache: " + e.getMessage());
+            clearAllCaches();
+            return;
+        }
+        
+        for (java.util.Map.Entry<String, List<Object[]>> entry : roleRecords.entrySet()) {
+            String cachedRole = entry.getKey();
+            List<Object[]> patched = new ArrayList<>(entry.getValue().size() + currentRows.size());
+            for (Object[] record : entry.getValue()) {
+                if (!changedIds.contains((Integer) record[0])) {
+                    patched.add(record);
+                }
+            }
+            for (Object[] row : currentRows) {
+                if (cachedRole.equals(row[1])) {
+                    insertById(patched, toServiceRecord(row));
+                }
+            }
+            // Replace only if nobody invalidated or reloaded this role meanwhile
+            roleRecords.replace(cachedRole, entry.getValue(), patched);
+        }
+    }
+    
+    /**
+     * Inserts a record keeping the list ordered by id, newest first (as loaded from the DAO).
+     */
+    private static void insertById(List<Object[]> records, Object[] record) {
+        int id = (Integer) record[0];
+        int index = 0;
+        while (index < records.size() && (Integer) records.get(index)[0] > id) {
+            index++;
         }
+        records.add(index, record);
+    }
+    
+    /**
+     * Gets a copy of every cached role list, for snapshotting.
+     * @return Map of {role -> records}
+     */
+    static java.util.Map<String, List<Object[]>> getCachedRecords() {
+        return new java.util.HashMap<>(roleRecords);
+    }
+    
+    /**
+     * Replaces the cache with previously snapshotted records.
+     * @param records Map of {role -> records}
+     */
+    static void restoreCachedRecords(java.util.Map<String, List<Object[]>> records) {
+        roleRecords.clear();
+        roleRecords.putAll(records);
     }
     
     /**
@@ -66,6 +175,13 @@ public class WasteDataService {
     public static void clearCache(String role) {
         roleRecords.remove(role);
     }
+    
+    /**
+     * Clears the cached records of every role.
+     */
+    public static void clearAllCaches() {
+        roleRecords.clear();
+    }
 
     /**
      * Adds a new waste record to the system for a specific role.
@@ -128,24 +244,6 @@ public class WasteDataService {
         }
     }
 
-    /**
-     * Deletes a waste record by ID for a specific role.
-     * @param role The user's role
-     * @param id The ID of the record to delete
-     */
-    public static void deleteRecord(String role, int id) {
-        try {
-            boolean success = WasteRecordDAO.deleteWasteRecord(id);
-            if (success) {
-                // Clear cache to force reload
-                clearCache(role);
-            }
-        } catch (SQLException e) {
-            System.err.println("Error deleting waste record from database: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-    
     /**
      * Updates records from table model.
      * Note: This method currently doesn't update the database directly.
@@ -160,16 +258,18 @@ public class WasteDataService {
     }
 
     /**
-     * Returns all waste records in raw DAO format for reporting.
-     * Format: {id, role, date, area, weight, type}
+     * Returns total weight and record count per waste type for a role,
+     * aggregated in the database.
+     * Format: {type, recordCount, totalWeight}
+     * @param role The user's role
      */
-    public static java.util.List<Object[]> getAllWasteRecordsForReport() {
+    public static List<Object[]> getWeightTotalsByType(String role) {
         try {
-            return WasteRecordDAO.getAllWasteRecords();
+            return WasteRecordDAO.getWeightTotalsByType(role);
         } catch (SQLException e) {
-            System.err.println("Error loading waste records for report: " + e.getMessage());
+            System.err.println("Error loading waste totals: " + e.getMessage());
             e.printStackTrace();
-            return java.util.Collections.emptyList();
+            return Collections.emptyList();
         }
     }
 
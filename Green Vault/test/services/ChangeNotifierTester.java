@@ -0,0 +1,83 @@
+package services;
+
+import utils.DatabaseConfig;
+import utils.DatabaseInitializer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks that the change log poller delivers a change whose transaction commits after
+ * a later-numbered change was already read: two writers commit in reverse order.
+ * Not part of the app: compile it together with the app classes and run it with the
+ * H2 jar on the classpath. It works on a new database in a temporary folder (unless
+ * -Dgreenvault.dbFolder is given), never the app's own. Exits with status 1 on failure.
+ */
+public class ChangeNotifierTester {
+    private static final String TABLE = "tester_changes";
+
+    public static void main(String[] args) throws SQLException, IOException {
+        // Must be set before DatabaseConfig is first used
+        if (System.getProperty("greenvault.dbFolder") == null) {
+            String folder = Files.createTempDirectory("greenvault-tester").toString();
+            System.setProperty("greenvault.dbFolder", folder);
+        }
+        DatabaseInitializer.initializeDatabase();
+
+        List<Long> delivered = new ArrayList<>();
+        ChangeNotifier.addListener(TABLE, changes -> {
+            for (ChangeNotifier.Change change : changes) {
+                delivered.add(change.seq());
+            }
+        });
+        ChangeNotifier.poll(); // Starts from the current end of the log
+
+        boolean ok;
+        try (Connection first = DatabaseConfig.getConnection();
+             Connection second = DatabaseConfig.getConnection()) {
+            first.setAutoCommit(false);
+            second.setAutoCommit(false);
+
+            long firstSeq = logChange(first, "1");  // Takes the lower number...
+            long secondSeq = logChange(second, "2");
+            second.commit();                        // ...but commits last
+            ChangeNotifier.poll();
+            ok = check("later writer delivered", delivered.equals(List.of(secondSeq)));
+            ok &= check("last sequence held below the open gap", ChangeNotifier.getLastSequence() < firstSeq);
+
+            first.commit();
+            ChangeNotifier.poll();
+            ok &= check("earlier writer delivered after its commit", delivered.equals(List.of(secondSeq, firstSeq)));
+            ok &= check("last sequence past both", ChangeNotifier.getLastSequence() == secondSeq);
+
+            ChangeNotifier.poll();
+            ok &= check("nothing delivered twice", delivered.size() == 2);
+        }
+
+        System.out.println(ok ? "All checks passed" : "Some checks failed");
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static long logChange(Connection conn, String rowId) throws SQLException {
+        String sql = "INSERT INTO change_log (table_name, op, row_id) VALUES (?, 'INSERT', ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
+            pstmt.setString(1, TABLE);
+            pstmt.setString(2, rowId);
+            pstmt.executeUpdate();
+            try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "PASS: " : "FAIL: ") + name);
+        return passed;
+    }
+}